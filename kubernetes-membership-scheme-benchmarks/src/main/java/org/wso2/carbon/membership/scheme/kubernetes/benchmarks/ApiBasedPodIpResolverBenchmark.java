@@ -0,0 +1,78 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.benchmarks;
+
+import org.apache.axis2.description.Parameter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.ApiBasedPodIpResolver;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of the pods of a service through the Kubernetes API, against an in-process API server. With
+ * {@code changing} the resource version changes with every response and the whole object is parsed, otherwise
+ * the resolver finds its cached version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+// Without TCP_NODELAY the in-process API server answers small requests after the delayed ACK of the client
+@Fork(value = 1, jvmArgsAppend = {Fixtures.NO_LOGGING, "-Dsun.net.httpserver.nodelay=true"})
+public class ApiBasedPodIpResolverBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int podCount;
+
+    @Param({"true", "false"})
+    private boolean changing;
+
+    private KubernetesApiStubServer apiServer;
+    private ApiBasedPodIpResolver resolver;
+
+    @Setup
+    public void setUp() throws Exception {
+        apiServer = new KubernetesApiStubServer(podCount, changing);
+        Map<String, Parameter> parameters = Fixtures.parameters();
+        Fixtures.put(parameters, Constants.PARAMETER_NAME_KUBERNETES_API_SERVER, apiServer.getUrl());
+        resolver = new ApiBasedPodIpResolver(parameters);
+    }
+
+    @TearDown
+    public void tearDown() {
+        apiServer.stop();
+    }
+
+    @Benchmark
+    public Set<String> resolve() throws Exception {
+        return resolver.resolveAddresses();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.api.KubernetesApiEndpoint;
+import org.wso2.carbon.membership.scheme.kubernetes.api.KubernetesHttpApiEndpoint;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsParser;
+
+import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the Endpoints object of a service from an in-process API server. With {@code reuse} the connection is
+ * released to the keep-alive cache after each request, otherwise the server is asked to close it and every request
+ * opens a new connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+// Without TCP_NODELAY the in-process API server answers small requests after the delayed ACK of the client
+@Fork(value = 1, jvmArgsAppend = {Fixtures.NO_LOGGING, "-Dsun.net.httpserver.nodelay=true"})
+public class ConnectionReuseBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int podCount;
+
+    @Param({"true", "false"})
+    private boolean reuse;
+
+    private KubernetesApiStubServer apiServer;
+    private URL url;
+
+    @Setup
+    public void setUp() throws Exception {
+        apiServer = new KubernetesApiStubServer(podCount, false);
+        url = new URL(apiServer.getUrl() + String.format(Constants.ENDPOINTS_API_CONTEXT, Fixtures.NAMESPACE)
+                + Fixtures.SERVICE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        apiServer.stop();
+    }
+
+    @Benchmark
+    public Set<String> read() throws Exception {
+        KubernetesApiEndpoint endpoint = new KubernetesHttpApiEndpoint(url);
+        endpoint.createConnection();
+        if (!reuse) {
+            endpoint.setRequestProperty("Connection", "close");
+        }
+        try {
+            return EndpointsParser.parseEndpointIps(endpoint.read());
+        } finally {
+            endpoint.disconnect();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.benchmarks;
+
+import org.apache.axis2.description.Parameter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.DNSBasedPodIpResolver;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of the pods of a headless service through DNS, against an in-process DNS server. With
+ * {@code additionalRecords} the pod addresses come along with the SRV answer, otherwise every SRV target is looked
+ * up on its own. A DNS message holds at most 64 KiB, about a thousand SRV records of this service, so the largest
+ * services are cut short by the DNS server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.NO_LOGGING)
+public class DNSBasedPodIpResolverBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int podCount;
+
+    @Param({"true", "false"})
+    private boolean additionalRecords;
+
+    private DNSStubServer dnsServer;
+    private DNSBasedPodIpResolver resolver;
+
+    @Setup
+    public void setUp() throws Exception {
+        dnsServer = new DNSStubServer(podCount, additionalRecords);
+        Map<String, Parameter> parameters = Fixtures.parameters();
+        Fixtures.put(parameters, Constants.DNS_SERVER, "127.0.0.1:" + dnsServer.getPort());
+        Fixtures.put(parameters, Constants.DNS_LOOKUP_TIMEOUT, "2");
+        resolver = new DNSBasedPodIpResolver(parameters);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        dnsServer.stop();
+    }
+
+    @Benchmark
+    public Set<String> resolve() throws Exception {
+        return resolver.resolveAddresses();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.benchmarks;
+
+import org.xbill.DNS.ARecord;
+import org.xbill.DNS.DClass;
+import org.xbill.DNS.Flags;
+import org.xbill.DNS.Message;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.OPTRecord;
+import org.xbill.DNS.Rcode;
+import org.xbill.DNS.Record;
+import org.xbill.DNS.SRVRecord;
+import org.xbill.DNS.Section;
+import org.xbill.DNS.Type;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process DNS server answering for the pods of a headless service, over UDP and, for answers that do not fit a
+ * datagram, over TCP like a cluster DNS server. SRV answers are built once per query size and reused.
+ */
+class DNSStubServer {
+
+    private static final long TTL = 30;
+    private static final int UDP_PAYLOAD_SIZE = 512;
+    private static final int MAX_MESSAGE_SIZE = 65535;
+
+    private final DatagramSocket udpSocket;
+    private final ServerSocket tcpSocket;
+    private final ConcurrentMap<String, byte[]> srvAnswers = new ConcurrentHashMap<>();
+    private final int podCount;
+    private final boolean additionalRecords;
+
+    /**
+     * @param podCount          number of pods of the service
+     * @param additionalRecords true to send the pod addresses along with the SRV records, false to have them
+     *                          looked up one by one
+     */
+    DNSStubServer(int podCount, boolean additionalRecords) throws IOException {
+        this.podCount = podCount;
+        this.additionalRecords = additionalRecords;
+        // Both transports have to listen at the same port, retry until the UDP port is free for TCP as well
+        DatagramSocket datagramSocket;
+        ServerSocket serverSocket;
+        while (true) {
+            datagramSocket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+            try {
+                serverSocket = new ServerSocket();
+                serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                        datagramSocket.getLocalPort()));
+                break;
+            } catch (IOException e) {
+                datagramSocket.close();
+            }
+        }
+        udpSocket = datagramSocket;
+        udpSocket.setReceiveBufferSize(4 * 1024 * 1024);
+        tcpSocket = serverSocket;
+        start("dns-stub-server-udp", new Runnable() {
+            @Override
+            public void run() {
+                receiveDatagrams();
+            }
+        });
+        start("dns-stub-server-tcp", new Runnable() {
+            @Override
+            public void run() {
+                acceptConnections();
+            }
+        });
+    }
+
+    int getPort() {
+        return udpSocket.getLocalPort();
+    }
+
+    void stop() throws IOException {
+        udpSocket.close();
+        tcpSocket.close();
+    }
+
+    private static void start(String name, Runnable runnable) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void receiveDatagrams() {
+        byte[] buffer = new byte[UDP_PAYLOAD_SIZE];
+        while (!udpSocket.isClosed()) {
+            try {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                udpSocket.receive(packet);
+                Message query = new Message(Arrays.copyOf(packet.getData(), packet.getLength()));
+                OPTRecord opt = query.getOPT();
+                byte[] answer = answer(query, opt != null ? opt.getPayloadSize() : UDP_PAYLOAD_SIZE);
+                udpSocket.send(new DatagramPacket(answer, answer.length, packet.getAddress(), packet.getPort()));
+            } catch (IOException e) {
+                // closed, or a malformed query
+            }
+        }
+    }
+
+    private void acceptConnections() {
+        while (!tcpSocket.isClosed()) {
+            try (Socket socket = tcpSocket.accept()) {
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                byte[] query = new byte[in.readUnsignedShort()];
+                in.readFully(query);
+                byte[] answer = answer(new Message(query), MAX_MESSAGE_SIZE);
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                out.writeShort(answer.length);
+                out.write(answer);
+                out.flush();
+            } catch (IOException e) {
+                // closed, or the client went away
+            }
+        }
+    }
+
+    private byte[] answer(Message query, int maxLength) throws IOException {
+        Record question = query.getQuestion();
+        int id = query.getHeader().getID();
+        if (question.getType() != Type.SRV) {
+            return toWire(buildAnswer(question, 0, 0), id);
+        }
+        String key = question.getName() + "/" + maxLength;
+        byte[] answer = srvAnswers.get(key);
+        if (answer == null) {
+            answer = buildSrvAnswer(question, maxLength);
+            srvAnswers.put(key, answer);
+        }
+        answer = answer.clone();
+        answer[0] = (byte) (id >>> 8);
+        answer[1] = (byte) id;
+        return answer;
+    }
+
+    /**
+     * Builds the SRV answer with as many pods as fit, flagged as truncated if not all of them do. Like a cluster DNS
+     * server, additional records are left out first, then SRV records one by one rather than the whole record set.
+     */
+    private byte[] buildSrvAnswer(Record question, int maxLength) throws IOException {
+        byte[] answer = toWire(buildAnswer(question, podCount, podCount), 0);
+        if (answer.length <= maxLength) {
+            return answer;
+        }
+        Message response;
+        int additionalCount = additionalRecords ? fitting(question, podCount, maxLength, true) : -1;
+        if (additionalCount >= 0) {
+            response = buildAnswer(question, podCount, additionalCount);
+        } else {
+            response = buildAnswer(question, Math.max(fitting(question, podCount, maxLength, false), 0), 0);
+        }
+        response.getHeader().setFlag(Flags.TC);
+        return toWire(response, 0);
+    }
+
+    /**
+     * @return largest number of additional records, or SRV records without additional records, that fit the answer,
+     * or -1 if none do
+     */
+    private int fitting(Record question, int srvCount, int maxLength, boolean additional) throws IOException {
+        int fitting = -1;
+        int notFitting = podCount;
+        while (notFitting - fitting > 1) {
+            int count = (fitting + notFitting) / 2;
+            Message response = additional ? buildAnswer(question, srvCount, count) : buildAnswer(question, count, 0);
+            if (toWire(response, 0).length <= maxLength) {
+                fitting = count;
+            } else {
+                notFitting = count;
+            }
+        }
+        return fitting;
+    }
+
+    private Message buildAnswer(Record question, int srvCount, int additionalCount) throws IOException {
+        Message response = new Message();
+        response.getHeader().setFlag(Flags.QR);
+        response.getHeader().setFlag(Flags.AA);
+        response.getHeader().setRcode(Rcode.NOERROR);
+        response.addRecord(question, Section.QUESTION);
+        Name name = question.getName();
+        if (question.getType() == Type.SRV) {
+            for (int i = 0; i < srvCount; i++) {
+                Name target = new Name(Fixtures.SERVICE + "-" + i, name);
+                response.addRecord(new SRVRecord(name, DClass.IN, TTL, 0, 100, 4000, target), Section.ANSWER);
+                if (additionalRecords && i < additionalCount) {
+                    response.addRecord(new ARecord(target, DClass.IN, TTL, Fixtures.podAddress(i)),
+                            Section.ADDITIONAL);
+                }
+            }
+        } else if (question.getType() == Type.A && name.getLabelString(0).startsWith(Fixtures.SERVICE + "-")) {
+            int index = Integer.parseInt(name.getLabelString(0).substring(Fixtures.SERVICE.length() + 1));
+            response.addRecord(new ARecord(name, DClass.IN, TTL, Fixtures.podAddress(index)), Section.ANSWER);
+        }
+        return response;
+    }
+
+    private static byte[] toWire(Message response, int id) {
+        response.getHeader().setID(id);
+        return response.toWire();
+    }
+}
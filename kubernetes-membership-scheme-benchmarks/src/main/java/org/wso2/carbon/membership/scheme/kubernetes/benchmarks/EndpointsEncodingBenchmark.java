@@ -0,0 +1,89 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsParser;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsProtobufParser;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decoding the Endpoints object of a service in each of the encodings the API resolver negotiates, JSON or protobuf,
+ * compressed with gzip or not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.NO_LOGGING)
+public class EndpointsEncodingBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int podCount;
+
+    @Param({"json", "json-gzip", "protobuf", "protobuf-gzip"})
+    private String encoding;
+
+    private byte[] response;
+    private boolean protobuf;
+    private boolean compressed;
+
+    @Setup
+    public void setUp() throws IOException {
+        protobuf = encoding.startsWith("protobuf");
+        compressed = encoding.endsWith("gzip");
+        byte[] body = protobuf ? Fixtures.protobufEndpoints(podCount, "1000")
+                : Fixtures.endpoints(podCount, "1000").getBytes(StandardCharsets.UTF_8);
+        if (compressed) {
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(gzipped)) {
+                gzipOutputStream.write(body);
+            }
+            body = gzipped.toByteArray();
+        }
+        response = body;
+    }
+
+    @Benchmark
+    public EndpointsSnapshot decode() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(response);
+        if (compressed) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+        return protobuf ? EndpointsProtobufParser.parseEndpoints(inputStream, null)
+                : EndpointsParser.parseEndpoints(inputStream, null);
+    }
+}
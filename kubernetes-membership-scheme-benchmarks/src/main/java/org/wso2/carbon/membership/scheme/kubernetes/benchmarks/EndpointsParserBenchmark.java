@@ -0,0 +1,79 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Endpoints;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsParser;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsSnapshot;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the Endpoints object of a service. Compares the streaming parser the API resolver uses, its shortcut
+ * for an unchanged resource version, and binding the whole object as the watch resolver does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.NO_LOGGING)
+public class EndpointsParserBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int podCount;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] endpoints;
+
+    @Setup
+    public void setUp() {
+        endpoints = Fixtures.endpoints(podCount, "1000").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public EndpointsSnapshot parse() throws IOException {
+        return EndpointsParser.parseEndpoints(new ByteArrayInputStream(endpoints), null);
+    }
+
+    @Benchmark
+    public EndpointsSnapshot parseUnchanged() throws IOException {
+        return EndpointsParser.parseEndpoints(new ByteArrayInputStream(endpoints), "1000");
+    }
+
+    @Benchmark
+    public Collection<PodAddress> bind() throws IOException {
+        return EndpointsParser.getPodAddresses(mapper.readValue(new ByteArrayInputStream(endpoints),
+                Endpoints.class));
+    }
+}
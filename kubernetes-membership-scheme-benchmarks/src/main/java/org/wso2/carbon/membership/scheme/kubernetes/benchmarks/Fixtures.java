@@ -0,0 +1,197 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.benchmarks;
+
+import org.apache.axis2.description.Parameter;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generated cluster state shared by the benchmarks
+ */
+final class Fixtures {
+
+    static final String NAMESPACE = "default";
+    static final String SERVICE = "wso2is";
+
+    /**
+     * JVM argument of the benchmark forks. The resolvers log every address they find, which would otherwise be
+     * measured along with them.
+     */
+    static final String NO_LOGGING = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog";
+
+    /**
+     * Nodes the generated pods are spread over
+     */
+    private static final int NODE_COUNT = 20;
+
+    private Fixtures() {
+    }
+
+    static String podIp(int index) {
+        return "10.244." + (index / 250) + "." + (index % 250 + 1);
+    }
+
+    static InetAddress podAddress(int index) throws UnknownHostException {
+        return InetAddress.getByAddress(new byte[]{10, (byte) 244, (byte) (index / 250), (byte) (index % 250 + 1)});
+    }
+
+    static List<String> podIps(int podCount) {
+        List<String> podIps = new ArrayList<>(podCount);
+        for (int i = 0; i < podCount; i++) {
+            podIps.add(podIp(i));
+        }
+        return podIps;
+    }
+
+    /**
+     * Builds the Endpoints object of the service the way the API server returns it, every pod with its target
+     * reference and node name.
+     *
+     * @param podCount        number of ready pods
+     * @param resourceVersion resource version of the object
+     * @return Endpoints JSON
+     */
+    static String endpoints(int podCount, String resourceVersion) {
+        StringBuilder json = new StringBuilder(256 + podCount * 256);
+        json.append("{\"kind\":\"Endpoints\",\"apiVersion\":\"v1\",\"metadata\":{\"name\":\"").append(SERVICE)
+                .append("\",\"namespace\":\"").append(NAMESPACE)
+                .append("\",\"uid\":\"5df0bc87-5eb7-11e6-9155-080027e9ede8\",\"resourceVersion\":\"")
+                .append(resourceVersion).append("\",\"creationTimestamp\":\"2026-01-01T00:00:00Z\",")
+                .append("\"labels\":{\"app\":\"").append(SERVICE).append("\"}},\"subsets\":[{\"addresses\":[");
+        for (int i = 0; i < podCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"ip\":\"").append(podIp(i)).append("\",\"nodeName\":\"node-").append(i % NODE_COUNT)
+                    .append("\",\"targetRef\":{\"kind\":\"Pod\",\"namespace\":\"").append(NAMESPACE)
+                    .append("\",\"name\":\"").append(SERVICE).append("-").append(i)
+                    .append("\",\"uid\":\"5dfb683e-5eb7-11e6-9155-").append(String.format("%012d", i))
+                    .append("\",\"resourceVersion\":\"").append(resourceVersion).append("\"}}");
+        }
+        json.append("],\"ports\":[{\"name\":\"hazelcast\",\"port\":4000,\"protocol\":\"TCP\"}]}]}");
+        return json.toString();
+    }
+
+    /**
+     * Builds the same Endpoints object as {@link #endpoints(int, String)} in the protobuf encoding of the API server
+     * (application/vnd.kubernetes.protobuf), the 4 byte magic number followed by a runtime.Unknown message.
+     *
+     * @param podCount        number of ready pods
+     * @param resourceVersion resource version of the object
+     * @return Endpoints protobuf message
+     */
+    static byte[] protobufEndpoints(int podCount, String resourceVersion) {
+        ByteArrayOutputStream typeMeta = new ByteArrayOutputStream();
+        writeString(typeMeta, 1, "v1");
+        writeString(typeMeta, 2, "Endpoints");
+
+        ByteArrayOutputStream creationTimestamp = new ByteArrayOutputStream();
+        writeVarint(creationTimestamp, 1 << 3);
+        writeVarint(creationTimestamp, 1767225600L);
+        ByteArrayOutputStream label = new ByteArrayOutputStream();
+        writeString(label, 1, "app");
+        writeString(label, 2, SERVICE);
+        ByteArrayOutputStream metadata = new ByteArrayOutputStream();
+        writeString(metadata, 1, SERVICE);
+        writeString(metadata, 3, NAMESPACE);
+        writeString(metadata, 5, "5df0bc87-5eb7-11e6-9155-080027e9ede8");
+        writeString(metadata, 6, resourceVersion);
+        writeMessage(metadata, 8, creationTimestamp);
+        writeMessage(metadata, 11, label);
+
+        ByteArrayOutputStream subset = new ByteArrayOutputStream();
+        for (int i = 0; i < podCount; i++) {
+            ByteArrayOutputStream targetRef = new ByteArrayOutputStream();
+            writeString(targetRef, 1, "Pod");
+            writeString(targetRef, 2, NAMESPACE);
+            writeString(targetRef, 3, SERVICE + "-" + i);
+            writeString(targetRef, 4, "5dfb683e-5eb7-11e6-9155-" + String.format("%012d", i));
+            writeString(targetRef, 6, resourceVersion);
+            ByteArrayOutputStream address = new ByteArrayOutputStream();
+            writeString(address, 1, podIp(i));
+            writeMessage(address, 2, targetRef);
+            writeString(address, 4, "node-" + (i % NODE_COUNT));
+            writeMessage(subset, 1, address);
+        }
+        ByteArrayOutputStream port = new ByteArrayOutputStream();
+        writeString(port, 1, "hazelcast");
+        writeVarint(port, 2 << 3);
+        writeVarint(port, 4000);
+        writeString(port, 3, "TCP");
+        writeMessage(subset, 3, port);
+
+        ByteArrayOutputStream object = new ByteArrayOutputStream();
+        writeMessage(object, 1, metadata);
+        writeMessage(object, 2, subset);
+
+        ByteArrayOutputStream unknown = new ByteArrayOutputStream();
+        unknown.write('k');
+        unknown.write('8');
+        unknown.write('s');
+        unknown.write(0);
+        writeMessage(unknown, 1, typeMeta);
+        writeMessage(unknown, 2, object);
+        writeString(unknown, 3, "");
+        writeString(unknown, 4, "");
+        return unknown.toByteArray();
+    }
+
+    /**
+     * @return parameters of a resolver looking up the benchmark service
+     */
+    static Map<String, Parameter> parameters() {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, NAMESPACE));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, SERVICE));
+        return parameters;
+    }
+
+    static void put(Map<String, Parameter> parameters, String name, String value) {
+        parameters.put(name, new Parameter(name, value));
+    }
+
+    private static void writeString(ByteArrayOutputStream out, int fieldNumber, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, fieldNumber << 3 | 2);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeMessage(ByteArrayOutputStream out, int fieldNumber, ByteArrayOutputStream message) {
+        writeVarint(out, fieldNumber << 3 | 2);
+        writeVarint(out, message.size());
+        out.write(message.toByteArray(), 0, message.size());
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.write((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Kubernetes API server, serving the Endpoints object of the benchmark service. The
+ * responses are generated up front, so that the benchmarks measure the client and not the server.
+ */
+class KubernetesApiStubServer {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final AtomicLong requests = new AtomicLong();
+    private final byte[][] responses;
+    private final boolean changing;
+
+    /**
+     * @param podCount number of pods of the service
+     * @param changing true to serve a new resource version with every response, as while pods come and go
+     */
+    KubernetesApiStubServer(int podCount, boolean changing) throws IOException {
+        this.changing = changing;
+        responses = new byte[][]{
+                Fixtures.endpoints(podCount, "1000").getBytes(StandardCharsets.UTF_8),
+                Fixtures.endpoints(podCount, "1001").getBytes(StandardCharsets.UTF_8)};
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(String.format(Constants.ENDPOINTS_API_CONTEXT, Fixtures.NAMESPACE) + Fixtures.SERVICE,
+                new HttpHandler() {
+                    @Override
+                    public void handle(HttpExchange exchange) throws IOException {
+                        respond(exchange);
+                    }
+                });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        try (InputStream request = exchange.getRequestBody()) {
+            while (request.read() != -1) {
+                // drain the request so that the connection is kept alive
+            }
+        }
+        byte[] response = responses[changing ? (int) (requests.getAndIncrement() % 2) : 0];
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(response);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberRegistry;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberTcpIpConfig;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member bookkeeping of the membership listener. {@code join} registers every pod of the cluster with one event
+ * each, as {@code memberAdded} does while a cluster forms, {@code update} registers them at once as the membership
+ * reconciler does, and {@code replace} removes and adds one pod of a running cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.NO_LOGGING)
+public class MemberRegistryBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int podCount;
+
+    private List<String> podIps;
+    private MemberRegistry memberRegistry;
+    private int replaced;
+
+    @Setup
+    public void setUp() {
+        podIps = Fixtures.podIps(podCount);
+        memberRegistry = new MemberRegistry(new MemberTcpIpConfig());
+        memberRegistry.update(podIps, Collections.<String>emptySet());
+    }
+
+    @Benchmark
+    public MemberRegistry join() {
+        MemberRegistry registry = new MemberRegistry(new MemberTcpIpConfig());
+        for (String podIp : podIps) {
+            registry.add(podIp);
+        }
+        return registry;
+    }
+
+    @Benchmark
+    public MemberRegistry update() {
+        MemberRegistry registry = new MemberRegistry(new MemberTcpIpConfig());
+        registry.update(podIps, Collections.<String>emptySet());
+        return registry;
+    }
+
+    @Benchmark
+    public boolean replace() {
+        String podIp = podIps.get(replaced++ % podCount);
+        memberRegistry.remove(podIp);
+        return memberRegistry.add(podIp);
+    }
+}
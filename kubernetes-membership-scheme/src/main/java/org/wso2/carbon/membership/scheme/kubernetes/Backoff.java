@@ -0,0 +1,59 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter. The delay doubles with each attempt up to the maximum, and a random delay between
+ * half of it and all of it is taken, so that the replicas of a deployment failing together do not retry together.
+ */
+public class Backoff {
+
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * @param baseDelayMillis delay before the first retry
+     * @param maxDelayMillis  maximum delay
+     */
+    public Backoff(long baseDelayMillis, long maxDelayMillis) {
+        this.baseDelayMillis = Math.max(1, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+    }
+
+    /**
+     * @param attempt number of failed attempts before this one, starting from 0
+     * @return milliseconds to wait before the next attempt
+     */
+    public long getDelay(int attempt) {
+        long delay = maxDelayMillis;
+        // stop doubling before the delay overflows
+        if (attempt < 62 && baseDelayMillis <= maxDelayMillis >> Math.max(0, attempt)) {
+            delay = baseDelayMillis << Math.max(0, attempt);
+        }
+        long halfDelay = delay / 2;
+        return halfDelay + ThreadLocalRandom.current().nextLong(delay - halfDelay + 1);
+    }
+
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+}
@@ -19,7 +19,16 @@ package org.wso2.carbon.membership.scheme.kubernetes;
 public class Constants {
 
     public static final String BEARER_TOKEN_FILE_LOCATION = "/var/run/secrets/kubernetes.io/serviceaccount/token";
+    public static final String PARAMETER_NAME_BEARER_TOKEN_FILE_LOCATION = "BEARER_TOKEN_FILE_LOCATION";
+    public static final String CA_CERT_FILE_LOCATION = "/var/run/secrets/kubernetes.io/serviceaccount/ca.crt";
     public static final String AUTHORIZATION_HEADER = "Authorization";
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    public static final String ETAG_HEADER = "ETag";
+    public static final String ACCEPT_HEADER = "Accept";
+    public static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    public static final String CONTENT_ENCODING_GZIP = "gzip";
+    public static final String CONTENT_TYPE_JSON = "application/json";
+    public static final String CONTENT_TYPE_PROTOBUF = "application/vnd.kubernetes.protobuf";
 
     public static final String PARAMETER_NAME_KUBERNETES_API_SERVER = "KUBERNETES_API_SERVER";
     public static final String PARAMETER_NAME_KUBERNETES_API_SERVER_USERNAME = "KUBERNETES_API_SERVER_USERNAME";
@@ -28,10 +37,68 @@ public class Constants {
     public static final String PARAMETER_NAME_KUBERNETES_NAMESPACE = "KUBERNETES_NAMESPACE";
     public static final String PARAMETER_NAME_KUBERNETES_SERVICES = "KUBERNETES_SERVICES";
     public static final String PARAMETER_NAME_KUBERNETES_MASTER_SKIP_SSL_VERIFICATION = "KUBERNETES_MASTER_SKIP_SSL_VERIFICATION";
+    public static final String PARAMETER_NAME_KUBERNETES_API_SERVER_CA_CERT = "KUBERNETES_API_SERVER_CA_CERT";
+    public static final String PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE = "KUBERNETES_API_SERVER_TRUST_STORE";
+    public static final String PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE_PASSWORD =
+            "KUBERNETES_API_SERVER_TRUST_STORE_PASSWORD";
+    public static final String PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE_TYPE =
+            "KUBERNETES_API_SERVER_TRUST_STORE_TYPE";
+    public static final String PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR = "KUBERNETES_LABEL_SELECTOR";
+    public static final String PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR_RESOURCE =
+            "KUBERNETES_LABEL_SELECTOR_RESOURCE";
+    public static final String RESOURCE_ENDPOINTS = "endpoints";
+    public static final String RESOURCE_ENDPOINT_SLICES = "endpointslices";
+    public static final String RESOURCE_PODS = "pods";
     public static final String KUBERNETES_SERVICE_HOST = "KUBERNETES_SERVICE_HOST";
     public static final String KUBERNETES_SERVICE_PORT_HTTPS = "KUBERNETES_SERVICE_PORT_HTTPS";
     public static final String ENDPOINTS_API_CONTEXT = "/api/v1/namespaces/%s/endpoints/";
+    public static final String RESOURCE_VERSION_QUERY = "?resourceVersion=%s";
+    public static final String ENDPOINTS_LIST_API_CONTEXT = "/api/v1/namespaces/%s/endpoints";
+    public static final String PODS_API_CONTEXT = "/api/v1/namespaces/%s/pods";
+    public static final String ENDPOINT_SLICES_API_CONTEXT = "/apis/discovery.k8s.io/v1/namespaces/%s/endpointslices";
+    public static final String SERVICE_NAME_LABEL = "kubernetes.io/service-name";
+    public static final String LIST_QUERY = "?labelSelector=%s&limit=%d";
+    public static final String CONTINUE_QUERY = "&continue=%s";
+    public static final int LIST_PAGE_SIZE = 500;
+    public static final String WATCH_QUERY = "?watch=true&allowWatchBookmarks=true&resourceVersion=%s&timeoutSeconds=%d";
+    public static final int WATCH_TIMEOUT_SECONDS = 300;
     public static final String PROTOCOL_HTTPS = "https";
     public static final String DNS_LOOKUP_TIMEOUT = "DNS_LOOKUP_TIMEOUT";
+    public static final String DNS_SERVER = "DNS_SERVER";
+    public static final String DNS_CACHE_MAX_TTL = "DNS_CACHE_MAX_TTL";
+    public static final String DNS_LOOKUP_THREADS = "DNS_LOOKUP_THREADS";
+    public static final String SERVICE_LOOKUP_TIMEOUT = "SERVICE_LOOKUP_TIMEOUT";
+    public static final String API_CONNECT_TIMEOUT = "API_CONNECT_TIMEOUT";
+    public static final String API_READ_TIMEOUT = "API_READ_TIMEOUT";
+    public static final String SERVICE_LOOKUP_THREADS = "SERVICE_LOOKUP_THREADS";
     public static final String USE_DNS = "USE_DNS";
+    public static final String USE_API_WATCH = "USE_API_WATCH";
+    public static final String USE_ENDPOINT_SLICES = "USE_ENDPOINT_SLICES";
+    public static final String USE_API_PROTOBUF = "USE_API_PROTOBUF";
+    public static final String USE_API_COMPRESSION = "USE_API_COMPRESSION";
+    public static final String POD_IP = "POD_IP";
+    public static final String PARAMETER_NAME_LOCAL_MEMBER_HOST = "localMemberHost";
+    public static final String ASYNC_INIT = "ASYNC_INIT";
+    public static final String ASYNC_INIT_BUDGET = "ASYNC_INIT_BUDGET";
+    public static final String ZONE_AWARE = "ZONE_AWARE";
+    public static final String KUBERNETES_ZONE = "KUBERNETES_ZONE";
+    public static final String KUBERNETES_NODE_NAME = "KUBERNETES_NODE_NAME";
+    public static final String NOT_READY_MEMBERS = "NOT_READY_MEMBERS";
+    public static final String NOT_READY_MEMBERS_INCLUDE = "include";
+    public static final String NOT_READY_MEMBERS_DEFER = "defer";
+    public static final String MEMBERSHIP_RECONCILE_WINDOW = "MEMBERSHIP_RECONCILE_WINDOW";
+    public static final String MEMBERSHIP_REFRESH_INTERVAL = "MEMBERSHIP_REFRESH_INTERVAL";
+    public static final String MEMBERSHIP_REFRESH_JITTER = "MEMBERSHIP_REFRESH_JITTER";
+    public static final String MESSAGE_REPLAY_DELAY = "MESSAGE_REPLAY_DELAY";
+    public static final String MESSAGE_REPLAY_THREADS = "MESSAGE_REPLAY_THREADS";
+    public static final String MESSAGE_REPLAY_BATCH_SIZE = "MESSAGE_REPLAY_BATCH_SIZE";
+    public static final String MESSAGE_REPLAY_COMPRESSION = "MESSAGE_REPLAY_COMPRESSION";
+    public static final String METRICS_JMX_ENABLED = "METRICS_JMX_ENABLED";
+    public static final String CIRCUIT_BREAKER_THRESHOLD = "CIRCUIT_BREAKER_THRESHOLD";
+    public static final String CIRCUIT_BREAKER_DELAY = "CIRCUIT_BREAKER_DELAY";
+    public static final String CIRCUIT_BREAKER_MAX_DELAY = "CIRCUIT_BREAKER_MAX_DELAY";
+    public static final String LAST_KNOWN_GOOD_MAX_AGE = "LAST_KNOWN_GOOD_MAX_AGE";
+    public static final String STARTUP_RESOLVE_RETRIES = "STARTUP_RESOLVE_RETRIES";
+    public static final String PEER_SNAPSHOT_FILE = "PEER_SNAPSHOT_FILE";
+    public static final String PEER_SNAPSHOT_MAX_AGE = "PEER_SNAPSHOT_MAX_AGE";
 }
@@ -18,7 +18,6 @@ package org.wso2.carbon.membership.scheme.kubernetes;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.config.NetworkConfig;
-import com.hazelcast.config.TcpIpConfig;
 import com.hazelcast.core.*;
 import org.apache.axis2.clustering.ClusteringFault;
 import org.apache.axis2.clustering.ClusteringMessage;
@@ -29,13 +28,24 @@ import org.wso2.carbon.core.clustering.hazelcast.HazelcastCarbonClusterImpl;
 import org.wso2.carbon.core.clustering.hazelcast.HazelcastMembershipScheme;
 import org.wso2.carbon.core.clustering.hazelcast.HazelcastUtil;
 import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.metrics.MembershipSchemeMetrics;
+import org.wso2.carbon.membership.scheme.kubernetes.replay.MessageReplayer;
 import org.wso2.carbon.membership.scheme.kubernetes.resolver.AddressResolver;
 import org.wso2.carbon.membership.scheme.kubernetes.resolver.ApiBasedPodIpResolver;
 import org.wso2.carbon.membership.scheme.kubernetes.resolver.DNSBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointSliceBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.LabelSelectorPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.WatchBasedPodIpResolver;
 import org.wso2.carbon.utils.xml.StringUtils;
 
-import java.net.Inet4Address;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Kubernetes membership scheme provides carbon cluster discovery on kubernetes.
@@ -45,17 +55,30 @@ public class KubernetesMembershipScheme implements HazelcastMembershipScheme {
     private static final Log log = LogFactory.getLog(KubernetesMembershipScheme.class);
 
     private final Map<String, Parameter> parameters;
+    private final String primaryDomain;
+    private final Config config;
     private final NetworkConfig nwConfig;
     private final List<ClusteringMessage> messageBuffer;
+    private final ConcurrentMap<String, ScheduledFuture<?>> pendingMessageReplays = new ConcurrentHashMap<>();
     private HazelcastInstance primaryHazelcastInstance;
     private HazelcastCarbonClusterImpl carbonCluster;
     private AddressResolver podIpResolver;
+    private MemberRegistry memberRegistry;
+    private MembershipReconciler membershipReconciler;
+    private ScheduledExecutorService messageReplayExecutor;
+    private int messageReplayDelay;
+    private MessageReplayer messageReplayer;
+    private List<String> deferredMembers = Collections.emptyList();
+    private Set<String> localAddresses = Collections.emptySet();
+    private MembershipSchemeMetrics metrics;
 
     public KubernetesMembershipScheme(Map<String, Parameter> parameters, String primaryDomain, Config config,
             HazelcastInstance primaryHazelcastInstance, List<ClusteringMessage> messageBuffer) {
         this.parameters = parameters;
+        this.primaryDomain = primaryDomain;
         this.primaryHazelcastInstance = primaryHazelcastInstance;
         this.messageBuffer = messageBuffer;
+        this.config = config;
         this.nwConfig = config.getNetworkConfig();
     }
 
@@ -75,31 +98,78 @@ public class KubernetesMembershipScheme implements HazelcastMembershipScheme {
      * The returned set may contain the IP address of the pod running this JVM.
      *
      * The IP address resolver will use DNS lookup if "USE_DNS" environment property is set. Otherwise it uses K8S
-     * API server, to retrive the IP addresses.
+     * API server, to retrive the IP addresses. If "USE_API_WATCH" is set, the addresses are served from a watched,
+     * in-memory view of the endpoints.
      *
-     * @return IP addresses of the current pods. Returns null upon any error querying K8S.
+     * @return addresses of the current pods with their readiness
      */
-    private Set<String> getK8sPodIpAddresses() throws KubernetesMembershipSchemeException {
-        Set<String> containerIps = podIpResolver.resolveAddresses();
-        if (containerIps != null) {
-            return containerIps;
+    private Collection<PodAddress> getK8sPodAddresses() throws KubernetesMembershipSchemeException {
+        Collection<PodAddress> podAddresses = podIpResolver.resolvePodAddresses();
+        if (podAddresses != null) {
+            return podAddresses;
         } else {
-            return Collections.emptySet();
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Resolves the pods at startup, retrying a failed resolution with a jittered exponential backoff, so that a
+     * briefly unavailable Kubernetes API or DNS server does not fail the server startup.
+     *
+     * @return addresses of the current pods with their readiness
+     */
+    private Collection<PodAddress> resolveStartupPodAddresses() throws KubernetesMembershipSchemeException {
+        int retries = Integer.parseInt(getConfigValue(Constants.STARTUP_RESOLVE_RETRIES, "2"));
+        Backoff retryBackoff = new Backoff(1000, 10000);
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return getK8sPodAddresses();
+            } catch (KubernetesMembershipSchemeException e) {
+                if (attempt >= retries) {
+                    throw e;
+                }
+                long delay = retryBackoff.getDelay(attempt);
+                log.warn("Could not resolve the pods at startup, retrying in " + delay + " ms", e);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
         }
     }
 
     /**
      * Initiates the Pod IP resolver.
-     * Uses the DNS based pod IP resolver or the API based pod IP resolver.
+     * Uses the DNS based pod IP resolver, the watch based pod IP resolver, the label selector based pod IP resolver,
+     * the endpoint slice based pod IP resolver or the API based pod IP resolver.
      */
     private void initPodIpResolver() throws KubernetesMembershipSchemeException {
         String useDns = System.getenv(Constants.USE_DNS);
         if (StringUtils.isEmpty(useDns)) {
             useDns = getParameterValue(Constants.USE_DNS, "true");
         }
+        String useApiWatch = System.getenv(Constants.USE_API_WATCH);
+        if (StringUtils.isEmpty(useApiWatch)) {
+            useApiWatch = getParameterValue(Constants.USE_API_WATCH, "false");
+        }
+        String useEndpointSlices = System.getenv(Constants.USE_ENDPOINT_SLICES);
+        if (StringUtils.isEmpty(useEndpointSlices)) {
+            useEndpointSlices = getParameterValue(Constants.USE_ENDPOINT_SLICES, "false");
+        }
         if (Boolean.parseBoolean(useDns)) {
             log.debug("Using DNS based pod ip resolving method");
             podIpResolver = new DNSBasedPodIpResolver(parameters);
+        } else if (Boolean.parseBoolean(useApiWatch)) {
+            log.debug("Using watch based pod ip resolving method");
+            podIpResolver = new WatchBasedPodIpResolver(parameters);
+        } else if (!StringUtils.isEmpty(getConfigValue(Constants.PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR, ""))) {
+            log.debug("Using label selector based pod ip resolving method");
+            podIpResolver = new LabelSelectorPodIpResolver(parameters);
+        } else if (Boolean.parseBoolean(useEndpointSlices)) {
+            log.debug("Using endpoint slice based pod ip resolving method");
+            podIpResolver = new EndpointSliceBasedPodIpResolver(parameters);
         } else {
             log.debug("Using API based pod ip resolving method");
             podIpResolver = new ApiBasedPodIpResolver(parameters);
@@ -109,25 +179,75 @@ public class KubernetesMembershipScheme implements HazelcastMembershipScheme {
     @Override public void init() throws ClusteringFault {
         try {
             log.info("Initializing kubernetes membership scheme...");
+            long startTime = System.nanoTime();
             nwConfig.getJoin().getMulticastConfig().setEnabled(false);
             nwConfig.getJoin().getAwsConfig().setEnabled(false);
-            TcpIpConfig tcpIpConfig = nwConfig.getJoin().getTcpIpConfig();
+            MemberTcpIpConfig tcpIpConfig = MemberTcpIpConfig.install(nwConfig.getJoin());
             tcpIpConfig.setEnabled(true);
+            memberRegistry = new MemberRegistry(tcpIpConfig);
             initPodIpResolver();
-            Set<String> containerIPs = getK8sPodIpAddresses();
-            // if no IPs are found, can't initialize clustering
-            if (containerIPs.isEmpty()) {
-                throw new KubernetesMembershipSchemeException("No members found, unable to initialize the "
-                        + "Kubernetes membership scheme");
+            initMetrics();
+            initMessageReplay();
+            localAddresses = LocalAddresses.detect(getConfigValue(Constants.POD_IP, ""),
+                    getConfigValue(Constants.PARAMETER_NAME_LOCAL_MEMBER_HOST, ""));
+            if (log.isDebugEnabled()) {
+                log.debug("Local member addresses: " + localAddresses);
             }
+            long resolverTime = System.nanoTime();
 
-            for (String containerIP : containerIPs) {
-                if (!containerIP.equals(Inet4Address.getLocalHost().getHostAddress())) {
-                    tcpIpConfig.addMember(containerIP);
-                    log.info("Member added to cluster configuration: [container-ip] " + containerIP);
+            boolean asyncInit = Boolean.parseBoolean(getConfigValue(Constants.ASYNC_INIT, "false"));
+            Collection<PodAddress> podAddresses = null;
+            StartupResolution snapshotCorrection = null;
+            if (podIpResolver.getPeerSnapshot() != null) {
+                podAddresses = podIpResolver.getPeerSnapshot().read();
+            }
+            if (podAddresses != null) {
+                // join through the pods of the last run, and correct them once the pods are resolved
+                log.info(String.format("Seeding members from peer snapshot %s, resolving the pods in the background",
+                        podIpResolver.getPeerSnapshot().getFile()));
+                snapshotCorrection = new StartupResolution(podIpResolver, 1000);
+                snapshotCorrection.start();
+            } else if (asyncInit) {
+                long budget = Long.parseLong(getConfigValue(Constants.ASYNC_INIT_BUDGET, "3000"));
+                StartupResolution startupResolution = new StartupResolution(podIpResolver, 1000);
+                startupResolution.start();
+                podAddresses = startupResolution.await(budget, new StartupResolution.Listener() {
+                    @Override
+                    public void resolved(Collection<PodAddress> podAddresses) {
+                        addLateMembers(podAddresses);
+                    }
+                });
+                if (podAddresses == null) {
+                    log.info(String.format("No pods resolved within %d ms, starting without seeds; members are "
+                            + "added as they are resolved", budget));
+                    podAddresses = Collections.emptyList();
+                }
+            } else {
+                podAddresses = resolveStartupPodAddresses();
+                // if no IPs are found, can't initialize clustering
+                if (podAddresses.isEmpty()) {
+                    throw new KubernetesMembershipSchemeException("No members found, unable to initialize the "
+                            + "Kubernetes membership scheme");
                 }
             }
-            log.info("Kubernetes membership scheme initialized successfully");
+            long resolveTime = System.nanoTime();
+
+            int seeds = addMembers(podAddresses);
+            long membersTime = System.nanoTime();
+            initMembershipReconciler();
+            if (snapshotCorrection != null) {
+                correctSnapshotMembers(snapshotCorrection);
+            }
+            long endTime = System.nanoTime();
+            log.info(String.format("Kubernetes membership scheme initialized successfully in %d ms: [resolver] %d ms "
+                            + "[resolve] %d ms [members] %d ms [reconciler] %d ms [seeds] %d [async] %s "
+                            + "[snapshot] %s",
+                    TimeUnit.NANOSECONDS.toMillis(endTime - startTime),
+                    TimeUnit.NANOSECONDS.toMillis(resolverTime - startTime),
+                    TimeUnit.NANOSECONDS.toMillis(resolveTime - resolverTime),
+                    TimeUnit.NANOSECONDS.toMillis(membersTime - resolveTime),
+                    TimeUnit.NANOSECONDS.toMillis(endTime - membersTime), seeds, asyncInit,
+                    snapshotCorrection != null));
         } catch (Exception e) {
             String errorMsg = "Kubernetes membership initialization failed";
             log.error(errorMsg, e);
@@ -135,6 +255,247 @@ public class KubernetesMembershipScheme implements HazelcastMembershipScheme {
         }
     }
 
+    /**
+     * Adds the seed members to join with, and keeps the members to add once joined
+     *
+     * @param podAddresses resolved pod addresses
+     * @return number of seed members
+     */
+    private int addMembers(Collection<PodAddress> podAddresses)
+            throws KubernetesMembershipSchemeException {
+        List<PodAddress> joinAddresses = new ArrayList<>();
+        for (PodAddress podAddress : PodAddress.readyFirst(podAddresses)) {
+            if (!localAddresses.contains(podAddress.getIp())) {
+                joinAddresses.add(podAddress);
+            }
+        }
+        List<PodAddress> deferred = new ArrayList<>();
+        if (Boolean.parseBoolean(getConfigValue(Constants.ZONE_AWARE, "false"))) {
+            joinAddresses = initMemberTopology(podAddresses).selectSeeds(joinAddresses, deferred);
+        }
+        boolean deferNotReady = Constants.NOT_READY_MEMBERS_DEFER.equalsIgnoreCase(
+                getConfigValue(Constants.NOT_READY_MEMBERS, Constants.NOT_READY_MEMBERS_INCLUDE));
+        boolean readyMemberFound = false;
+        for (PodAddress podAddress : joinAddresses) {
+            if (podAddress.isReady()) {
+                readyMemberFound = true;
+                break;
+            }
+        }
+        int seeds = 0;
+        for (PodAddress podAddress : joinAddresses) {
+            // not ready members join through the ready ones, unless there are none yet
+            if (!podAddress.isReady() && deferNotReady && readyMemberFound) {
+                deferred.add(podAddress);
+                continue;
+            }
+            memberRegistry.add(podAddress.getIp());
+            seeds++;
+            log.info("Member added to cluster configuration: [container-ip] " + podAddress.getIp()
+                    + " [ready] " + podAddress.isReady());
+        }
+        if (!deferred.isEmpty()) {
+            deferredMembers = new ArrayList<>(PodAddress.getIps(deferred));
+            log.info("Members deferred until joined: [container-ips] " + deferredMembers);
+        }
+        return seeds;
+    }
+
+    /**
+     * Adds the members resolved after the startup stopped waiting for them
+     *
+     * @param podAddresses resolved pod addresses
+     */
+    private void addLateMembers(Collection<PodAddress> podAddresses) {
+        Set<String> addresses = PodAddress.getIps(podAddresses);
+        addresses.removeAll(localAddresses);
+        if (memberRegistry.update(addresses, Collections.<String>emptySet())) {
+            log.info("Members resolved after startup added to cluster configuration: [container-ips] " + addresses);
+        }
+    }
+
+    /**
+     * Applies the pods resolved in the background to the members seeded from the peer snapshot, adding new pods and
+     * removing the snapshot pods which are gone, unless they are in the cluster or the resolution was partial
+     *
+     * @param snapshotCorrection background resolution of the pods
+     */
+    private void correctSnapshotMembers(StartupResolution snapshotCorrection) throws InterruptedException {
+        StartupResolution.Listener listener = new StartupResolution.Listener() {
+            @Override
+            public void resolved(Collection<PodAddress> podAddresses) {
+                membershipReconciler.applyResolved(podAddresses, "resolving the pods seeded from the peer snapshot");
+            }
+        };
+        Collection<PodAddress> podAddresses = snapshotCorrection.await(0, listener);
+        if (podAddresses != null) {
+            listener.resolved(podAddresses);
+        }
+    }
+
+    /**
+     * Publishes the zone and host of this member as member attributes and groups the partitions by them, so that
+     * backups are kept in another zone.
+     *
+     * @param podAddresses resolved pod addresses
+     * @return topology of this member
+     * @throws KubernetesMembershipSchemeException if neither the node nor the pod IP of this member is known
+     */
+    private MemberTopology initMemberTopology(Collection<PodAddress> podAddresses)
+            throws KubernetesMembershipSchemeException {
+        MemberTopology memberTopology = MemberTopology.resolve(podAddresses, localAddresses,
+                getConfigValue(Constants.KUBERNETES_ZONE, ""), getConfigValue(Constants.KUBERNETES_NODE_NAME, ""),
+                getConfigValue(Constants.POD_IP, ""), getConfigValue(Constants.PARAMETER_NAME_LOCAL_MEMBER_HOST, ""));
+        memberTopology.apply(config);
+        log.info(String.format("Partitions are grouped by zone: [zone] %s [host] %s", memberTopology.getZone(),
+                memberTopology.getHost()));
+        if (memberTopology.getZone() == null) {
+            log.warn(String.format("Zone of this member is unknown, its partitions are grouped by host. Set %s, or "
+                    + "use EndpointSlices to resolve the pods", Constants.KUBERNETES_ZONE));
+        }
+        return memberTopology;
+    }
+
+    /**
+     * Initiates the metrics of the membership scheme, recorded by the pod IP resolver and the membership listener,
+     * and registers them as an MBean unless disabled.
+     */
+    private void initMetrics() throws KubernetesMembershipSchemeException {
+        metrics = new MembershipSchemeMetrics() {
+            @Override
+            public int getRegisteredMembers() {
+                return memberRegistry.getMembers().size();
+            }
+
+            @Override
+            public int getHazelcastMembers() {
+                try {
+                    return primaryHazelcastInstance.getCluster().getMembers().size();
+                } catch (RuntimeException e) {
+                    // not started yet, or shut down
+                    return -1;
+                }
+            }
+
+            @Override
+            public int getReplayQueueDepth() {
+                return pendingMessageReplays.size();
+            }
+        };
+        podIpResolver.setMetrics(metrics);
+        if (Boolean.parseBoolean(getConfigValue(Constants.METRICS_JMX_ENABLED, "true"))) {
+            metrics.register(StringUtils.isEmpty(primaryDomain) ? "default" : primaryDomain);
+        }
+    }
+
+    /**
+     * Initiates the executor replaying the buffered cluster messages to new members, off the Hazelcast event thread.
+     */
+    private void initMessageReplay() throws KubernetesMembershipSchemeException {
+        messageReplayDelay = Integer.parseInt(getConfigValue(Constants.MESSAGE_REPLAY_DELAY, "5"));
+        int messageReplayThreads = Integer.parseInt(getConfigValue(Constants.MESSAGE_REPLAY_THREADS, "4"));
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(messageReplayThreads,
+                new NamedThreadFactory("kubernetes-message-replay"));
+        executor.setRemoveOnCancelPolicy(true);
+        messageReplayExecutor = executor;
+
+        int messageReplayBatchSize = Integer.parseInt(getConfigValue(Constants.MESSAGE_REPLAY_BATCH_SIZE, "0"));
+        if (messageReplayBatchSize > 0) {
+            boolean compression = Boolean.parseBoolean(getConfigValue(Constants.MESSAGE_REPLAY_COMPRESSION, "false"));
+            messageReplayer = new MessageReplayer(messageReplayBatchSize, compression);
+            log.info(String.format("Cluster messages are replayed in batches: [batch-size] %d [compression] %s",
+                    messageReplayBatchSize, compression));
+        }
+    }
+
+    /**
+     * Initiates the reconciler which coalesces membership events and applies the resolved pod addresses to the
+     * member registry, and optionally refreshes the pods periodically.
+     */
+    private void initMembershipReconciler() throws KubernetesMembershipSchemeException {
+        long reconcileWindow = Long.parseLong(getConfigValue(Constants.MEMBERSHIP_RECONCILE_WINDOW, "2000"));
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                new NamedThreadFactory("kubernetes-membership-reconciler"));
+        membershipReconciler = new MembershipReconciler(podIpResolver, memberRegistry, localAddresses, executor,
+                reconcileWindow) {
+            @Override
+            protected Set<String> getClusterMemberAddresses() {
+                Set<String> memberAddresses = new HashSet<>();
+                if (primaryHazelcastInstance == null) {
+                    // the pods seeded from the peer snapshot may be corrected before Hazelcast started
+                    return memberAddresses;
+                }
+                for (Member member : primaryHazelcastInstance.getCluster().getMembers()) {
+                    memberAddresses.add(member.getSocketAddress().getAddress().getHostAddress());
+                }
+                return memberAddresses;
+            }
+        };
+
+        int refreshInterval = Integer.parseInt(getConfigValue(Constants.MEMBERSHIP_REFRESH_INTERVAL, "0"));
+        if (refreshInterval > 0) {
+            int refreshJitter = Integer.parseInt(getConfigValue(Constants.MEMBERSHIP_REFRESH_JITTER, "20"));
+            membershipReconciler.startPeriodicRefresh(TimeUnit.SECONDS.toMillis(refreshInterval), refreshJitter);
+            log.info(String.format("Pods are refreshed periodically: [interval] %d s [jitter] %d%%",
+                    refreshInterval, refreshJitter));
+        }
+    }
+
+    /**
+     * Schedules replaying the buffered cluster messages to the given member once it had time to completely join.
+     * The replay is skipped if the member has left the cluster by then.
+     *
+     * @param member new member
+     */
+    private void scheduleMessageReplay(final Member member) {
+        final String memberUuid = member.getUuid();
+        ScheduledFuture<?> messageReplay = messageReplayExecutor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (!primaryHazelcastInstance.getCluster().getMembers().contains(member)) {
+                        log.info(String.format("Member left before replaying cluster messages: [UUID] %s",
+                                memberUuid));
+                        return;
+                    }
+                    long startTime = System.nanoTime();
+                    if (messageReplayer != null) {
+                        messageReplayer.replay(messageBuffer, member, carbonCluster);
+                    } else {
+                        HazelcastUtil.sendMessagesToMember(messageBuffer, member, carbonCluster);
+                    }
+                    metrics.replayCompleted(startTime);
+                } catch (Exception e) {
+                    log.error("Could not replay cluster messages to member: " + memberUuid, e);
+                } finally {
+                    pendingMessageReplays.remove(memberUuid);
+                }
+            }
+        }, messageReplayDelay, TimeUnit.SECONDS);
+        ScheduledFuture<?> previousMessageReplay = pendingMessageReplays.put(memberUuid, messageReplay);
+        if (previousMessageReplay != null) {
+            previousMessageReplay.cancel(false);
+        }
+    }
+
+    private void cancelMessageReplay(Member member) {
+        ScheduledFuture<?> messageReplay = pendingMessageReplays.remove(member.getUuid());
+        if (messageReplay != null && messageReplay.cancel(false)) {
+            log.info(String.format("Cancelled replaying cluster messages to member: [UUID] %s", member.getUuid()));
+        }
+    }
+
+    /**
+     * Reads a configuration value from the environment, or else from the clustering parameters
+     */
+    private String getConfigValue(String name, String defaultValue) throws KubernetesMembershipSchemeException {
+        String value = System.getenv(name);
+        if (StringUtils.isEmpty(value)) {
+            value = getParameterValue(name, defaultValue);
+        }
+        return value;
+    }
+
     private String getParameterValue(String parameterName, String defaultValue) throws
             KubernetesMembershipSchemeException {
         Parameter kubernetesServicesParam = getParameter(parameterName);
@@ -149,13 +510,29 @@ public class KubernetesMembershipScheme implements HazelcastMembershipScheme {
     }
 
     @Override public void joinGroup() {
+        Set<String> memberAddresses = new HashSet<>();
+        for (Member member : primaryHazelcastInstance.getCluster().getMembers()) {
+            memberAddresses.add(member.getSocketAddress().getAddress().getHostAddress());
+        }
+        metrics.localMemberJoined(memberAddresses);
         primaryHazelcastInstance.getCluster().addMembershipListener(new KubernetesMembershipSchemeListener());
+        // the local member has joined, so the members left out of the seeds can be added
+        if (!deferredMembers.isEmpty() && memberRegistry.update(deferredMembers, Collections.<String>emptySet())) {
+            log.info("Deferred members added to cluster configuration: [container-ips] " + deferredMembers);
+        }
     }
 
     private Parameter getParameter(String name) {
         return parameters.get(name);
     }
 
+    /**
+     * @return metrics of the membership scheme, or null before it is initialized
+     */
+    public MembershipSchemeMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Kubernetes membership scheme listener
      */
@@ -163,47 +540,32 @@ public class KubernetesMembershipScheme implements HazelcastMembershipScheme {
 
         @Override public void memberAdded(MembershipEvent membershipEvent) {
             Member member = membershipEvent.getMember();
-            TcpIpConfig tcpIpConfig = nwConfig.getJoin().getTcpIpConfig();
-            List<String> memberList = tcpIpConfig.getMembers();
-            if (!memberList.contains(member.getSocketAddress().getAddress().getHostAddress())) {
-                tcpIpConfig.addMember(String.valueOf(member.getSocketAddress().getAddress().getHostAddress()));
+            String memberAddress = member.getSocketAddress().getAddress().getHostAddress();
+            if (!localAddresses.contains(memberAddress)) {
+                memberRegistry.add(memberAddress);
             }
+            metrics.memberJoined(memberAddress);
 
             // Send all cluster messages
             carbonCluster.memberAdded(member);
             log.info(String.format("Member joined: [UUID] %s, [Address] %s", member.getUuid(),
                     member.getSocketAddress().toString()));
-            // Wait for sometime for the member to completely join before replaying messages
-            try {
-                Thread.sleep(5000);
-            } catch (InterruptedException ignored) {
-            }
-            HazelcastUtil.sendMessagesToMember(messageBuffer, member, carbonCluster);
+            // Replay messages once the member had time to completely join, without blocking the event thread
+            scheduleMessageReplay(member);
             if (log.isDebugEnabled()) {
-                log.debug(String.format("Current member list: %s", tcpIpConfig.getMembers()));
+                log.debug(String.format("Current member list: %s", memberRegistry.getMembers()));
             }
         }
 
         @Override public void memberRemoved(MembershipEvent membershipEvent) {
             Member member = membershipEvent.getMember();
+            metrics.memberLeft(member.getSocketAddress().getAddress().getHostAddress());
+            cancelMessageReplay(member);
             carbonCluster.memberRemoved(member);
-            TcpIpConfig tcpIpConfig = nwConfig.getJoin().getTcpIpConfig();
-            Set<String> containerIPs;
-            String memberIp = member.getSocketAddress().getAddress().getHostAddress();
-            try {
-                containerIPs = getK8sPodIpAddresses();
-                if (!containerIPs.contains(memberIp)) {
-                    tcpIpConfig.getMembers()
-                            .remove(String.valueOf(member.getSocketAddress().getAddress().getHostAddress()));
-                    log.info(String.format("Member left: [UUID] %s, [Address] %s", member.getUuid(),
-                            member.getSocketAddress().toString()));
-                    if (log.isDebugEnabled()) {
-                        log.debug(String.format("Current member list: %s", tcpIpConfig.getMembers()));
-                    }
-                }
-            } catch (KubernetesMembershipSchemeException e) {
-                log.error("Could not remove member: " + memberIp, e);
-            }
+            log.info(String.format("Member left: [UUID] %s, [Address] %s", member.getUuid(),
+                    member.getSocketAddress().toString()));
+            // Pods leave in bursts, resolve the remaining pods once for all events within the reconcile window
+            membershipReconciler.eventReceived();
         }
 
         @Override public void memberAttributeChanged(MemberAttributeEvent memberAttributeEvent) {
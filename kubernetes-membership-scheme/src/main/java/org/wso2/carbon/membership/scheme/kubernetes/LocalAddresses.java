@@ -0,0 +1,80 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Detects the addresses of the local member once, so that the member is never added as its own peer. The addresses
+ * of all network interfaces are included, since pods may have several of them (service meshes, Multus), together
+ * with the configured member host and pod IP. No host name is looked up.
+ */
+public final class LocalAddresses {
+
+    private static final Log log = LogFactory.getLog(LocalAddresses.class);
+
+    private LocalAddresses() {
+    }
+
+    /**
+     * @param configuredAddresses configured addresses of the local member, empty or null values are ignored
+     * @return unmodifiable set of the local addresses
+     */
+    public static Set<String> detect(String... configuredAddresses) {
+        Set<String> localAddresses = new HashSet<>();
+        for (String configuredAddress : configuredAddresses) {
+            if (configuredAddress != null && !configuredAddress.trim().isEmpty()) {
+                localAddresses.add(configuredAddress.trim());
+            }
+        }
+        try {
+            Enumeration<NetworkInterface> networkInterfaces = NetworkInterface.getNetworkInterfaces();
+            while (networkInterfaces != null && networkInterfaces.hasMoreElements()) {
+                Enumeration<InetAddress> addresses = networkInterfaces.nextElement().getInetAddresses();
+                while (addresses.hasMoreElements()) {
+                    localAddresses.add(getHostAddress(addresses.nextElement()));
+                }
+            }
+        } catch (SocketException e) {
+            log.warn("Could not read the network interfaces, using the address of the local host", e);
+            try {
+                localAddresses.add(InetAddress.getLocalHost().getHostAddress());
+            } catch (UnknownHostException ex) {
+                log.warn("Could not resolve the address of the local host", ex);
+            }
+        }
+        return Collections.unmodifiableSet(localAddresses);
+    }
+
+    /**
+     * @return the literal address without the IPv6 scope
+     */
+    private static String getHostAddress(InetAddress address) {
+        String hostAddress = address.getHostAddress();
+        int scope = hostAddress.indexOf('%');
+        return scope >= 0 ? hostAddress.substring(0, scope) : hostAddress;
+    }
+}
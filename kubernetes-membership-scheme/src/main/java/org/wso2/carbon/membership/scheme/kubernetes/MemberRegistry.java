@@ -0,0 +1,124 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe registry of the member addresses known to the membership scheme. The registry is authoritative, and
+ * every change is published to the Hazelcast TCP/IP join configuration as a single replacement of its member list.
+ */
+public class MemberRegistry {
+
+    private final Set<String> members = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final AtomicLong version = new AtomicLong();
+    private final MemberTcpIpConfig tcpIpConfig;
+
+    public MemberRegistry(MemberTcpIpConfig tcpIpConfig) {
+        this.tcpIpConfig = tcpIpConfig;
+    }
+
+    /**
+     * Adds a member address
+     *
+     * @param address member address
+     * @return true if the address was not registered before
+     */
+    public synchronized boolean add(String address) {
+        if (!members.add(address)) {
+            return false;
+        }
+        publish(Collections.singletonList(address), Collections.<String>emptySet());
+        return true;
+    }
+
+    /**
+     * Removes a member address
+     *
+     * @param address member address
+     * @return true if the address was registered
+     */
+    public synchronized boolean remove(String address) {
+        if (!members.remove(address)) {
+            return false;
+        }
+        publish(Collections.<String>emptyList(), Collections.singleton(address));
+        return true;
+    }
+
+    /**
+     * Adds and removes member addresses, publishing the result once
+     *
+     * @param addedAddresses   addresses to add
+     * @param removedAddresses addresses to remove
+     * @return true if the registry changed
+     */
+    public synchronized boolean update(Collection<String> addedAddresses, Collection<String> removedAddresses) {
+        List<String> added = new ArrayList<>();
+        Set<String> removed = new HashSet<>();
+        for (String address : addedAddresses) {
+            if (members.add(address)) {
+                added.add(address);
+            }
+        }
+        for (String address : removedAddresses) {
+            if (members.remove(address)) {
+                if (!added.remove(address)) {
+                    removed.add(address);
+                }
+            }
+        }
+        if (added.isEmpty() && removed.isEmpty()) {
+            return false;
+        }
+        publish(added, removed);
+        return true;
+    }
+
+    /**
+     * @return number of changes made to the registry, to detect changes cheaply
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean contains(String address) {
+        return members.contains(address);
+    }
+
+    /**
+     * @return unmodifiable view of the registered member addresses
+     */
+    public Set<String> getMembers() {
+        return Collections.unmodifiableSet(members);
+    }
+
+    /**
+     * Applies a change of the registry to the member list of the TCP/IP join configuration. Changes are serialized by
+     * the registry, so the join configuration always reflects the latest state of the registry.
+     */
+    private void publish(Collection<String> addedAddresses, Set<String> removedAddresses) {
+        version.incrementAndGet();
+        tcpIpConfig.update(addedAddresses, removedAddresses);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes;
+
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.TcpIpConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+/**
+ * TCP/IP join configuration whose member list can be changed while Hazelcast reads it. The list returned by
+ * {@link #getMembers()} is an immutable snapshot, and every change replaces the snapshot with a fully built list in a
+ * single volatile write, so that the TCP/IP joiner never sees a cleared or partly filled list.
+ */
+public class MemberTcpIpConfig extends TcpIpConfig {
+
+    private volatile List<String> members = Collections.emptyList();
+
+    /**
+     * Replaces the TCP/IP join configuration of the given join configuration with one whose member list can be
+     * changed safely, keeping its settings and members
+     *
+     * @param joinConfig Hazelcast join configuration
+     * @return the installed TCP/IP join configuration
+     */
+    public static MemberTcpIpConfig install(JoinConfig joinConfig) {
+        TcpIpConfig tcpIpConfig = joinConfig.getTcpIpConfig();
+        if (tcpIpConfig instanceof MemberTcpIpConfig) {
+            return (MemberTcpIpConfig) tcpIpConfig;
+        }
+        MemberTcpIpConfig memberTcpIpConfig = new MemberTcpIpConfig();
+        memberTcpIpConfig.setEnabled(tcpIpConfig.isEnabled());
+        memberTcpIpConfig.setConnectionTimeoutSeconds(tcpIpConfig.getConnectionTimeoutSeconds());
+        memberTcpIpConfig.setRequiredMember(tcpIpConfig.getRequiredMember());
+        memberTcpIpConfig.setMembers(tcpIpConfig.getMembers());
+        joinConfig.setTcpIpConfig(memberTcpIpConfig);
+        return memberTcpIpConfig;
+    }
+
+    /**
+     * @return immutable snapshot of the members
+     */
+    @Override
+    public List<String> getMembers() {
+        return members;
+    }
+
+    @Override
+    public synchronized MemberTcpIpConfig setMembers(List<String> members) {
+        List<String> newMembers = new ArrayList<>(members.size());
+        for (String member : members) {
+            addTokens(newMembers, member);
+        }
+        this.members = Collections.unmodifiableList(newMembers);
+        return this;
+    }
+
+    @Override
+    public synchronized MemberTcpIpConfig addMember(String member) {
+        List<String> newMembers = new ArrayList<>(members);
+        addTokens(newMembers, member);
+        members = Collections.unmodifiableList(newMembers);
+        return this;
+    }
+
+    @Override
+    public synchronized MemberTcpIpConfig clear() {
+        members = Collections.emptyList();
+        return this;
+    }
+
+    /**
+     * Adds and removes members in a single change
+     *
+     * @param addedMembers   members to add, which are not members yet
+     * @param removedMembers members to remove
+     */
+    synchronized void update(Collection<String> addedMembers, Set<String> removedMembers) {
+        List<String> newMembers = new ArrayList<>(members.size() + addedMembers.size());
+        if (removedMembers.isEmpty()) {
+            newMembers.addAll(members);
+        } else {
+            for (String member : members) {
+                if (!removedMembers.contains(member)) {
+                    newMembers.add(member);
+                }
+            }
+        }
+        newMembers.addAll(addedMembers);
+        members = Collections.unmodifiableList(newMembers);
+    }
+
+    /**
+     * Adds the members of a comma or space separated list, as {@link TcpIpConfig#addMember(String)} does
+     */
+    private static void addTokens(List<String> members, String member) {
+        StringTokenizer tokenizer = new StringTokenizer(member, ", ");
+        while (tokenizer.hasMoreTokens()) {
+            members.add(tokenizer.nextToken().trim());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.PartitionGroupConfig;
+import com.hazelcast.spi.partitiongroup.PartitionGroupMetaData;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Zone and node of the local member. The topology is published as Hazelcast member attributes and used to group the
+ * partitions by zone, so that backups are kept in another zone, and to prefer seeds in the local zone when joining.
+ */
+public class MemberTopology {
+
+    private final String zone;
+    private final String nodeName;
+    private final String host;
+
+    public MemberTopology(String zone, String nodeName) {
+        this(zone, nodeName, nodeName);
+    }
+
+    /**
+     * @param zone     zone of the local member, may be null
+     * @param nodeName node of the local member, may be null
+     * @param host     host published for the local member, the node or else the pod IP, may be null
+     */
+    public MemberTopology(String zone, String nodeName, String host) {
+        this.zone = zone;
+        this.nodeName = nodeName;
+        this.host = host;
+    }
+
+    /**
+     * Creates the topology of the local member. Configured values take precedence over the zone and node the
+     * Kubernetes API reported for one of the local addresses. If the node is unknown, the pod IP of the local member
+     * is published as its host: the resolved address of the local pod, or else the first configured address.
+     *
+     * @param podAddresses        resolved pod addresses
+     * @param localAddresses      addresses of the local member
+     * @param configuredZone      configured zone, may be empty
+     * @param configuredNodeName  configured node name, may be empty
+     * @param configuredAddresses configured addresses of the local member in order of preference, empty or null
+     *                            values are ignored
+     * @return topology of the local member
+     */
+    public static MemberTopology resolve(Collection<PodAddress> podAddresses, Set<String> localAddresses,
+            String configuredZone, String configuredNodeName, String... configuredAddresses) {
+        String zone = isEmpty(configuredZone) ? null : configuredZone;
+        String nodeName = isEmpty(configuredNodeName) ? null : configuredNodeName;
+        String podIp = null;
+        for (PodAddress podAddress : podAddresses) {
+            if (localAddresses.contains(podAddress.getIp())) {
+                if (zone == null) {
+                    zone = podAddress.getZone();
+                }
+                if (nodeName == null) {
+                    nodeName = podAddress.getNodeName();
+                }
+                if (podIp == null) {
+                    podIp = podAddress.getIp();
+                }
+            }
+        }
+        for (String configuredAddress : configuredAddresses) {
+            if (podIp == null && !isEmpty(configuredAddress)) {
+                podIp = configuredAddress.trim();
+            }
+        }
+        return new MemberTopology(zone, nodeName, nodeName != null ? nodeName : podIp);
+    }
+
+    /**
+     * Sets the zone and host member attributes and groups the partitions by zone, or by host if the zone is not
+     * known. The partitions are grouped whatever the topology of the local member, since Hazelcast only lets
+     * members with the same partition group settings join each other, and every member publishes a host, since
+     * zone aware grouping fails for members without any of the attributes.
+     *
+     * @param config Hazelcast configuration
+     * @throws KubernetesMembershipSchemeException if the host of the local member is unknown
+     */
+    public void apply(Config config) throws KubernetesMembershipSchemeException {
+        if (host == null) {
+            throw new KubernetesMembershipSchemeException("Node and pod IP of this member are unknown, unable to "
+                    + "group the partitions by zone");
+        }
+        if (zone != null) {
+            config.getMemberAttributeConfig().setStringAttribute(PartitionGroupMetaData.PARTITION_GROUP_ZONE, zone);
+        }
+        config.getMemberAttributeConfig().setStringAttribute(PartitionGroupMetaData.PARTITION_GROUP_HOST, host);
+        config.getPartitionGroupConfig().setEnabled(true)
+                .setGroupType(PartitionGroupConfig.MemberGroupType.ZONE_AWARE);
+    }
+
+    /**
+     * Splits the given addresses into the seeds to join with and the addresses to add once joined. If the local
+     * zone is known and at least one ready member is in it, the members of the other zones are deferred.
+     *
+     * @param podAddresses pod addresses, in join order
+     * @param deferred     receives the deferred addresses
+     * @return seed addresses, in join order
+     */
+    public List<PodAddress> selectSeeds(List<PodAddress> podAddresses, List<PodAddress> deferred) {
+        boolean readyLocalZoneMember = false;
+        if (zone != null) {
+            for (PodAddress podAddress : podAddresses) {
+                if (podAddress.isReady() && zone.equals(podAddress.getZone())) {
+                    readyLocalZoneMember = true;
+                    break;
+                }
+            }
+        }
+        if (!readyLocalZoneMember) {
+            return podAddresses;
+        }
+        List<PodAddress> seeds = new ArrayList<>();
+        for (PodAddress podAddress : podAddresses) {
+            if (zone.equals(podAddress.getZone())) {
+                seeds.add(podAddress);
+            } else {
+                deferred.add(podAddress);
+            }
+        }
+        return seeds;
+    }
+
+    /**
+     * @return zone of the local member, or null if unknown
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    /**
+     * @return node of the local member, or null if unknown
+     */
+    public String getNodeName() {
+        return nodeName;
+    }
+
+    /**
+     * @return host published for the local member, or null if unknown
+     */
+    public String getHost() {
+        return host;
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
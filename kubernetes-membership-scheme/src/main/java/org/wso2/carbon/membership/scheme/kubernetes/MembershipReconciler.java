@@ -0,0 +1,303 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.AddressResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PartialPodAddresses;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconciles the member registry with the pods of the Kubernetes services. Membership events received within the
+ * reconcile window are coalesced, and the pod addresses are resolved once per window. Optionally the pods are also
+ * resolved periodically, to catch changes that did not cause membership events. Reconciles and refreshes run one at
+ * a time on the given executor.
+ *
+ * The pods of a partial resolution, in which some of the services could not be resolved, are only added: members are
+ * not removed because the pods of their service are missing.
+ */
+public class MembershipReconciler {
+
+    private static final Log log = LogFactory.getLog(MembershipReconciler.class);
+
+    private final AddressResolver podIpResolver;
+    private final MemberRegistry memberRegistry;
+    private final Set<String> localAddresses;
+    private final ScheduledExecutorService executor;
+    private final long reconcileWindow;
+    private final AtomicBoolean reconcileScheduled = new AtomicBoolean();
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong reconciles = new AtomicLong();
+    private final AtomicLong failedReconciles = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong unchangedRefreshes = new AtomicLong();
+    private volatile int lastCoalescedEvents;
+    private volatile int maxCoalescedEvents;
+    private long refreshInterval;
+    private int refreshJitter;
+    // last applied pod addresses, their version if the resolver reports one, and the registry version after applying
+    // them, accessed on the executor thread
+    private Set<String> lastPodAddresses;
+    private String lastPodsVersion;
+    private long lastAppliedVersion = -1;
+
+    /**
+     * @param podIpResolver   resolver of the pod addresses
+     * @param memberRegistry  registry to reconcile
+     * @param localAddresses  addresses of this member, which are never registered
+     * @param executor        single threaded executor running the reconciles
+     * @param reconcileWindow milliseconds to wait for further events before reconciling
+     */
+    public MembershipReconciler(AddressResolver podIpResolver, MemberRegistry memberRegistry,
+            Set<String> localAddresses, ScheduledExecutorService executor, long reconcileWindow) {
+        this.podIpResolver = podIpResolver;
+        this.memberRegistry = memberRegistry;
+        this.localAddresses = localAddresses;
+        this.executor = executor;
+        this.reconcileWindow = reconcileWindow;
+    }
+
+    /**
+     * Records a membership event and schedules a reconcile at the end of the window, unless one is already scheduled
+     */
+    public void eventReceived() {
+        eventsReceived.incrementAndGet();
+        pendingEvents.incrementAndGet();
+        if (reconcileScheduled.compareAndSet(false, true)) {
+            executor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    // events arriving from now on schedule the next reconcile
+                    reconcileScheduled.set(false);
+                    int coalescedEvents = pendingEvents.getAndSet(0);
+                    lastCoalescedEvents = coalescedEvents;
+                    maxCoalescedEvents = Math.max(maxCoalescedEvents, coalescedEvents);
+                    reconcile(coalescedEvents);
+                }
+            }, reconcileWindow, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies pod addresses resolved elsewhere to the member registry, on the executor. Used to correct the members
+     * seeded from the peer snapshot once the pods are resolved.
+     *
+     * @param podAddresses resolved pod addresses
+     * @param trigger      source of the addresses, for logging
+     */
+    public void applyResolved(final Collection<PodAddress> podAddresses, final String trigger) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                apply(podAddresses, null, trigger);
+            }
+        });
+    }
+
+    /**
+     * Starts resolving the pods periodically. Each delay is randomized by the given jitter, and the first refresh
+     * happens at a random point of the first interval, so that the replicas of a deployment started together do
+     * not query Kubernetes in the same second.
+     *
+     * @param refreshInterval milliseconds between refreshes
+     * @param refreshJitter   maximum deviation of each delay from the interval, as a percentage of the interval
+     */
+    public void startPeriodicRefresh(long refreshInterval, int refreshJitter) {
+        this.refreshInterval = refreshInterval;
+        this.refreshJitter = Math.max(0, Math.min(refreshJitter, 100));
+        scheduleRefresh(ThreadLocalRandom.current().nextLong(refreshInterval) + 1);
+    }
+
+    private void scheduleRefresh(long delay) {
+        executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    refresh();
+                } finally {
+                    scheduleRefresh(getNextRefreshDelay());
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return milliseconds until the next periodic refresh
+     */
+    public long getNextRefreshDelay() {
+        long maxJitter = refreshInterval * refreshJitter / 100;
+        if (maxJitter == 0) {
+            return refreshInterval;
+        }
+        return refreshInterval - maxJitter + ThreadLocalRandom.current().nextLong(2 * maxJitter + 1);
+    }
+
+    /**
+     * Resolves the pods and applies the difference to the member registry. The refresh ends early if neither the
+     * pods nor the registry changed since the last reconcile. If the resolver reports the version of the pods without
+     * resolving them, an unchanged version ends the refresh before resolving, otherwise the resolved pods are compared.
+     */
+    void refresh() {
+        String podsVersion = podIpResolver.getPodsVersion();
+        if (podsVersion != null && podsVersion.equals(lastPodsVersion) && lastPodAddresses != null
+                && memberRegistry.getVersion() == lastAppliedVersion) {
+            refreshes.incrementAndGet();
+            unchangedRefreshes.incrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Pods version " + podsVersion + " unchanged since the last reconcile");
+            }
+            return;
+        }
+        Collection<PodAddress> podAddresses = resolve();
+        if (podAddresses == null) {
+            return;
+        }
+        refreshes.incrementAndGet();
+        if (!PartialPodAddresses.isPartial(podAddresses) && PodAddress.getIps(podAddresses).equals(lastPodAddresses)
+                && memberRegistry.getVersion() == lastAppliedVersion) {
+            unchangedRefreshes.incrementAndGet();
+            lastPodsVersion = podsVersion;
+            if (log.isDebugEnabled()) {
+                log.debug("Pods unchanged since the last reconcile");
+            }
+            return;
+        }
+        apply(podAddresses, podsVersion, "periodic refresh");
+    }
+
+    /**
+     * Resolves the pod addresses and applies the difference to the member registry. Addresses of members still in
+     * the Hazelcast cluster are kept even if the pod is no longer listed, since the listing may lag behind.
+     *
+     * @param coalescedEvents number of membership events handled by this reconcile
+     */
+    void reconcile(int coalescedEvents) {
+        // read before resolving, so that a change during the resolution is picked up by the next refresh
+        String podsVersion = podIpResolver.getPodsVersion();
+        Collection<PodAddress> podAddresses = resolve();
+        if (podAddresses == null) {
+            return;
+        }
+        reconciles.incrementAndGet();
+        apply(podAddresses, podsVersion, coalescedEvents + " membership events");
+    }
+
+    /**
+     * @return resolved pod addresses, or null if they could not be resolved
+     */
+    private Collection<PodAddress> resolve() {
+        Collection<PodAddress> podAddresses;
+        try {
+            podAddresses = podIpResolver.resolvePodAddresses();
+        } catch (KubernetesMembershipSchemeException | RuntimeException e) {
+            failedReconciles.incrementAndGet();
+            log.error("Could not reconcile cluster members", e);
+            return null;
+        }
+        if (podAddresses == null) {
+            return Collections.emptyList();
+        }
+        return podAddresses;
+    }
+
+    /**
+     * @param resolvedAddresses resolved pod addresses
+     * @param podsVersion       version of the pods reported by the resolver before resolving them, or null
+     * @param trigger           cause of the resolution, for logging
+     */
+    private void apply(Collection<PodAddress> resolvedAddresses, String podsVersion, String trigger) {
+        Set<String> podAddresses = PodAddress.getIps(resolvedAddresses);
+        Set<String> addedAddresses = new HashSet<>(podAddresses);
+        addedAddresses.removeAll(localAddresses);
+        addedAddresses.removeAll(memberRegistry.getMembers());
+
+        Set<String> removedAddresses = new HashSet<>();
+        if (PartialPodAddresses.isPartial(resolvedAddresses)) {
+            log.warn(String.format("Only adding members after %s, services not resolved: %s", trigger,
+                    ((PartialPodAddresses) resolvedAddresses).getFailedServices()));
+            // the next complete resolution is applied in full
+            lastPodAddresses = null;
+            lastPodsVersion = null;
+        } else {
+            removedAddresses.addAll(memberRegistry.getMembers());
+            removedAddresses.removeAll(podAddresses);
+            removedAddresses.removeAll(getClusterMemberAddresses());
+            lastPodAddresses = podAddresses;
+            lastPodsVersion = podsVersion;
+        }
+
+        memberRegistry.update(addedAddresses, removedAddresses);
+        lastAppliedVersion = memberRegistry.getVersion();
+        if (!addedAddresses.isEmpty() || !removedAddresses.isEmpty()) {
+            log.info(String.format("Reconciled cluster members after %s: [added] %s [removed] %s", trigger,
+                    addedAddresses, removedAddresses));
+        } else if (log.isDebugEnabled()) {
+            log.debug(String.format("Cluster members up to date after %s", trigger));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Current member list: %s", memberRegistry.getMembers()));
+        }
+    }
+
+    /**
+     * @return addresses of the current members of the Hazelcast cluster
+     */
+    protected Set<String> getClusterMemberAddresses() {
+        return Collections.emptySet();
+    }
+
+    public long getEventsReceived() {
+        return eventsReceived.get();
+    }
+
+    public long getReconciles() {
+        return reconciles.get();
+    }
+
+    public long getFailedReconciles() {
+        return failedReconciles.get();
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    public long getUnchangedRefreshes() {
+        return unchangedRefreshes.get();
+    }
+
+    public int getLastCoalescedEvents() {
+        return lastCoalescedEvents;
+    }
+
+    public int getMaxCoalescedEvents() {
+        return maxCoalescedEvents;
+    }
+}
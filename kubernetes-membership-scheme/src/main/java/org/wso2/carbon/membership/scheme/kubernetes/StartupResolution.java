@@ -0,0 +1,134 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.AddressResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the pod addresses in the background while the member starts. The startup waits for the addresses only
+ * up to a budget. Addresses resolved after the budget are handed to a listener instead, and a failed resolution is
+ * retried with a growing, jittered delay until it succeeds.
+ */
+public class StartupResolution implements Runnable {
+
+    private static final Log log = LogFactory.getLog(StartupResolution.class);
+    private static final long MAX_RETRY_DELAY_MILLIS = 30000;
+
+    private final AddressResolver addressResolver;
+    private final Backoff retryBackoff;
+    private final CountDownLatch resolved = new CountDownLatch(1);
+    private final long startTime = System.nanoTime();
+    private volatile Collection<PodAddress> podAddresses;
+    private volatile long resolveTimeMillis = -1;
+    private volatile int attempts;
+    private Listener lateListener;
+    private boolean timedOut;
+
+    /**
+     * Receives the addresses resolved after the startup stopped waiting for them
+     */
+    public interface Listener {
+
+        void resolved(Collection<PodAddress> podAddresses);
+    }
+
+    public StartupResolution(AddressResolver addressResolver, long retryDelayMillis) {
+        this.addressResolver = addressResolver;
+        this.retryBackoff = new Backoff(retryDelayMillis, MAX_RETRY_DELAY_MILLIS);
+    }
+
+    /**
+     * Starts resolving on a daemon thread
+     */
+    public void start() {
+        new NamedThreadFactory("kubernetes-startup-resolution").newThread(this).start();
+    }
+
+    @Override
+    public void run() {
+        Collection<PodAddress> result = null;
+        while (result == null) {
+            attempts++;
+            try {
+                result = addressResolver.resolvePodAddresses();
+            } catch (Exception e) {
+                long delay = retryBackoff.getDelay(attempts - 1);
+                log.warn("Could not resolve the pods at startup, retrying in " + delay + " ms", e);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        podAddresses = result;
+        resolveTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        resolved.countDown();
+
+        Listener listener;
+        synchronized (this) {
+            listener = timedOut ? lateListener : null;
+        }
+        if (listener != null) {
+            listener.resolved(result);
+        }
+    }
+
+    /**
+     * Waits for the addresses up to the given budget
+     *
+     * @param budgetMillis maximum time to wait
+     * @param lateListener receives the addresses if they are resolved after the budget
+     * @return resolved addresses, or null if they were not resolved within the budget
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Collection<PodAddress> await(long budgetMillis, Listener lateListener) throws InterruptedException {
+        if (resolved.await(budgetMillis, TimeUnit.MILLISECONDS)) {
+            return podAddresses;
+        }
+        synchronized (this) {
+            // the addresses may have been resolved after the wait
+            if (resolved.getCount() == 0) {
+                return podAddresses;
+            }
+            timedOut = true;
+            this.lateListener = lateListener;
+        }
+        return null;
+    }
+
+    /**
+     * @return milliseconds from the start to the resolved addresses, or -1 if not resolved yet
+     */
+    public long getResolveTimeMillis() {
+        return resolveTimeMillis;
+    }
+
+    /**
+     * @return number of resolution attempts so far
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -18,12 +18,16 @@ package org.wso2.carbon.membership.scheme.kubernetes.api;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 public abstract class KubernetesApiEndpoint {
 
@@ -31,6 +35,11 @@ public abstract class KubernetesApiEndpoint {
 
     URL url;
     HttpURLConnection connection;
+    private InputStream responseStream;
+    private boolean requestSent;
+    private final Map<String, String> requestProperties = new LinkedHashMap<>();
+    private int connectTimeoutMillis;
+    private int readTimeoutMillis;
 
     KubernetesApiEndpoint(URL url) {
         this.url = url;
@@ -41,18 +50,123 @@ public abstract class KubernetesApiEndpoint {
     public abstract void createConnection(String username, String password) throws IOException;
 
 
+    /**
+     * @return body of the response, decompressed if the API server compressed it with gzip
+     */
     public InputStream read() throws IOException {
-        return connection.getInputStream();
+        requestSent = true;
+        responseStream = connection.getInputStream();
+        if (Constants.CONTENT_ENCODING_GZIP.equalsIgnoreCase(connection.getContentEncoding())) {
+            responseStream = new GZIPInputStream(responseStream);
+        }
+        return responseStream;
     }
 
-    public abstract void disconnect();
+    /**
+     * Releases the connection once the response is handled. The response body is closed rather than the socket, so
+     * that the connection returns to the keep-alive cache of {@link HttpURLConnection} and the next request to the
+     * API server skips the TCP and TLS handshakes. The JDK reads what is left of a partly read body in the
+     * background before reusing the connection, and closes connections with large remainders. A connection whose
+     * request was never sent is dropped, as reading its response would send the request.
+     */
+    public void disconnect() {
+        if (connection == null) {
+            return;
+        }
+        if (!requestSent) {
+            connection.disconnect();
+            return;
+        }
+        log.debug("Releasing the connection to Kubernetes API server...");
+        try {
+            InputStream inputStream = responseStream;
+            if (inputStream == null) {
+                // the body of an unread response has to be consumed as well for the connection to be reused
+                inputStream = connection.getResponseCode() >= HttpURLConnection.HTTP_BAD_REQUEST ?
+                        connection.getErrorStream() : connection.getInputStream();
+            }
+            if (inputStream != null) {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Could not release the connection to Kubernetes API server, closing it", e);
+            }
+            connection.disconnect();
+        } finally {
+            responseStream = null;
+        }
+        log.debug("Released the connection successfully");
+    }
+
+    /**
+     * Closes the connection without reusing it, for long running responses such as watches which are not read to
+     * the end.
+     */
+    public void abort() {
+        if (connection == null) {
+            return;
+        }
+        log.debug("Disconnecting from Kubernetes API server...");
+        connection.disconnect();
+        responseStream = null;
+        log.debug("Disconnected successfully");
+    }
+
+    public int getResponseCode() throws IOException {
+        requestSent = true;
+        return connection.getResponseCode();
+    }
+
+    /**
+     * Sets the connect and read timeouts of the connections created afterwards, 0 for no timeout
+     */
+    public void setTimeouts(int connectTimeoutMillis, int readTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * Sets a request header of the current connection and of the connections created afterwards
+     */
+    public void setRequestProperty(String key, String value) {
+        requestProperties.put(key, value);
+        if (connection != null) {
+            connection.setRequestProperty(key, value);
+        }
+    }
+
+    public String getHeaderField(String name) {
+        requestSent = true;
+        return connection.getHeaderField(name);
+    }
+
+    /**
+     * @return media type of the response, or null if unknown
+     */
+    public String getContentType() {
+        requestSent = true;
+        return connection.getContentType();
+    }
 
     public void createConnection(String token) throws IOException {
         String tokenAuth = "Bearer " + token;
-        connection = (HttpURLConnection) url.openConnection();
+        connection = openConnection();
         connection.setRequestProperty("Authorization", tokenAuth);
     }
 
+    HttpURLConnection openConnection() throws IOException {
+        HttpURLConnection httpConnection = (HttpURLConnection) url.openConnection();
+        requestSent = false;
+        responseStream = null;
+        httpConnection.setConnectTimeout(connectTimeoutMillis);
+        httpConnection.setReadTimeout(readTimeoutMillis);
+        for (Map.Entry<String, String> requestProperty : requestProperties.entrySet()) {
+            httpConnection.setRequestProperty(requestProperty.getKey(), requestProperty.getValue());
+        }
+        return httpConnection;
+    }
+
     void createBasicAuthenticationHeader(String username, String password) {
         log.debug("Generating basic auth header...");
         String userpass = username + ":" + password;
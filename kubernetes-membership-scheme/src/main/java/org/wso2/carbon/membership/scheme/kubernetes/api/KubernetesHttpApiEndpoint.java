@@ -20,7 +20,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.URL;
 
 public class KubernetesHttpApiEndpoint extends KubernetesApiEndpoint {
@@ -34,22 +33,15 @@ public class KubernetesHttpApiEndpoint extends KubernetesApiEndpoint {
     @Override
     public void createConnection() throws IOException {
         log.debug("Connecting to Kubernetes API server...");
-        connection = (HttpURLConnection) url.openConnection();
+        connection = openConnection();
         log.debug("Connected successfully");
     }
 
     @Override
     public void createConnection(String username, String password) throws IOException {
         log.debug("Connecting to Kubernetes API server with basic auth...");
-        connection = (HttpURLConnection) url.openConnection();
+        connection = openConnection();
         createBasicAuthenticationHeader(username, password);
         log.debug("Connected successfully");
     }
-
-    @Override
-    public void disconnect() {
-        log.debug("Disconnecting from Kubernetes API server...");
-        connection.disconnect();
-        log.debug("Disconnected successfully");
-    }
 }
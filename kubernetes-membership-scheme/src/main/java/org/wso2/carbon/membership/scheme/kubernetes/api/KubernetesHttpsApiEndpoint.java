@@ -19,94 +19,62 @@ package org.wso2.carbon.membership.scheme.kubernetes.api;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.membership.scheme.kubernetes.Constants;
-import org.wso2.carbon.utils.xml.StringUtils;
 
-import javax.net.ssl.*;
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.security.cert.X509Certificate;
 
 public class KubernetesHttpsApiEndpoint extends KubernetesApiEndpoint {
 
     private static final Log log = LogFactory.getLog(KubernetesHttpsApiEndpoint.class);
 
-    public KubernetesHttpsApiEndpoint(URL url, boolean skipMasterSSLVerification) {
+    private final SSLSocketFactory sslSocketFactory;
+    private final HostnameVerifier hostnameVerifier;
+    private final ServiceAccountTokenProvider tokenProvider;
+
+    /**
+     * @param url              API endpoint URL
+     * @param sslSocketFactory socket factory of the resolver's SSL context, or null to use the JVM default
+     * @param hostnameVerifier host name verifier, or null to use the JVM default
+     * @param tokenProvider    provider of the service account token
+     */
+    public KubernetesHttpsApiEndpoint(URL url, SSLSocketFactory sslSocketFactory, HostnameVerifier hostnameVerifier,
+            ServiceAccountTokenProvider tokenProvider) {
         super(url);
-        if (skipMasterSSLVerification) {
-            disableCertificateValidation();
+        this.sslSocketFactory = sslSocketFactory;
+        this.hostnameVerifier = hostnameVerifier;
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Override
+    HttpURLConnection openConnection() throws IOException {
+        HttpsURLConnection httpsConnection = (HttpsURLConnection) super.openConnection();
+        // reusing the same factory keeps the TLS session cache and the pooled connections of this scheme
+        if (sslSocketFactory != null) {
+            httpsConnection.setSSLSocketFactory(sslSocketFactory);
         }
+        if (hostnameVerifier != null) {
+            httpsConnection.setHostnameVerifier(hostnameVerifier);
+        }
+        return httpsConnection;
     }
 
     @Override
     public void createConnection() throws IOException {
         log.debug("Connecting to Kubernetes API server...");
-        connection = (HttpsURLConnection) url.openConnection();
-        connection.addRequestProperty(Constants.AUTHORIZATION_HEADER, "Bearer " + getServiceAccountToken());
+        connection = openConnection();
+        connection.addRequestProperty(Constants.AUTHORIZATION_HEADER, "Bearer " + tokenProvider.getToken());
         log.debug("Connected successfully");
     }
 
     @Override
     public void createConnection(String username, String password) throws IOException {
         log.debug("Connecting to Kubernetes API server with basic auth...");
-        connection = (HttpsURLConnection) url.openConnection();
+        connection = openConnection();
         createBasicAuthenticationHeader(username, password);
         log.debug("Connected successfully");
     }
-
-
-    @Override
-    public void disconnect() {
-        log.debug("Disconnecting from Kubernetes API server...");
-        connection.disconnect();
-        log.debug("Disconnected successfully");
-    }
-
-    private static void disableCertificateValidation() {
-
-        TrustManager[] dummyTrustMgr = new TrustManager[]{
-                new X509TrustManager() {
-                    public X509Certificate[] getAcceptedIssuers() {
-                        return new X509Certificate[0];
-                    }
-
-                    public void checkClientTrusted(X509Certificate[] certs, String authType) {
-                        // do nothing
-                    }
-
-                    public void checkServerTrusted(X509Certificate[] certs, String authType) {
-                        // do nothing
-                    }
-                }};
-
-        // Ignore differences between given hostname and certificate hostname
-        HostnameVerifier dummyHostVerifier = new HostnameVerifier() {
-            public boolean verify(String hostname, SSLSession session) {
-                // always true
-                return true;
-            }
-        };
-
-        // Install the all-trusting trust manager
-        try {
-            SSLContext sc = SSLContext.getInstance("SSL");
-            sc.init(null, dummyTrustMgr, new SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
-            HttpsURLConnection.setDefaultHostnameVerifier(dummyHostVerifier);
-        } catch (NoSuchAlgorithmException | KeyManagementException ignored) {
-        }
-    }
-
-    private String getServiceAccountToken() throws IOException {
-        String bearerTokenFileLocation = System.getenv("BEARER_TOKEN_FILE_LOCATION");
-        if (StringUtils.isEmpty(bearerTokenFileLocation)) {
-            bearerTokenFileLocation = Constants.BEARER_TOKEN_FILE_LOCATION;
-        }
-        return new String(Files.readAllBytes(Paths.get(bearerTokenFileLocation)), StandardCharsets.UTF_8);
-    }
 }
@@ -0,0 +1,192 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.api;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the {@link SSLContext} of the connections to the Kubernetes API server. The context is meant to be created
+ * once and applied to this scheme's connections only, leaving the JVM wide HTTPS defaults untouched.
+ */
+public final class KubernetesTrustManagers {
+
+    private static final Log log = LogFactory.getLog(KubernetesTrustManagers.class);
+
+    /**
+     * Accepts any host name, for the insecure mode only
+     */
+    public static final HostnameVerifier INSECURE_HOSTNAME_VERIFIER = new HostnameVerifier() {
+        @Override
+        public boolean verify(String hostname, SSLSession session) {
+            return true;
+        }
+    };
+
+    private KubernetesTrustManagers() {
+    }
+
+    /**
+     * Creates a context trusting the certificates of the given trust store, or else of the given CA certificate
+     * file, in addition to the default trust store of the JVM.
+     *
+     * @param trustStorePath     trust store path, may be empty
+     * @param trustStorePassword trust store password, may be empty
+     * @param trustStoreType     trust store type
+     * @param caCertPath         PEM encoded CA certificate(s), used if no trust store is given and the file exists
+     * @return SSL context, or null if neither a trust store nor a CA certificate is available
+     * @throws GeneralSecurityException if the certificates could not be loaded
+     * @throws IOException              if the files could not be read
+     */
+    public static SSLContext createSSLContext(String trustStorePath, String trustStorePassword, String trustStoreType,
+            String caCertPath) throws GeneralSecurityException, IOException {
+        KeyStore trustStore;
+        if (trustStorePath != null && !trustStorePath.isEmpty()) {
+            trustStore = KeyStore.getInstance(trustStoreType);
+            try (InputStream inputStream = Files.newInputStream(Paths.get(trustStorePath))) {
+                trustStore.load(inputStream, trustStorePassword == null ? null : trustStorePassword.toCharArray());
+            }
+            log.info("Trusting the Kubernetes API server certificates of trust store: " + trustStorePath);
+        } else if (caCertPath != null && Files.isReadable(Paths.get(caCertPath))) {
+            trustStore = loadCertificates(Paths.get(caCertPath));
+            log.info("Trusting the Kubernetes API server certificates signed by: " + caCertPath);
+        } else {
+            return null;
+        }
+
+        X509TrustManager trustManager = new CompositeTrustManager(getTrustManager(trustStore),
+                getTrustManager(null));
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[]{trustManager}, null);
+        return sslContext;
+    }
+
+    /**
+     * Creates a context accepting any server certificate, for the explicitly configured insecure mode
+     *
+     * @return SSL context
+     * @throws GeneralSecurityException if the context could not be created
+     */
+    public static SSLContext createInsecureSSLContext() throws GeneralSecurityException {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[]{new X509TrustManager() {
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+
+            @Override
+            public void checkClientTrusted(X509Certificate[] certs, String authType) {
+                // do nothing
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] certs, String authType) {
+                // do nothing
+            }
+        }}, null);
+        return sslContext;
+    }
+
+    private static KeyStore loadCertificates(Path caCertPath) throws GeneralSecurityException, IOException {
+        KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        trustStore.load(null, null);
+        CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+        try (InputStream inputStream = Files.newInputStream(caCertPath)) {
+            int index = 0;
+            for (Certificate certificate : certificateFactory.generateCertificates(inputStream)) {
+                trustStore.setCertificateEntry("kubernetes-ca-" + index++, certificate);
+            }
+            if (index == 0) {
+                throw new CertificateException("No certificates found in " + caCertPath);
+            }
+        }
+        return trustStore;
+    }
+
+    private static X509TrustManager getTrustManager(KeyStore trustStore) throws GeneralSecurityException {
+        TrustManagerFactory trustManagerFactory =
+                TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(trustStore);
+        for (TrustManager trustManager : trustManagerFactory.getTrustManagers()) {
+            if (trustManager instanceof X509TrustManager) {
+                return (X509TrustManager) trustManager;
+            }
+        }
+        throw new GeneralSecurityException("No X509 trust manager available");
+    }
+
+    /**
+     * Trusts a server if any of the trust managers does
+     */
+    private static class CompositeTrustManager implements X509TrustManager {
+
+        private final X509TrustManager[] trustManagers;
+
+        CompositeTrustManager(X509TrustManager... trustManagers) {
+            this.trustManagers = trustManagers;
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            trustManagers[0].checkClientTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            CertificateException lastError = null;
+            for (X509TrustManager trustManager : trustManagers) {
+                try {
+                    trustManager.checkServerTrusted(chain, authType);
+                    return;
+                } catch (CertificateException e) {
+                    lastError = e;
+                }
+            }
+            throw lastError;
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            List<X509Certificate> acceptedIssuers = new ArrayList<>();
+            for (X509TrustManager trustManager : trustManagers) {
+                acceptedIssuers.addAll(Arrays.asList(trustManager.getAcceptedIssuers()));
+            }
+            return acceptedIssuers.toArray(new X509Certificate[acceptedIssuers.size()]);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the service account token in memory. The token file is checked for changes at most once per check interval,
+ * and is read again only if it was modified, if the token is about to expire, or after {@link #invalidate()}. This
+ * follows the rotation of projected service account tokens without reading the file on every connection.
+ */
+public class ServiceAccountTokenProvider {
+
+    private static final Log log = LogFactory.getLog(ServiceAccountTokenProvider.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long CHECK_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long EXPIRY_MARGIN_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private final Path tokenPath;
+    private final long checkIntervalMillis;
+    private String token;
+    private long lastModified;
+    private long lastChecked;
+    // expiry of the token in milliseconds since the epoch, or 0 if the token does not expire
+    private long expiresAt;
+
+    public ServiceAccountTokenProvider(Path tokenPath) {
+        this(tokenPath, CHECK_INTERVAL_MILLIS);
+    }
+
+    public ServiceAccountTokenProvider(Path tokenPath, long checkIntervalMillis) {
+        this.tokenPath = tokenPath;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    /**
+     * @return current service account token
+     * @throws IOException if the token file could not be read
+     */
+    public synchronized String getToken() throws IOException {
+        long now = System.currentTimeMillis();
+        if (token == null || (expiresAt > 0 && now >= expiresAt - EXPIRY_MARGIN_MILLIS)) {
+            load();
+        } else if (now - lastChecked >= checkIntervalMillis) {
+            lastChecked = now;
+            if (Files.getLastModifiedTime(tokenPath).toMillis() != lastModified) {
+                load();
+            }
+        }
+        return token;
+    }
+
+    /**
+     * Discards the cached token, for example after the API server rejected it, so that the next call reads the file
+     */
+    public synchronized void invalidate() {
+        token = null;
+    }
+
+    /**
+     * @return expiry of the current token in milliseconds since the epoch, or 0 if unknown
+     */
+    public synchronized long getExpiresAt() {
+        return expiresAt;
+    }
+
+    private void load() throws IOException {
+        long modified = Files.getLastModifiedTime(tokenPath).toMillis();
+        String newToken = new String(Files.readAllBytes(tokenPath), StandardCharsets.UTF_8).trim();
+        if (log.isDebugEnabled() && token != null && !token.equals(newToken)) {
+            log.debug("Service account token reloaded from: " + tokenPath);
+        }
+        token = newToken;
+        lastModified = modified;
+        lastChecked = System.currentTimeMillis();
+        expiresAt = getExpiry(newToken);
+        if (expiresAt > 0 && expiresAt - EXPIRY_MARGIN_MILLIS <= lastChecked) {
+            // the file has not been rotated yet, check again on the next call instead of reading it every time
+            expiresAt = 0;
+            lastChecked = 0;
+        }
+    }
+
+    /**
+     * Reads the exp claim of a JWT
+     *
+     * @return expiry in milliseconds since the epoch, or 0 if the token is not a JWT with an exp claim
+     */
+    static long getExpiry(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return 0;
+        }
+        try {
+            String payload = parts[1].replace('-', '+').replace('_', '/');
+            while (payload.length() % 4 != 0) {
+                payload += "=";
+            }
+            JsonNode claims = MAPPER.readTree(javax.xml.bind.DatatypeConverter.parseBase64Binary(payload));
+            JsonNode exp = claims.get("exp");
+            return exp != null && exp.canConvertToLong() ? TimeUnit.SECONDS.toMillis(exp.asLong()) : 0;
+        } catch (IOException | RuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Could not read the expiry of the service account token", e);
+            }
+            return 0;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 public class Address {
 
     private String ip;
+    private String nodeName;
 
     public String getIp() {
         return ip;
@@ -33,4 +34,12 @@ public class Address {
     public void setIp(String ip) {
         this.ip = ip;
     }
+
+    public String getNodeName() {
+        return nodeName;
+    }
+
+    public void setNodeName(String nodeName) {
+        this.nodeName = nodeName;
+    }
 }
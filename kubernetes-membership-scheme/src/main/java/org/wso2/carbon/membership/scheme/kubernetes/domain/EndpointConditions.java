@@ -0,0 +1,67 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Kubernetes endpoint slice endpoint conditions. A missing condition is unknown, and the API treats an unknown
+ * ready or serving condition as true.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EndpointConditions {
+
+    private Boolean ready;
+    private Boolean serving;
+    private Boolean terminating;
+
+    public Boolean getReady() {
+        return ready;
+    }
+
+    public void setReady(Boolean ready) {
+        this.ready = ready;
+    }
+
+    public Boolean getServing() {
+        return serving;
+    }
+
+    public void setServing(Boolean serving) {
+        this.serving = serving;
+    }
+
+    public Boolean getTerminating() {
+        return terminating;
+    }
+
+    public void setTerminating(Boolean terminating) {
+        this.terminating = terminating;
+    }
+
+    public boolean isReady() {
+        return ready == null || ready;
+    }
+
+    public boolean isServing() {
+        return serving == null ? isReady() : serving;
+    }
+
+    public boolean isTerminating() {
+        return terminating != null && terminating;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Kubernetes discovery.k8s.io/v1 endpoint slice.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EndpointSlice {
+
+    public static final String ADDRESS_TYPE_IPV4 = "IPv4";
+    public static final String ADDRESS_TYPE_IPV6 = "IPv6";
+
+    private Metadata metadata;
+    private String addressType;
+    private List<SliceEndpoint> endpoints;
+
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(Metadata metadata) {
+        this.metadata = metadata;
+    }
+
+    public String getAddressType() {
+        return addressType;
+    }
+
+    public void setAddressType(String addressType) {
+        this.addressType = addressType;
+    }
+
+    public List<SliceEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<SliceEndpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
@@ -26,8 +26,17 @@ import java.util.List;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Endpoints {
 
+    private Metadata metadata;
     private List<Subset> subsets;
 
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(Metadata metadata) {
+        this.metadata = metadata;
+    }
+
     public List<Subset> getSubsets() {
         return subsets;
     }
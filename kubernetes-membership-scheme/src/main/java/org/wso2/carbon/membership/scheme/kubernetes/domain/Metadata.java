@@ -0,0 +1,71 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Kubernetes object/list metadata.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Metadata {
+
+    private String name;
+    private String resourceVersion;
+    private String deletionTimestamp;
+    @JsonProperty("continue")
+    private String continueToken;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getResourceVersion() {
+        return resourceVersion;
+    }
+
+    public void setResourceVersion(String resourceVersion) {
+        this.resourceVersion = resourceVersion;
+    }
+
+    /**
+     * @return time at which the object is deleted, or null if the object is not being deleted
+     */
+    public String getDeletionTimestamp() {
+        return deletionTimestamp;
+    }
+
+    public void setDeletionTimestamp(String deletionTimestamp) {
+        this.deletionTimestamp = deletionTimestamp;
+    }
+
+    /**
+     * @return token of the next page of a paginated list, or null on the last page
+     */
+    public String getContinueToken() {
+        return continueToken;
+    }
+
+    public void setContinueToken(String continueToken) {
+        this.continueToken = continueToken;
+    }
+}
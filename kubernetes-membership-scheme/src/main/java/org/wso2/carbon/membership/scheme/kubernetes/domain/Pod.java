@@ -0,0 +1,54 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Kubernetes pod.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Pod {
+
+    private Metadata metadata;
+    private PodSpec spec;
+    private PodStatus status;
+
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(Metadata metadata) {
+        this.metadata = metadata;
+    }
+
+    public PodSpec getSpec() {
+        return spec;
+    }
+
+    public void setSpec(PodSpec spec) {
+        this.spec = spec;
+    }
+
+    public PodStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PodStatus status) {
+        this.status = status;
+    }
+}
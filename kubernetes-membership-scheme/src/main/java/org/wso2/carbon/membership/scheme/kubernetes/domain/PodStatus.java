@@ -0,0 +1,73 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Kubernetes pod status.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PodStatus {
+
+    public static final String PHASE_SUCCEEDED = "Succeeded";
+    public static final String PHASE_FAILED = "Failed";
+
+    private String phase;
+    private String podIP;
+    private List<PodCondition> conditions;
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public String getPodIP() {
+        return podIP;
+    }
+
+    public void setPodIP(String podIP) {
+        this.podIP = podIP;
+    }
+
+    public List<PodCondition> getConditions() {
+        return conditions;
+    }
+
+    public void setConditions(List<PodCondition> conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * @return true if the Ready condition of the pod is true
+     */
+    public boolean isReady() {
+        if (conditions != null) {
+            for (PodCondition condition : conditions) {
+                if (PodCondition.TYPE_READY.equals(condition.getType())) {
+                    return PodCondition.STATUS_TRUE.equals(condition.getStatus());
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Kubernetes watch event. The object is kept as a tree since ERROR events carry a Status instead of the
+ * watched resource.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WatchEvent {
+
+    public static final String ADDED = "ADDED";
+    public static final String MODIFIED = "MODIFIED";
+    public static final String DELETED = "DELETED";
+    public static final String BOOKMARK = "BOOKMARK";
+    public static final String ERROR = "ERROR";
+
+    private String type;
+    private JsonNode object;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public JsonNode getObject() {
+        return object;
+    }
+
+    public void setObject(JsonNode object) {
+        this.object = object;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.metrics;
+
+import java.beans.ConstructorProperties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations in milliseconds with fixed buckets. Recording is lock free, so that it can be done on the
+ * Hazelcast event threads; a snapshot read concurrently with recording may be off by the values being recorded.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Upper bounds of the buckets in milliseconds, the last bucket holds the longer durations
+     */
+    private static final long[] BUCKET_BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000,
+            60000};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration
+     *
+     * @param millis duration in milliseconds
+     */
+    public void record(long millis) {
+        if (millis < 0) {
+            millis = 0;
+        }
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && millis > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        sum.addAndGet(millis);
+        long currentMax = max.get();
+        while (millis > currentMax && !max.compareAndSet(currentMax, millis)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * @return count, mean, maximum and percentiles of the recorded durations. The percentiles are the upper bounds
+     * of the buckets they fall in, capped at the maximum.
+     */
+    public Snapshot getSnapshot() {
+        long[] counts = new long[buckets.length()];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        long maxMillis = max.get();
+        double meanMillis = count == 0 ? 0 : (double) sum.get() / count;
+        return new Snapshot(count, meanMillis, maxMillis, percentile(counts, count, maxMillis, 0.5),
+                percentile(counts, count, maxMillis, 0.9), percentile(counts, count, maxMillis, 0.99));
+    }
+
+    private static long percentile(long[] counts, long count, long maxMillis, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(BUCKET_BOUNDS[i], maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+
+    /**
+     * Point in time view of a histogram
+     */
+    public static class Snapshot {
+
+        private final long count;
+        private final double meanMillis;
+        private final long maxMillis;
+        private final long p50Millis;
+        private final long p90Millis;
+        private final long p99Millis;
+
+        @ConstructorProperties({"count", "meanMillis", "maxMillis", "p50Millis", "p90Millis", "p99Millis"})
+        public Snapshot(long count, double meanMillis, long maxMillis, long p50Millis, long p90Millis,
+                long p99Millis) {
+            this.count = count;
+            this.meanMillis = meanMillis;
+            this.maxMillis = maxMillis;
+            this.p50Millis = p50Millis;
+            this.p90Millis = p90Millis;
+            this.p99Millis = p99Millis;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public long getP50Millis() {
+            return p50Millis;
+        }
+
+        public long getP90Millis() {
+            return p90Millis;
+        }
+
+        public long getP99Millis() {
+            return p99Millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[count] %d [mean] %.1f ms [p50] %d ms [p90] %d ms [p99] %d ms [max] %d ms", count,
+                    meanMillis, p50Millis, p90Millis, p99Millis, maxMillis);
+        }
+    }
+}
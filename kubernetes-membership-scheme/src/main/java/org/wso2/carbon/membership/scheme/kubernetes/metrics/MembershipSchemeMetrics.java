@@ -0,0 +1,281 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.metrics;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the Kubernetes membership scheme, recorded by the resolvers and the membership listener and exposed as
+ * an MXBean. Recording only touches atomic counters, histograms and concurrent maps, so that it adds no contention
+ * to the Hazelcast event threads.
+ *
+ * The member counts which are read from elsewhere are -1 here, and provided by overriding their getters.
+ */
+public class MembershipSchemeMetrics implements MembershipSchemeMetricsMXBean {
+
+    private static final Log log = LogFactory.getLog(MembershipSchemeMetrics.class);
+    private static final String OBJECT_NAME =
+            "org.wso2.carbon.membership.scheme.kubernetes:type=MembershipSchemeMetrics,name=%s";
+
+    private final ConcurrentMap<String, LatencyHistogram> resolverLatency = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> serviceLatency = new ConcurrentHashMap<>();
+    private final AtomicLong apiErrors = new AtomicLong();
+    private final AtomicLong dnsErrors = new AtomicLong();
+    private final AtomicLong circuitOpenings = new AtomicLong();
+    private final AtomicLong lastKnownGoodResolutions = new AtomicLong();
+    private final LatencyHistogram replayDuration = new LatencyHistogram();
+    private final LatencyHistogram readyToJoinTime = new LatencyHistogram();
+    // pods resolved as ready which have not joined yet, with the time they were first resolved as ready
+    private final ConcurrentMap<String, Long> readySince = new ConcurrentHashMap<>();
+    private final Set<String> joinedMembers = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private volatile int discoveredMembers;
+    private volatile boolean joined;
+    private ObjectName objectName;
+
+    /**
+     * Records the latency of resolving all pods
+     *
+     * @param resolver  name of the resolver
+     * @param startTime {@link System#nanoTime()} when the resolution started
+     */
+    public void resolveCompleted(String resolver, long startTime) {
+        getHistogram(resolverLatency, resolver).record(elapsedMillis(startTime));
+    }
+
+    /**
+     * Records the latency of resolving the pods of a single service
+     *
+     * @param kubernetesService name of the service
+     * @param startTime         {@link System#nanoTime()} when the resolution started
+     */
+    public void serviceResolved(String kubernetesService, long startTime) {
+        getHistogram(serviceLatency, kubernetesService).record(elapsedMillis(startTime));
+    }
+
+    public void apiErrorRecorded() {
+        apiErrors.incrementAndGet();
+    }
+
+    public void dnsErrorRecorded() {
+        dnsErrors.incrementAndGet();
+    }
+
+    public void circuitOpened() {
+        circuitOpenings.incrementAndGet();
+    }
+
+    public void lastKnownGoodServed() {
+        lastKnownGoodResolutions.incrementAndGet();
+    }
+
+    /**
+     * Records the pods found by a resolution. Once the local member has joined, the pods found ready which have not
+     * joined yet are timed until they join.
+     *
+     * @param podAddresses resolved pod addresses
+     */
+    public void podsResolved(Collection<PodAddress> podAddresses) {
+        if (podAddresses == null) {
+            return;
+        }
+        discoveredMembers = podAddresses.size();
+        if (!joined) {
+            return;
+        }
+        long now = System.nanoTime();
+        Set<String> readyAddresses = new HashSet<>();
+        for (PodAddress podAddress : podAddresses) {
+            if (podAddress.isReady()) {
+                readyAddresses.add(podAddress.getIp());
+                if (!joinedMembers.contains(podAddress.getIp())) {
+                    readySince.putIfAbsent(podAddress.getIp(), now);
+                    // the pod may have joined meanwhile
+                    if (joinedMembers.contains(podAddress.getIp())) {
+                        readySince.remove(podAddress.getIp());
+                    }
+                }
+            }
+        }
+        // pods which are gone or no longer ready are not timed
+        readySince.keySet().retainAll(readyAddresses);
+    }
+
+    /**
+     * Records that the local member joined the cluster. The pods already in the cluster are not timed.
+     *
+     * @param memberAddresses addresses of the members of the cluster
+     */
+    public void localMemberJoined(Collection<String> memberAddresses) {
+        joinedMembers.addAll(memberAddresses);
+        joined = true;
+    }
+
+    /**
+     * Records a member joining the cluster, along with the time since it was resolved as ready
+     *
+     * @param address member address
+     */
+    public void memberJoined(String address) {
+        joinedMembers.add(address);
+        Long readyTime = readySince.remove(address);
+        if (readyTime != null) {
+            readyToJoinTime.record(elapsedMillis(readyTime));
+        }
+    }
+
+    public void memberLeft(String address) {
+        joinedMembers.remove(address);
+        readySince.remove(address);
+    }
+
+    /**
+     * Records the duration of a message replay
+     *
+     * @param startTime {@link System#nanoTime()} when the replay started
+     */
+    public void replayCompleted(long startTime) {
+        replayDuration.record(elapsedMillis(startTime));
+    }
+
+    @Override
+    public Map<String, LatencyHistogram.Snapshot> getResolverLatency() {
+        return getSnapshots(resolverLatency);
+    }
+
+    @Override
+    public Map<String, LatencyHistogram.Snapshot> getServiceLatency() {
+        return getSnapshots(serviceLatency);
+    }
+
+    @Override
+    public long getApiErrors() {
+        return apiErrors.get();
+    }
+
+    @Override
+    public long getDnsErrors() {
+        return dnsErrors.get();
+    }
+
+    @Override
+    public long getCircuitOpenings() {
+        return circuitOpenings.get();
+    }
+
+    @Override
+    public long getLastKnownGoodResolutions() {
+        return lastKnownGoodResolutions.get();
+    }
+
+    @Override
+    public int getDiscoveredMembers() {
+        return discoveredMembers;
+    }
+
+    @Override
+    public int getRegisteredMembers() {
+        return -1;
+    }
+
+    @Override
+    public int getHazelcastMembers() {
+        return -1;
+    }
+
+    @Override
+    public int getReplayQueueDepth() {
+        return -1;
+    }
+
+    @Override
+    public LatencyHistogram.Snapshot getReplayDuration() {
+        return replayDuration.getSnapshot();
+    }
+
+    @Override
+    public LatencyHistogram.Snapshot getReadyToJoinTime() {
+        return readyToJoinTime.getSnapshot();
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, replacing metrics registered earlier with the same name.
+     * A failure is logged, since the metrics are not needed for clustering.
+     *
+     * @param name name of the metrics, such as the clustering domain
+     */
+    public synchronized void register(String name) {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName registeredName = new ObjectName(String.format(OBJECT_NAME, ObjectName.quote(name)));
+            if (mBeanServer.isRegistered(registeredName)) {
+                mBeanServer.unregisterMBean(registeredName);
+            }
+            mBeanServer.registerMBean(this, registeredName);
+            objectName = registeredName;
+            log.info("Kubernetes membership scheme metrics registered: " + objectName);
+        } catch (JMException e) {
+            log.warn("Could not register the Kubernetes membership scheme metrics", e);
+        }
+    }
+
+    /**
+     * @return name the metrics are registered with, or null if not registered
+     */
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+    private static LatencyHistogram getHistogram(ConcurrentMap<String, LatencyHistogram> histograms, String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            LatencyHistogram newHistogram = new LatencyHistogram();
+            histogram = histograms.putIfAbsent(name, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+        return histogram;
+    }
+
+    private static Map<String, LatencyHistogram.Snapshot> getSnapshots(Map<String, LatencyHistogram> histograms) {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> histogram : histograms.entrySet()) {
+            snapshots.put(histogram.getKey(), histogram.getValue().getSnapshot());
+        }
+        return snapshots;
+    }
+
+    private static long elapsedMillis(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+}
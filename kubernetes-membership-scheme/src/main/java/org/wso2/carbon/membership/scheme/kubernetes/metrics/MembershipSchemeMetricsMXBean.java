@@ -0,0 +1,84 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the Kubernetes membership scheme metrics
+ */
+public interface MembershipSchemeMetricsMXBean {
+
+    /**
+     * @return latency of resolving all pods, by resolver
+     */
+    Map<String, LatencyHistogram.Snapshot> getResolverLatency();
+
+    /**
+     * @return latency of resolving the pods of a single service, by service
+     */
+    Map<String, LatencyHistogram.Snapshot> getServiceLatency();
+
+    /**
+     * @return number of failed Kubernetes API requests
+     */
+    long getApiErrors();
+
+    /**
+     * @return number of failed DNS lookups
+     */
+    long getDnsErrors();
+
+    /**
+     * @return number of times the circuit breaker paused the pod resolutions
+     */
+    long getCircuitOpenings();
+
+    /**
+     * @return number of failed or paused pod resolutions answered with the pods of the last successful resolution
+     */
+    long getLastKnownGoodResolutions();
+
+    /**
+     * @return number of pods found by the last resolution
+     */
+    int getDiscoveredMembers();
+
+    /**
+     * @return number of addresses in the Hazelcast TCP/IP join configuration, or -1 if unknown
+     */
+    int getRegisteredMembers();
+
+    /**
+     * @return number of members of the Hazelcast cluster, or -1 if unknown
+     */
+    int getHazelcastMembers();
+
+    /**
+     * @return number of message replays scheduled and not yet run, or -1 if unknown
+     */
+    int getReplayQueueDepth();
+
+    /**
+     * @return duration of replaying the buffered cluster messages to a new member
+     */
+    LatencyHistogram.Snapshot getReplayDuration();
+
+    /**
+     * @return time from a pod being resolved as ready to it joining the Hazelcast cluster
+     */
+    LatencyHistogram.Snapshot getReadyToJoinTime();
+}
@@ -0,0 +1,127 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.replay;
+
+import org.apache.axis2.clustering.ClusteringCommand;
+import org.apache.axis2.clustering.ClusteringFault;
+import org.apache.axis2.clustering.ClusteringMessage;
+import org.apache.axis2.context.ConfigurationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Cluster message carrying a batch of serialized cluster messages, which are executed in order on the receiving
+ * member. The payload is a sequence of length prefixed serialized messages, optionally gzip compressed.
+ */
+public class ClusteringMessageBatch extends ClusteringMessage {
+
+    private static final long serialVersionUID = 4137915093467618126L;
+
+    private final byte[] payload;
+    private final boolean compressed;
+    private final int messageCount;
+
+    public ClusteringMessageBatch(byte[] payload, boolean compressed, int messageCount) {
+        this.payload = payload;
+        this.compressed = compressed;
+        this.messageCount = messageCount;
+    }
+
+    @Override
+    public void execute(ConfigurationContext configurationContext) throws ClusteringFault {
+        for (ClusteringMessage message : getMessages()) {
+            message.execute(configurationContext);
+        }
+    }
+
+    @Override
+    public ClusteringCommand getResponse() {
+        return null;
+    }
+
+    /**
+     * Reads the messages of this batch
+     *
+     * @return messages in the order they were buffered
+     * @throws ClusteringFault if the payload could not be read
+     */
+    public List<ClusteringMessage> getMessages() throws ClusteringFault {
+        List<ClusteringMessage> messages = new ArrayList<>(messageCount);
+        try {
+            InputStream inputStream = new ByteArrayInputStream(payload);
+            if (compressed) {
+                inputStream = new GZIPInputStream(inputStream);
+            }
+            DataInputStream dataInputStream = new DataInputStream(inputStream);
+            for (int i = 0; i < messageCount; i++) {
+                byte[] serializedMessage = new byte[dataInputStream.readInt()];
+                dataInputStream.readFully(serializedMessage);
+                try (ObjectInputStream objectInputStream = new MessageInputStream(serializedMessage)) {
+                    messages.add((ClusteringMessage) objectInputStream.readObject());
+                }
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new ClusteringFault("Could not read the cluster message batch", e);
+        }
+        return messages;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public int getSize() {
+        return payload.length;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Resolves the message classes with the class loader of this bundle, which imports packages dynamically, and
+     * falls back to the thread context class loader.
+     */
+    private static class MessageInputStream extends ObjectInputStream {
+
+        MessageInputStream(byte[] serializedMessage) throws IOException {
+            super(new ByteArrayInputStream(serializedMessage));
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass objectStreamClass)
+                throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(objectStreamClass.getName(), false, ClusteringMessageBatch.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+                if (contextClassLoader == null) {
+                    throw e;
+                }
+                return Class.forName(objectStreamClass.getName(), false, contextClassLoader);
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.replay;
+
+import com.hazelcast.core.Member;
+import org.apache.axis2.clustering.ClusteringMessage;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.core.clustering.hazelcast.HazelcastCarbonClusterImpl;
+import org.wso2.carbon.core.clustering.hazelcast.HazelcastUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Replays the buffered cluster messages to a new member in size bounded batches. A {@link SupersedableMessage} is
+ * dropped if a later message in the buffer has the same class and supersession key, since replaying the later one has
+ * the same effect. Other messages are all replayed.
+ *
+ * The counters are totals over the replays to all members, the figures of each replay are logged per member.
+ */
+public class MessageReplayer {
+
+    private static final Log log = LogFactory.getLog(MessageReplayer.class);
+
+    private final int batchSize;
+    private final boolean compression;
+    private final AtomicLong replays = new AtomicLong();
+    private final AtomicLong batchesSent = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong messagesDropped = new AtomicLong();
+    private final AtomicLong replayTimeMillis = new AtomicLong();
+
+    /**
+     * @param batchSize   maximum size of a batch in bytes, before compression
+     * @param compression whether the batches are gzip compressed
+     */
+    public MessageReplayer(int batchSize, boolean compression) {
+        this.batchSize = batchSize;
+        this.compression = compression;
+    }
+
+    /**
+     * Sends the buffered cluster messages to the given member
+     *
+     * @param messageBuffer buffered cluster messages
+     * @param member        new member
+     * @param carbonCluster carbon cluster
+     */
+    public void replay(List<ClusteringMessage> messageBuffer, Member member, HazelcastCarbonClusterImpl carbonCluster) {
+        long start = System.currentTimeMillis();
+        List<ClusteringMessage> messages = new ArrayList<>(messageBuffer);
+        ReplayPlan plan = createPlan(messages);
+        for (ClusteringMessage message : plan.getMessages()) {
+            HazelcastUtil.sendMessagesToMember(Collections.singletonList(message), member, carbonCluster);
+        }
+        long duration = System.currentTimeMillis() - start;
+
+        replays.incrementAndGet();
+        batchesSent.addAndGet(plan.getBatches());
+        bytesSent.addAndGet(plan.getBytes());
+        messagesDropped.addAndGet(plan.getDropped());
+        replayTimeMillis.addAndGet(duration);
+        log.info(String.format("Replayed cluster messages to member: [UUID] %s [messages] %d [dropped] %d " +
+                        "[batches] %d [bytes] %d [duration] %d ms", member.getUuid(), messages.size(),
+                plan.getDropped(), plan.getBatches(), plan.getBytes(), duration));
+    }
+
+    /**
+     * Drops superseded messages and packs the rest into batches, keeping the order of the buffer. Messages which
+     * cannot be serialized are sent as they are, between the batches.
+     *
+     * @param messages buffered cluster messages
+     * @return messages to send
+     */
+    public ReplayPlan createPlan(List<ClusteringMessage> messages) {
+        List<byte[]> serializedMessages = new ArrayList<>(messages.size());
+        for (ClusteringMessage message : messages) {
+            serializedMessages.add(serialize(message));
+        }
+
+        // walk backwards so that the last message of a supersession key is the one kept
+        boolean[] superseded = new boolean[messages.size()];
+        Set<Map.Entry<Class<?>, String>> laterKeys = new HashSet<>();
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            ClusteringMessage message = messages.get(i);
+            if (!(message instanceof SupersedableMessage)) {
+                continue;
+            }
+            String supersessionKey = ((SupersedableMessage) message).getSupersessionKey();
+            if (supersessionKey != null && !laterKeys.add(
+                    new AbstractMap.SimpleImmutableEntry<Class<?>, String>(message.getClass(), supersessionKey))) {
+                superseded[i] = true;
+            }
+        }
+
+        ReplayPlan plan = new ReplayPlan();
+        BatchBuilder batch = new BatchBuilder();
+        for (int i = 0; i < messages.size(); i++) {
+            byte[] serializedMessage = serializedMessages.get(i);
+            if (superseded[i]) {
+                plan.dropped++;
+            } else if (serializedMessage == null) {
+                batch.flush(plan);
+                plan.messages.add(messages.get(i));
+            } else {
+                if (!batch.isEmpty() && batch.size() + serializedMessage.length > batchSize) {
+                    batch.flush(plan);
+                }
+                batch.add(serializedMessage);
+            }
+        }
+        batch.flush(plan);
+        return plan;
+    }
+
+    /**
+     * @return replays to all members
+     */
+    public long getReplays() {
+        return replays.get();
+    }
+
+    /**
+     * @return batches sent to all members
+     */
+    public long getBatchesSent() {
+        return batchesSent.get();
+    }
+
+    /**
+     * @return bytes of the batches sent to all members
+     */
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * @return superseded messages not replayed to any of the members
+     */
+    public long getMessagesDropped() {
+        return messagesDropped.get();
+    }
+
+    /**
+     * @return milliseconds spent replaying to all members
+     */
+    public long getReplayTimeMillis() {
+        return replayTimeMillis.get();
+    }
+
+    private static byte[] serialize(ClusteringMessage message) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+            objectOutputStream.writeObject(message);
+        } catch (IOException e) {
+            log.warn("Cluster message cannot be batched, it will be sent on its own: " + message.getClass().getName(),
+                    e);
+            return null;
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Messages to send to a new member, and their totals
+     */
+    public static class ReplayPlan {
+
+        private final List<ClusteringMessage> messages = new ArrayList<>();
+        private int batches;
+        private long bytes;
+        private int dropped;
+
+        public List<ClusteringMessage> getMessages() {
+            return messages;
+        }
+
+        public int getBatches() {
+            return batches;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public int getDropped() {
+            return dropped;
+        }
+    }
+
+    private class BatchBuilder {
+
+        private final List<byte[]> serializedMessages = new ArrayList<>();
+        private int size;
+
+        boolean isEmpty() {
+            return serializedMessages.isEmpty();
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(byte[] serializedMessage) {
+            serializedMessages.add(serializedMessage);
+            size += serializedMessage.length;
+        }
+
+        void flush(ReplayPlan plan) {
+            if (serializedMessages.isEmpty()) {
+                return;
+            }
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(size + 4 * serializedMessages.size());
+            try {
+                OutputStream outputStream = compression ? new GZIPOutputStream(payload) : payload;
+                DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+                for (byte[] serializedMessage : serializedMessages) {
+                    dataOutputStream.writeInt(serializedMessage.length);
+                    dataOutputStream.write(serializedMessage);
+                }
+                dataOutputStream.close();
+            } catch (IOException e) {
+                // writing to memory does not fail
+                throw new IllegalStateException("Could not write cluster message batch", e);
+            }
+            ClusteringMessageBatch batch = new ClusteringMessageBatch(payload.toByteArray(), compression,
+                    serializedMessages.size());
+            plan.messages.add(batch);
+            plan.batches++;
+            plan.bytes += batch.getSize();
+            serializedMessages.clear();
+            size = 0;
+        }
+    }
+}
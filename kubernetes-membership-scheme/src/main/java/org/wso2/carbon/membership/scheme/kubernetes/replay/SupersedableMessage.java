@@ -0,0 +1,30 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.replay;
+
+/**
+ * Implemented by cluster messages whose effect is replaced by a later message of the same class with the same
+ * supersession key, such as the invalidation of a cache entry. When the buffered messages are replayed to a new
+ * member, only the last of such messages is sent. Messages which do not implement this interface are always replayed.
+ */
+public interface SupersedableMessage {
+
+    /**
+     * @return key of the state the message changes, or null if the message is never superseded
+     */
+    String getSupersessionKey();
+}
@@ -17,22 +17,48 @@
 package org.wso2.carbon.membership.scheme.kubernetes.resolver;
 
 import org.apache.axis2.description.Parameter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.Backoff;
 import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.NamedThreadFactory;
 import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.metrics.MembershipSchemeMetrics;
 import org.wso2.carbon.utils.xml.StringUtils;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstraction for resolving networks addresses
  */
 public abstract class AddressResolver {
 
+    private static final Log log = LogFactory.getLog(AddressResolver.class);
+
     private final Map<String, Parameter> parameters;
     private String kubernetesNamespace;
     private String kubernetesServices;
     private String[] kubernetesServicesArray;
+    private String kubernetesLabelSelector;
+    private int serviceLookupTimeout;
+    private ExecutorService serviceLookupExecutor;
+    private ResolutionCircuitBreaker circuitBreaker;
+    private PeerSnapshot peerSnapshot;
+    private volatile MembershipSchemeMetrics metrics = new MembershipSchemeMetrics();
 
     AddressResolver (final Map<String, Parameter> parameters) throws KubernetesMembershipSchemeException {
         this.parameters = parameters;
@@ -52,24 +78,280 @@ public abstract class AddressResolver {
             kubernetesNamespace = getParameterValue(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, "default");
         }
 
+        kubernetesLabelSelector = getConfigValue(Constants.PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR, "");
+
         if (StringUtils.isEmpty(kubernetesServices)) {
-            kubernetesServices = getParameterValue(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, null);
-            if (StringUtils.isEmpty(kubernetesServices)) {
+            kubernetesServices = getParameterValue(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, "");
+            if (StringUtils.isEmpty(kubernetesServices) && StringUtils.isEmpty(kubernetesLabelSelector)) {
                 throw new KubernetesMembershipSchemeException("Kubernetes services parameter not found");
             }
         }
 
         // split the provided comma separated service names
-        kubernetesServicesArray = kubernetesServices.split(",");
+        kubernetesServicesArray = StringUtils.isEmpty(kubernetesServices) ? new String[0] :
+                kubernetesServices.split(",");
+
+        String serviceLookupTimeoutValue = System.getenv(Constants.SERVICE_LOOKUP_TIMEOUT);
+        if (StringUtils.isEmpty(serviceLookupTimeoutValue)) {
+            serviceLookupTimeoutValue = getParameterValue(Constants.SERVICE_LOOKUP_TIMEOUT, "30");
+        }
+        serviceLookupTimeout = Integer.parseInt(serviceLookupTimeoutValue);
+
+        String serviceLookupThreadsValue = System.getenv(Constants.SERVICE_LOOKUP_THREADS);
+        if (StringUtils.isEmpty(serviceLookupThreadsValue)) {
+            serviceLookupThreadsValue = getParameterValue(Constants.SERVICE_LOOKUP_THREADS, "4");
+        }
+        int serviceLookupThreads = Math.min(Integer.parseInt(serviceLookupThreadsValue),
+                kubernetesServicesArray.length);
+
+        if (serviceLookupThreads > 1) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(serviceLookupThreads, serviceLookupThreads,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new NamedThreadFactory("kubernetes-service-lookup"));
+            executor.allowCoreThreadTimeOut(true);
+            serviceLookupExecutor = executor;
+        }
+
+        Backoff circuitBreakerBackoff = new Backoff(
+                Long.parseLong(getConfigValue(Constants.CIRCUIT_BREAKER_DELAY, "1000")),
+                Long.parseLong(getConfigValue(Constants.CIRCUIT_BREAKER_MAX_DELAY, "60000")));
+        circuitBreaker = new ResolutionCircuitBreaker(
+                Integer.parseInt(getConfigValue(Constants.CIRCUIT_BREAKER_THRESHOLD, "3")), circuitBreakerBackoff,
+                TimeUnit.SECONDS.toMillis(Long.parseLong(getConfigValue(Constants.LAST_KNOWN_GOOD_MAX_AGE, "300"))));
+
+        String peerSnapshotFile = getConfigValue(Constants.PEER_SNAPSHOT_FILE, "");
+        if (!StringUtils.isEmpty(peerSnapshotFile)) {
+            peerSnapshot = new PeerSnapshot(Paths.get(peerSnapshotFile), TimeUnit.SECONDS.toMillis(
+                    Long.parseLong(getConfigValue(Constants.PEER_SNAPSHOT_MAX_AGE, "3600"))));
+        }
     }
 
     /**
-     * Resolve the addresses of the members
+     * Resolve the addresses of the members.
      *
      * @return {@link Set} of addresses
      * @throws KubernetesMembershipSchemeException if an error occurred while resolving the addresses
+     * @see #resolvePodAddresses()
+     */
+    public Set<String> resolveAddresses () throws KubernetesMembershipSchemeException {
+        return PodAddress.getIps(resolvePodAddresses());
+    }
+
+    /**
+     * Resolve the addresses of the members with their readiness, recording the latency and the result in the
+     * metrics.
+     *
+     * Resolutions go through the circuit breaker of the resolver. While it is open, or if the resolution fails, the
+     * pods of the last successful resolution are returned if they are recent enough. Successfully resolved pods are
+     * saved to the peer snapshot, if configured. If only some of the services were resolved, the result is a
+     * {@link PartialPodAddresses}, which closes the circuit but is neither kept as the last known good pods nor
+     * saved to the peer snapshot.
+     *
+     * @return {@link Collection} of pod addresses
+     * @throws KubernetesMembershipSchemeException if an error occurred while resolving the addresses and no recent
+     *                                             pods are known
+     * @see #lookupPodAddresses()
+     */
+    public Collection<PodAddress> resolvePodAddresses () throws KubernetesMembershipSchemeException {
+        if (!circuitBreaker.allowResolution()) {
+            return getLastKnownGood(new KubernetesMembershipSchemeException(String.format(
+                    "Pod resolution paused after %d consecutive failures, retrying in %d ms",
+                    circuitBreaker.getConsecutiveFailures(), circuitBreaker.getRetryDelayMillis())));
+        }
+        long startTime = System.nanoTime();
+        Collection<PodAddress> podAddresses;
+        try {
+            podAddresses = lookupPodAddresses();
+        } catch (KubernetesMembershipSchemeException | RuntimeException e) {
+            metrics.resolveCompleted(getClass().getSimpleName(), startTime);
+            if (circuitBreaker.resolutionFailed()) {
+                metrics.circuitOpened();
+            }
+            return getLastKnownGood(e instanceof KubernetesMembershipSchemeException ?
+                    (KubernetesMembershipSchemeException) e :
+                    new KubernetesMembershipSchemeException("Could not resolve the pods", e));
+        }
+        metrics.resolveCompleted(getClass().getSimpleName(), startTime);
+        if (PartialPodAddresses.isPartial(podAddresses)) {
+            circuitBreaker.resolutionPartial();
+            log.warn("Resolved the pods of only some of the Kubernetes services, failed services: "
+                    + ((PartialPodAddresses) podAddresses).getFailedServices());
+        } else if (podAddresses != null) {
+            circuitBreaker.resolutionSucceeded(podAddresses);
+            if (peerSnapshot != null) {
+                peerSnapshot.write(podAddresses);
+            }
+        }
+        metrics.podsResolved(podAddresses);
+        return podAddresses;
+    }
+
+    /**
+     * @param e failure of the resolution, thrown if no recent pods are known
+     * @return pods of the last successful resolution
+     */
+    private Collection<PodAddress> getLastKnownGood(KubernetesMembershipSchemeException e)
+            throws KubernetesMembershipSchemeException {
+        Collection<PodAddress> podAddresses = circuitBreaker.getLastKnownGood();
+        if (podAddresses == null) {
+            throw e;
+        }
+        metrics.lastKnownGoodServed();
+        log.warn(String.format("Using the pods resolved %d ms ago: %s", circuitBreaker.getLastKnownGoodAgeMillis(),
+                e.getMessage()));
+        return podAddresses;
+    }
+
+    /**
+     * Looks up the addresses of the members with their readiness.
+     *
+     * The services are resolved within the service lookup timeout, concurrently if more than one lookup thread is
+     * configured, and the results are merged. A service that fails or does not complete in time is logged and
+     * skipped, unless none of the services could be resolved, and the addresses of the other services are returned
+     * as {@link PartialPodAddresses}. Without lookup threads, the timeout is checked before each service, and a
+     * single lookup is bounded by the timeouts of the resolver.
+     *
+     * @return {@link Collection} of pod addresses
+     * @throws KubernetesMembershipSchemeException if an error occurred while resolving the addresses
      */
-    public abstract Set<String> resolveAddresses () throws KubernetesMembershipSchemeException;
+    protected Collection<PodAddress> lookupPodAddresses () throws KubernetesMembershipSchemeException {
+        if (kubernetesServicesArray.length == 0) {
+            throw new KubernetesMembershipSchemeException("Kubernetes services parameter not found");
+        }
+        final Map<String, PodAddress> podAddresses = new LinkedHashMap<>();
+        Throwable lastError = null;
+        List<String> failedServices = new ArrayList<>();
+        if (serviceLookupExecutor == null) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(serviceLookupTimeout);
+            for (String kubernetesService : kubernetesServicesArray) {
+                String serviceName = kubernetesService.trim();
+                if (System.nanoTime() - deadline >= 0) {
+                    failedServices.add(serviceName);
+                    lastError = new KubernetesMembershipSchemeException("Service lookup timeout exceeded");
+                    log.error(String.format("Resolving Kubernetes service %s did not complete within %d seconds",
+                            serviceName, serviceLookupTimeout));
+                    continue;
+                }
+                try {
+                    for (PodAddress podAddress : resolveService(serviceName)) {
+                        PodAddress.merge(podAddresses, podAddress);
+                    }
+                } catch (KubernetesMembershipSchemeException | RuntimeException e) {
+                    failedServices.add(serviceName);
+                    lastError = e;
+                    log.error("Could not resolve Kubernetes service: " + serviceName, e);
+                }
+            }
+        } else {
+            List<Callable<Collection<PodAddress>>> lookups = new ArrayList<>();
+            for (String kubernetesService : kubernetesServicesArray) {
+                final String serviceName = kubernetesService.trim();
+                lookups.add(new Callable<Collection<PodAddress>>() {
+                    @Override
+                    public Collection<PodAddress> call() throws Exception {
+                        return resolveService(serviceName);
+                    }
+                });
+            }
+
+            List<Future<Collection<PodAddress>>> results;
+            try {
+                results = serviceLookupExecutor.invokeAll(lookups, serviceLookupTimeout, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new KubernetesMembershipSchemeException("Interrupted while resolving Kubernetes services", e);
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                String kubernetesService = kubernetesServicesArray[i].trim();
+                try {
+                    for (PodAddress podAddress : results.get(i).get()) {
+                        PodAddress.merge(podAddresses, podAddress);
+                    }
+                } catch (CancellationException e) {
+                    failedServices.add(kubernetesService);
+                    lastError = e;
+                    log.error(String.format("Resolving Kubernetes service %s did not complete within %d seconds",
+                            kubernetesService, serviceLookupTimeout));
+                } catch (ExecutionException e) {
+                    failedServices.add(kubernetesService);
+                    lastError = e.getCause();
+                    log.error("Could not resolve Kubernetes service: " + kubernetesService, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new KubernetesMembershipSchemeException("Interrupted while resolving Kubernetes services",
+                            e);
+                }
+            }
+        }
+
+        if (failedServices.size() == kubernetesServicesArray.length) {
+            throw new KubernetesMembershipSchemeException("Could not resolve any of the Kubernetes services: "
+                    + kubernetesServices, lastError);
+        }
+        if (!failedServices.isEmpty()) {
+            return new PartialPodAddresses(podAddresses.values(), failedServices);
+        }
+        return podAddresses.values();
+    }
+
+    private Collection<PodAddress> resolveService (String kubernetesService)
+            throws KubernetesMembershipSchemeException {
+        long startTime = System.nanoTime();
+        try {
+            return resolvePodAddresses(kubernetesService);
+        } finally {
+            metrics.serviceResolved(kubernetesService, startTime);
+        }
+    }
+
+    /**
+     * Resolve the addresses of the members of a single Kubernetes service with their readiness. Resolvers which do
+     * not know the readiness of the addresses report all of them as ready.
+     *
+     * @param kubernetesService name of the Kubernetes service
+     * @return {@link Collection} of pod addresses
+     * @throws KubernetesMembershipSchemeException if an error occurred while resolving the addresses
+     */
+    protected Collection<PodAddress> resolvePodAddresses (String kubernetesService)
+            throws KubernetesMembershipSchemeException {
+        List<PodAddress> podAddresses = new ArrayList<>();
+        for (String ip : resolveAddresses(kubernetesService)) {
+            podAddresses.add(new PodAddress(ip, true, null, null));
+        }
+        return podAddresses;
+    }
+
+    /**
+     * Resolve the addresses of the members of a single Kubernetes service
+     *
+     * @param kubernetesService name of the Kubernetes service
+     * @return {@link Set} of addresses
+     * @throws KubernetesMembershipSchemeException if an error occurred while resolving the addresses
+     */
+    protected abstract Set<String> resolveAddresses (String kubernetesService)
+            throws KubernetesMembershipSchemeException;
+
+    /**
+     * Version of the pods a resolution would return, known without resolving them. It changes whenever the pods may
+     * have changed. Resolvers which can only tell by resolving return null.
+     *
+     * @return version of the pods, or null if it is not known
+     */
+    public String getPodsVersion() {
+        return null;
+    }
+
+    /**
+     * Reads a configuration value from the environment, or else from the clustering parameters
+     */
+    String getConfigValue(String name, String defaultValue) throws KubernetesMembershipSchemeException {
+        String value = System.getenv(name);
+        if (StringUtils.isEmpty(value)) {
+            value = getParameterValue(name, defaultValue);
+        }
+        return value;
+    }
 
     String getParameterValue(String parameterName, String defaultValue)
             throws KubernetesMembershipSchemeException {
@@ -99,4 +381,40 @@ public abstract class AddressResolver {
     public String[] getKubernetesServicesArray() {
         return kubernetesServicesArray;
     }
+
+    /**
+     * @return label selector of the members, or an empty string if the members are selected by service
+     */
+    public String getKubernetesLabelSelector() {
+        return kubernetesLabelSelector;
+    }
+
+    public int getServiceLookupTimeout() {
+        return serviceLookupTimeout;
+    }
+
+    /**
+     * @return circuit breaker guarding the resolutions
+     */
+    public ResolutionCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return snapshot the resolved pods are saved to, or null if not configured
+     */
+    public PeerSnapshot getPeerSnapshot() {
+        return peerSnapshot;
+    }
+
+    public MembershipSchemeMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @param metrics metrics to record the resolutions in
+     */
+    public void setMetrics(MembershipSchemeMetrics metrics) {
+        this.metrics = metrics;
+    }
 }
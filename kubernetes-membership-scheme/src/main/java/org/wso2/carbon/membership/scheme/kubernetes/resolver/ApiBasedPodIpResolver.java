@@ -16,7 +16,6 @@
 
 package org.wso2.carbon.membership.scheme.kubernetes.resolver;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.axis2.description.Parameter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -24,19 +23,32 @@ import org.wso2.carbon.membership.scheme.kubernetes.Constants;
 import org.wso2.carbon.membership.scheme.kubernetes.api.KubernetesApiEndpoint;
 import org.wso2.carbon.membership.scheme.kubernetes.api.KubernetesHttpApiEndpoint;
 import org.wso2.carbon.membership.scheme.kubernetes.api.KubernetesHttpsApiEndpoint;
-import org.wso2.carbon.membership.scheme.kubernetes.domain.Address;
-import org.wso2.carbon.membership.scheme.kubernetes.domain.Endpoints;
-import org.wso2.carbon.membership.scheme.kubernetes.domain.Subset;
+import org.wso2.carbon.membership.scheme.kubernetes.api.KubernetesTrustManagers;
+import org.wso2.carbon.membership.scheme.kubernetes.api.ServiceAccountTokenProvider;
 import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
 import org.wso2.carbon.utils.xml.StringUtils;
 
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.HashSet;
+import java.net.URLEncoder;
+import java.security.GeneralSecurityException;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * class responsible for resolving pod ips based on Kubernetes API
@@ -49,6 +61,16 @@ public class ApiBasedPodIpResolver extends AddressResolver {
     private String kubernetesMasterPassword;
     private String kubernatesMasterToken;
     private boolean skipMasterSSLVerification = false;
+    private boolean useProtobuf;
+    private boolean useCompression;
+    private int connectTimeoutMillis;
+    private int readTimeoutMillis;
+    private SSLSocketFactory sslSocketFactory;
+    private HostnameVerifier hostnameVerifier;
+    private ServiceAccountTokenProvider tokenProvider;
+    private final ConcurrentMap<String, CachedEndpoints> endpointsCache = new ConcurrentHashMap<>();
+    private final AtomicLong endpointsCacheHits = new AtomicLong();
+    private final AtomicLong endpointsCacheMisses = new AtomicLong();
 
     public ApiBasedPodIpResolver (final Map<String, Parameter> parameters) throws KubernetesMembershipSchemeException {
         super(parameters);
@@ -112,62 +134,131 @@ public class ApiBasedPodIpResolver extends AddressResolver {
 
         skipMasterSSLVerification = Boolean.parseBoolean(skipMasterVerificationValue);
 
+        useProtobuf = Boolean.parseBoolean(getConfigValue(Constants.USE_API_PROTOBUF, "true"));
+        useCompression = Boolean.parseBoolean(getConfigValue(Constants.USE_API_COMPRESSION, "true"));
+        connectTimeoutMillis = (int) TimeUnit.SECONDS.toMillis(
+                Integer.parseInt(getConfigValue(Constants.API_CONNECT_TIMEOUT, "10")));
+        readTimeoutMillis = (int) TimeUnit.SECONDS.toMillis(Integer.parseInt(getConfigValue(
+                Constants.API_READ_TIMEOUT, String.valueOf(getServiceLookupTimeout()))));
+
         log.info(String.format("Kubernetes clustering configuration: [api-server] %s [namespace] %s [services] %s [skip-master-ssl-verification] %s",
                 kubernetesApiServerUrl, getKubernetesNamespace(), getKubernetesServices(), skipMasterSSLVerification));
+
+        if (kubernetesApiServerUrl.toLowerCase().startsWith(Constants.PROTOCOL_HTTPS + ":")) {
+            initSSLContext();
+            tokenProvider = new ServiceAccountTokenProvider(Paths.get(getConfigValue(
+                    Constants.PARAMETER_NAME_BEARER_TOKEN_FILE_LOCATION, Constants.BEARER_TOKEN_FILE_LOCATION)));
+        }
+    }
+
+    /**
+     * Creates the SSL context of the API server connections once. The context trusts any certificate if SSL
+     * verification is skipped. Otherwise it trusts the configured trust store, or else the service account CA
+     * certificate, in addition to the JVM trust store. The JVM wide HTTPS defaults are not changed.
+     */
+    private void initSSLContext() throws KubernetesMembershipSchemeException {
+        SSLContext sslContext;
+        try {
+            if (skipMasterSSLVerification) {
+                log.warn("SSL certificate verification of the Kubernetes API server is disabled");
+                sslContext = KubernetesTrustManagers.createInsecureSSLContext();
+                hostnameVerifier = KubernetesTrustManagers.INSECURE_HOSTNAME_VERIFIER;
+            } else {
+                sslContext = KubernetesTrustManagers.createSSLContext(
+                        getConfigValue(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE, ""),
+                        getConfigValue(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE_PASSWORD, ""),
+                        getConfigValue(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE_TYPE,
+                                KeyStore.getDefaultType()),
+                        getConfigValue(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_CA_CERT,
+                                Constants.CA_CERT_FILE_LOCATION));
+            }
+        } catch (GeneralSecurityException | IOException e) {
+            throw new KubernetesMembershipSchemeException("Could not create the SSL context of the Kubernetes API "
+                    + "server connections", e);
+        }
+        if (sslContext != null) {
+            sslSocketFactory = sslContext.getSocketFactory();
+        }
     }
 
+    /**
+     * Reads the endpoints of the given service. The request carries the last seen resource version, which lets the
+     * API server answer from its watch cache, and the last ETag if the server sent one. If the version of the
+     * response is the cached one, the cached addresses are returned without reading the rest of the response.
+     *
+     * Unless disabled, the protobuf encoding is requested, with JSON as the fallback for API servers or proxies
+     * which do not support it, and the response is read in the encoding the server chose.
+     */
     @Override
-    public Set<String> resolveAddresses() throws KubernetesMembershipSchemeException {
+    protected Collection<PodAddress> resolvePodAddresses(String kubernetesService)
+            throws KubernetesMembershipSchemeException {
 
         final String apiContext = String.format(Constants.ENDPOINTS_API_CONTEXT, getKubernetesNamespace());
-        final Set<String> containerIPs = new HashSet<>();
-
-        for (String kubernetesService : getKubernetesServicesArray()) {
-            // Create k8s api endpoint URL
-            URL apiEndpointUrl = createUrl(kubernetesApiServerUrl, apiContext + kubernetesService.trim());
-
-            // Create http/https k8s api endpoint
-            KubernetesApiEndpoint apiEndpoint = createAPIEndpoint(apiEndpointUrl);
+        CachedEndpoints cachedEndpoints = endpointsCache.get(kubernetesService);
+        String query = "";
+        if (cachedEndpoints != null && cachedEndpoints.resourceVersion != null) {
+            query = String.format(Constants.RESOURCE_VERSION_QUERY, cachedEndpoints.resourceVersion);
+        }
 
-            // Create the connection and read k8s service endpoints
-            Endpoints endpoints;
-            try {
-                endpoints = getEndpoints(connectAndRead
-                        (apiEndpoint, kubernetesMasterUsername, kubernetesMasterPassword, kubernatesMasterToken));
+        // Create k8s api endpoint URL
+        URL apiEndpointUrl = createUrl(kubernetesApiServerUrl, apiContext + kubernetesService + query);
 
-            } catch (IOException e) {
-                throw new KubernetesMembershipSchemeException("Could not get the Endpoints", e);
+        // Create http/https k8s api endpoint
+        KubernetesApiEndpoint apiEndpoint = createAPIEndpoint(apiEndpointUrl);
+        if (cachedEndpoints != null && cachedEndpoints.etag != null) {
+            apiEndpoint.setRequestProperty(Constants.IF_NONE_MATCH_HEADER, cachedEndpoints.etag);
+        }
+        if (useProtobuf) {
+            apiEndpoint.setRequestProperty(Constants.ACCEPT_HEADER,
+                    Constants.CONTENT_TYPE_PROTOBUF + ", " + Constants.CONTENT_TYPE_JSON);
+        }
 
-            } finally {
-                apiEndpoint.disconnect();
+        // Create the connection and read k8s service endpoint IPs
+        EndpointsSnapshot snapshot;
+        String etag;
+        try {
+            connect(apiEndpoint);
+            if (cachedEndpoints != null && apiEndpoint.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                endpointsCacheHits.incrementAndGet();
+                return cachedEndpoints.podAddresses;
             }
-
-            if (endpoints != null) {
-                if (endpoints.getSubsets() != null && !endpoints.getSubsets().isEmpty()) {
-                    // Reading IP addresses from two lists
-                    log.info("Reading IP addresses from endpoints");
-                    for (Subset subset : endpoints.getSubsets()) {
-                        if (subset.getAddresses() != null) {
-                            for (Address address : subset.getAddresses()) {
-                                containerIPs.add(address.getIp());
-                            }
-                        }
-                        if (subset.getNotReadyAddresses() != null) {
-                            for (Address address : subset.getNotReadyAddresses()) {
-                                containerIPs.add(address.getIp());
-                            }
-                        }
-                    }
-                }
+            String knownResourceVersion = cachedEndpoints != null ? cachedEndpoints.resourceVersion : null;
+            String contentType = apiEndpoint.getContentType();
+            if (contentType != null && contentType.startsWith(Constants.CONTENT_TYPE_PROTOBUF)) {
+                snapshot = EndpointsProtobufParser.parseEndpoints(read(apiEndpoint), knownResourceVersion);
             } else {
-                throw new KubernetesMembershipSchemeException("No endpoints found at " + apiEndpointUrl.toString());
+                snapshot = EndpointsParser.parseEndpoints(read(apiEndpoint), knownResourceVersion);
             }
+            etag = apiEndpoint.getHeaderField(Constants.ETAG_HEADER);
+
+        } catch (IOException e) {
+            getMetrics().apiErrorRecorded();
+            throw new KubernetesMembershipSchemeException("Could not get the Endpoints", e);
+
+        } finally {
+            apiEndpoint.disconnect();
         }
 
-        return containerIPs;
+        if (snapshot == null) {
+            endpointsCache.remove(kubernetesService);
+            throw new KubernetesMembershipSchemeException("No endpoints found at " + apiEndpointUrl.toString());
+        }
+        if (snapshot.getPodAddresses() == null) {
+            endpointsCacheHits.incrementAndGet();
+            return cachedEndpoints.podAddresses;
+        }
+        endpointsCacheMisses.incrementAndGet();
+        Collection<PodAddress> podAddresses = Collections.unmodifiableCollection(snapshot.getPodAddresses());
+        endpointsCache.put(kubernetesService, new CachedEndpoints(snapshot.getResourceVersion(), etag, podAddresses));
+        return podAddresses;
     }
 
-    private URL createUrl(String master, String context)
+    @Override
+    protected Set<String> resolveAddresses(String kubernetesService) throws KubernetesMembershipSchemeException {
+        return PodAddress.getIps(resolvePodAddresses(kubernetesService));
+    }
+
+    URL createUrl(String master, String context)
             throws KubernetesMembershipSchemeException {
 
         // concatenate and generate the String url
@@ -187,23 +278,100 @@ public class ApiBasedPodIpResolver extends AddressResolver {
         return apiEndpointUrl;
     }
 
-    private KubernetesApiEndpoint createAPIEndpoint(URL url) throws KubernetesMembershipSchemeException {
+    KubernetesApiEndpoint createAPIEndpoint(URL url) throws KubernetesMembershipSchemeException {
+        return createAPIEndpoint(url, readTimeoutMillis);
+    }
+
+    /**
+     * Creates the endpoint of the given URL with the given read timeout, for responses such as watches which may
+     * be silent for longer than the API read timeout. The timeout is set before the connection is created, since
+     * the request may already be sent when the connection is created.
+     *
+     * @param url               API URL
+     * @param readTimeoutMillis read timeout of the connections, 0 for no timeout
+     * @return {@link KubernetesApiEndpoint} instance
+     * @throws KubernetesMembershipSchemeException if the protocol of the URL is not supported
+     */
+    KubernetesApiEndpoint createAPIEndpoint(URL url, int readTimeoutMillis) throws KubernetesMembershipSchemeException {
 
         KubernetesApiEndpoint apiEndpoint;
 
         if (url.getProtocol().equalsIgnoreCase("https")) {
-            apiEndpoint = new KubernetesHttpsApiEndpoint(url, skipMasterSSLVerification);
+            apiEndpoint = new KubernetesHttpsApiEndpoint(url, sslSocketFactory, hostnameVerifier, tokenProvider);
         } else if (url.getProtocol().equalsIgnoreCase("http")) {
             apiEndpoint = new KubernetesHttpApiEndpoint(url);
         } else {
             throw new KubernetesMembershipSchemeException("K8s master API endpoint is neither HTTP or HTTPS");
         }
+        apiEndpoint.setTimeouts(connectTimeoutMillis, readTimeoutMillis);
+        if (useCompression) {
+            apiEndpoint.setRequestProperty(Constants.ACCEPT_ENCODING_HEADER, Constants.CONTENT_ENCODING_GZIP);
+        }
 
         return apiEndpoint;
     }
 
-    private InputStream connectAndRead(KubernetesApiEndpoint endpoint, String
-            username, String password, String token) throws KubernetesMembershipSchemeException {
+    /**
+     * Lists one page of the objects of the namespace matching the given label selector
+     *
+     * @param apiContext    list API context of the object kind, formatted with the namespace
+     * @param labelSelector label selector of the objects
+     * @param continueToken continue token of the page, or null for the first page
+     * @param type          list type to read the response into
+     * @return the list read from the response
+     * @throws KubernetesMembershipSchemeException if the objects could not be listed
+     */
+    <T> T list(String apiContext, String labelSelector, String continueToken, Class<T> type)
+            throws KubernetesMembershipSchemeException {
+        String query;
+        try {
+            query = String.format(Constants.LIST_QUERY, URLEncoder.encode(labelSelector, "UTF-8"),
+                    Constants.LIST_PAGE_SIZE);
+            if (continueToken != null) {
+                query += String.format(Constants.CONTINUE_QUERY, URLEncoder.encode(continueToken, "UTF-8"));
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new KubernetesMembershipSchemeException("Could not encode the list query", e);
+        }
+        URL apiEndpointUrl = createUrl(kubernetesApiServerUrl,
+                String.format(apiContext, getKubernetesNamespace()) + query);
+        KubernetesApiEndpoint apiEndpoint = createAPIEndpoint(apiEndpointUrl);
+        try {
+            connect(apiEndpoint);
+            T list = EndpointsParser.MAPPER.readValue(read(apiEndpoint), type);
+            if (list == null) {
+                throw new KubernetesMembershipSchemeException("No list found at " + apiEndpointUrl);
+            }
+            return list;
+        } catch (IOException e) {
+            getMetrics().apiErrorRecorded();
+            throw new KubernetesMembershipSchemeException("Could not list the objects at " + apiEndpointUrl, e);
+        } finally {
+            apiEndpoint.disconnect();
+        }
+    }
+
+    private InputStream read(KubernetesApiEndpoint endpoint) throws KubernetesMembershipSchemeException {
+        try {
+            return endpoint.read();
+        } catch (IOException e) {
+            getMetrics().apiErrorRecorded();
+            throw new KubernetesMembershipSchemeException("Could not connect to Kubernetes API", e);
+        }
+    }
+
+    /**
+     * Creates the connection of the given endpoint using the configured credentials
+     *
+     * @param endpoint {@link KubernetesApiEndpoint} instance
+     * @throws KubernetesMembershipSchemeException if the connection could not be created
+     */
+    void connect(KubernetesApiEndpoint endpoint) throws KubernetesMembershipSchemeException {
+        connect(endpoint, kubernetesMasterUsername, kubernetesMasterPassword, kubernatesMasterToken);
+    }
+
+    private void connect(KubernetesApiEndpoint endpoint, String username, String password, String token)
+            throws KubernetesMembershipSchemeException {
 
         try {
             // Use basic auth to create the connection if username and password are specified
@@ -213,22 +381,34 @@ public class ApiBasedPodIpResolver extends AddressResolver {
                 endpoint.createConnection(username, password);
             } else {
                 endpoint.createConnection();
+                if (endpoint instanceof KubernetesHttpsApiEndpoint
+                        && endpoint.getResponseCode() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+                    // the token may have been rotated since it was cached, retry once with the token on disk
+                    log.info("Kubernetes API server rejected the service account token, reloading the token");
+                    endpoint.disconnect();
+                    tokenProvider.invalidate();
+                    endpoint.createConnection();
+                }
             }
 
         } catch (IOException e) {
+            getMetrics().apiErrorRecorded();
             throw new KubernetesMembershipSchemeException("Could not connect to Kubernetes API", e);
         }
+    }
 
-        try {
-            return endpoint.read();
-        } catch (IOException e) {
-            throw new KubernetesMembershipSchemeException("Could not connect to Kubernetes API", e);
-        }
+    /**
+     * @return number of service lookups answered from the cached addresses
+     */
+    public long getEndpointsCacheHits() {
+        return endpointsCacheHits.get();
     }
 
-    private Endpoints getEndpoints(InputStream inputStream) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.readValue(inputStream, Endpoints.class);
+    /**
+     * @return number of service lookups which read the addresses from the response
+     */
+    public long getEndpointsCacheMisses() {
+        return endpointsCacheMisses.get();
     }
 
     public String getKubernetesApiServerUrl() {
@@ -246,4 +426,20 @@ public class ApiBasedPodIpResolver extends AddressResolver {
     public boolean isSkipMasterSSLVerification() {
         return skipMasterSSLVerification;
     }
+
+    /**
+     * Last read addresses of a service, with the version and ETag of the response they were read from
+     */
+    private static class CachedEndpoints {
+
+        private final String resourceVersion;
+        private final String etag;
+        private final Collection<PodAddress> podAddresses;
+
+        CachedEndpoints(String resourceVersion, String etag, Collection<PodAddress> podAddresses) {
+            this.resourceVersion = resourceVersion;
+            this.etag = etag;
+            this.podAddresses = podAddresses;
+        }
+    }
 }
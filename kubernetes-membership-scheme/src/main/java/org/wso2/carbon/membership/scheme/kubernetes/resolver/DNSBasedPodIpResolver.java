@@ -20,13 +20,23 @@ import org.apache.axis2.description.Parameter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.NamedThreadFactory;
 import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
 import org.wso2.carbon.utils.xml.StringUtils;
 import org.xbill.DNS.*;
+import org.xbill.DNS.Record;
 
-import java.net.InetAddress;
+import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class responsible for resolving pod ips based on DNS lookups
@@ -34,7 +44,18 @@ import java.util.*;
 public class DNSBasedPodIpResolver extends AddressResolver {
 
     private static final Log log = LogFactory.getLog(DNSBasedPodIpResolver.class);
+    private static final int[] ADDRESS_TYPES = {Type.A, Type.AAAA};
+    private static final String DEFAULT_DNS_LOOKUP_THREADS = "8";
+    // Large enough to receive the SRV records of big headless services along with their additional records
+    private static final int EDNS_PAYLOAD_SIZE = 4096;
     private int dnsLookupTimeout;
+    private String dnsServer;
+    private int dnsCacheMaxTtl;
+    private Resolver resolver;
+    private Cache cache;
+    private ExecutorService addressLookupExecutor;
+    // address type the SRV targets were last found with, which is queried first
+    private volatile int addressType = Type.A;
 
     public DNSBasedPodIpResolver(Map<String, Parameter> parameters) throws KubernetesMembershipSchemeException {
         super(parameters);
@@ -48,41 +69,136 @@ public class DNSBasedPodIpResolver extends AddressResolver {
         }
 
         dnsLookupTimeout = Integer.parseInt(dnsLookupTimeoutValue);
+
+        dnsServer = System.getenv(Constants.DNS_SERVER);
+        if (StringUtils.isEmpty(dnsServer)) {
+            dnsServer = getParameterValue(Constants.DNS_SERVER, "");
+        }
+
+        String dnsCacheMaxTtlValue = System.getenv(Constants.DNS_CACHE_MAX_TTL);
+        if (StringUtils.isEmpty(dnsCacheMaxTtlValue)) {
+            dnsCacheMaxTtlValue = getParameterValue(Constants.DNS_CACHE_MAX_TTL, "0");
+        }
+        dnsCacheMaxTtl = Integer.parseInt(dnsCacheMaxTtlValue);
+
+        // The resolver is kept for the lifetime of the membership scheme
+        resolver = buildResolver();
+
+        // Each lookup of a SRV target takes a thread while it waits for the answer, so they run on a bounded pool
+        int dnsLookupThreads = Integer.parseInt(getConfigValue(Constants.DNS_LOOKUP_THREADS,
+                DEFAULT_DNS_LOOKUP_THREADS));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(dnsLookupThreads, dnsLookupThreads, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory("kubernetes-dns-lookup"));
+        executor.allowCoreThreadTimeOut(true);
+        addressLookupExecutor = executor;
+
+        // Only positive answers are cached, so that temporary DNS lookup failures are never served from the cache
+        if (dnsCacheMaxTtl > 0) {
+            cache = new Cache(DClass.IN);
+            cache.setMaxCache(dnsCacheMaxTtl);
+            log.info("DNS positive cache enabled with a maximum TTL of " + dnsCacheMaxTtl + " seconds");
+        }
     }
 
     @Override
-    public Set<String> resolveAddresses() throws KubernetesMembershipSchemeException {
+    protected Set<String> resolveAddresses(String kubernetesService) throws KubernetesMembershipSchemeException {
 
         final Set<String> containerIPs = new HashSet<>();
 
-        for (String kubernetesService : getKubernetesServicesArray()) {
-            // lookup name format:
-            // <service-name>.<namespace>.svc.cluster.local
-            String dnsLookupName = new StringBuilder(kubernetesService.trim()).append(".").
-                    append(getKubernetesNamespace()).append(".").append("svc.cluster.local").toString();
-            log.info("Going to perform a DNS lookup for: " + dnsLookupName);
+        // lookup name format:
+        // <service-name>.<namespace>.svc.cluster.local
+        String dnsLookupName = new StringBuilder(kubernetesService).append(".").
+                append(getKubernetesNamespace()).append(".").append("svc.cluster.local").toString();
+        log.info("Going to perform a DNS lookup for: " + dnsLookupName);
+
+        Name lookupName;
+        try {
+            lookupName = Name.fromString(dnsLookupName, Name.root);
+        } catch (TextParseException e) {
+            throw new KubernetesMembershipSchemeException("Lookup creation error", e);
+        }
 
-            Lookup lookup = buildLookup(dnsLookupName);
-            Record[] records = lookup.run();
+        Record[] answers = getCachedRecords(lookupName, Type.SRV);
+        Record[] additionalRecords = new Record[0];
+        if (answers == null) {
+            Message response;
+            try {
+                response = resolver.send(Message.newQuery(Record.newRecord(lookupName, Type.SRV, DClass.IN)));
+            } catch (IOException e) {
+                getMetrics().dnsErrorRecorded();
+                throw new KubernetesMembershipSchemeException("DNS lookup for name '" + dnsLookupName + "' failed",
+                        e);
+            }
+            // a name that does not exist is an answer, the service has no pods
+            if (response.getRcode() == Rcode.NXDOMAIN) {
+                log.warn("DNS lookup for name '" + dnsLookupName + "' found no such name");
+                return containerIPs;
+            }
+            if (response.getRcode() != Rcode.NOERROR) {
+                getMetrics().dnsErrorRecorded();
+                throw new KubernetesMembershipSchemeException("DNS lookup for name '" + dnsLookupName
+                        + "' failed: " + Rcode.string(response.getRcode()));
+            }
+            cacheRecords(response);
+            answers = response.getSectionArray(Section.ANSWER);
+            additionalRecords = response.getSectionArray(Section.ADDITIONAL);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Serving DNS lookup for name '" + dnsLookupName + "' from the cache");
+        }
 
-            if (lookup.getResult() == Lookup.SUCCESSFUL && records != null) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Number of DNS records found for lookup address: " + dnsLookupName + ": " +
-                            records.length);
-                }
-                for (Record record : records) {
-                    SRVRecord srv = (SRVRecord) record;
-                    InetAddress[] inetAddresses = getAddresses(srv);
-
-                    for (InetAddress inetAddress : inetAddresses) {
-                        log.info("Found IP address " + inetAddress.getHostAddress() + "  for DNS lookup: " +
-                                dnsLookupName + ", SRV Record name: " + srv.getName().toString());
-                        containerIPs.add(inetAddress.getHostAddress());
+        List<SRVRecord> srvRecords = new ArrayList<>();
+        for (Record record : answers) {
+            if (record instanceof SRVRecord) {
+                srvRecords.add((SRVRecord) record);
+            }
+        }
+        if (srvRecords.isEmpty()) {
+            log.warn("DNS lookup for name '" + dnsLookupName + "' found no SRV records");
+            return containerIPs;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Number of DNS records found for lookup address: " + dnsLookupName + ": " +
+                    srvRecords.size());
+        }
+
+        // Use the addresses of the SRV targets sent along in the additional section or cached, and look up the rest
+        ConcurrentMap<Name, Set<String>> targetAddresses = new ConcurrentHashMap<>();
+        for (Record record : additionalRecords) {
+            addAddress(targetAddresses, record.getName(), record);
+        }
+        Set<Name> unresolvedTargets = new HashSet<>();
+        for (SRVRecord srv : srvRecords) {
+            Name target = srv.getTarget();
+            if (targetAddresses.containsKey(target)) {
+                continue;
+            }
+            for (int type : ADDRESS_TYPES) {
+                Record[] cachedRecords = getCachedRecords(target, type);
+                if (cachedRecords != null) {
+                    for (Record record : cachedRecords) {
+                        addAddress(targetAddresses, target, record);
                     }
                 }
+            }
+            if (!targetAddresses.containsKey(target)) {
+                unresolvedTargets.add(target);
+            }
+        }
+        if (!unresolvedTargets.isEmpty()) {
+            targetAddresses.putAll(getAddresses(unresolvedTargets));
+        }
 
-            } else {
-                log.warn("DNS lookup for name '" + dnsLookupName + "' failed");
+        for (SRVRecord srv : srvRecords) {
+            Set<String> addresses = targetAddresses.get(srv.getTarget());
+            if (addresses == null || addresses.isEmpty()) {
+                log.warn("No IP address found for DNS lookup: " + dnsLookupName + ", SRV Record target: " +
+                        srv.getTarget().toString());
+                continue;
+            }
+            for (String address : addresses) {
+                log.info("Found IP address " + address + "  for DNS lookup: " +
+                        dnsLookupName + ", SRV Record name: " + srv.getName().toString());
+                containerIPs.add(address);
             }
         }
 
@@ -90,51 +206,168 @@ public class DNSBasedPodIpResolver extends AddressResolver {
     }
 
     /**
-     * Creates the {@link Lookup} instance for the given dnsLookupName
+     * Creates the {@link Resolver} instance for the configured name server, or the system name servers
      *
-     * @param dnsLookupName lookup name
-     * @return {@link Lookup} instance
-     * @throws KubernetesMembershipSchemeException if an error occurs while building the Lookup
+     * @return {@link Resolver} instance
+     * @throws KubernetesMembershipSchemeException if an error occurs while building the Resolver
      */
-    private Lookup buildLookup(String dnsLookupName)
-            throws KubernetesMembershipSchemeException {
+    private Resolver buildResolver() throws KubernetesMembershipSchemeException {
 
-        ExtendedResolver resolver = null;
+        ExtendedResolver extendedResolver = null;
         try {
-            resolver = new ExtendedResolver();
+            if (StringUtils.isEmpty(dnsServer)) {
+                extendedResolver = new ExtendedResolver();
+            } else {
+                String[] hostAndPort = dnsServer.trim().split(":");
+                SimpleResolver simpleResolver = new SimpleResolver(hostAndPort[0]);
+                if (hostAndPort.length == 2) {
+                    simpleResolver.setPort(Integer.parseInt(hostAndPort[1]));
+                }
+                extendedResolver = new ExtendedResolver(new Resolver[]{simpleResolver});
+            }
         } catch (UnknownHostException e) {
             throw new KubernetesMembershipSchemeException("Lookup creation error - unknown hostname", e);
         }
-        resolver.setTimeout(dnsLookupTimeout);
+        extendedResolver.setTimeout(dnsLookupTimeout);
+        extendedResolver.setEDNS(0, EDNS_PAYLOAD_SIZE, 0, null);
 
-        Lookup lookup = null;
-        try {
-            lookup = new Lookup(dnsLookupName, Type.SRV);
-        } catch (TextParseException e) {
-            throw new KubernetesMembershipSchemeException("Lookup creation error", e);
+        return extendedResolver;
+    }
+
+    /**
+     * Looks up the addresses of the given SRV targets on the lookup threads. Each target is queried for the address
+     * type the targets were last found with, A to begin with, and for the other type only if it has no address of
+     * that type. Each lookup is bounded by the DNS lookup timeout and all of them together by the service lookup
+     * timeout; targets that are not resolved in time are left out of the result.
+     *
+     * @param targets SRV record targets
+     * @return addresses of each resolved target
+     * @throws KubernetesMembershipSchemeException if interrupted while waiting for the lookups
+     */
+    private Map<Name, Set<String>> getAddresses(Set<Name> targets)
+            throws KubernetesMembershipSchemeException {
+
+        final ConcurrentMap<Name, Set<String>> targetAddresses = new ConcurrentHashMap<>();
+        List<Callable<Void>> lookups = new ArrayList<>(targets.size());
+        for (final Name target : targets) {
+            lookups.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    int preferredType = addressType;
+                    if (!lookupAddresses(targetAddresses, target, preferredType)) {
+                        int otherType = preferredType == Type.A ? Type.AAAA : Type.A;
+                        if (lookupAddresses(targetAddresses, target, otherType)) {
+                            addressType = otherType;
+                        }
+                    }
+                    return null;
+                }
+            });
         }
-        lookup.setResolver(resolver);
 
-        // Avoid caching temporary DNS lookup failures indefinitely in global cache
-        lookup.setCache(null);
+        try {
+            int pendingLookups = 0;
+            for (Future<Void> lookup : addressLookupExecutor.invokeAll(lookups, getServiceLookupTimeout(),
+                    TimeUnit.SECONDS)) {
+                if (lookup.isCancelled()) {
+                    pendingLookups++;
+                }
+            }
+            if (pendingLookups > 0) {
+                log.warn(pendingLookups + " DNS lookups of SRV targets did not complete within "
+                        + getServiceLookupTimeout() + " seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KubernetesMembershipSchemeException("Interrupted while looking up SRV targets", e);
+        }
+        return new HashMap<>(targetAddresses);
+    }
 
-        return lookup;
+    /**
+     * Queries the addresses of the given type of a SRV target
+     *
+     * @return true if an address of the type was found
+     */
+    private boolean lookupAddresses(ConcurrentMap<Name, Set<String>> targetAddresses, Name target, int type) {
+        Message message;
+        try {
+            message = resolver.send(Message.newQuery(Record.newRecord(target, type, DClass.IN)));
+        } catch (IOException e) {
+            getMetrics().dnsErrorRecorded();
+            if (log.isDebugEnabled()) {
+                log.debug("DNS lookup for name '" + target + "' failed", e);
+            }
+            return false;
+        }
+        cacheRecords(message);
+        boolean found = false;
+        for (Record record : message.getSectionArray(Section.ANSWER)) {
+            if (record.getType() == type) {
+                addAddress(targetAddresses, target, record);
+                found = true;
+            }
+        }
+        return found;
     }
 
     /**
-     * Creates an array of addresses for the given SRV record
+     * Returns the cached records of the given name and type
      *
-     * @param srv {@link SRVRecord} instance
-     * @return array of addresses
-     * @throws KubernetesMembershipSchemeException if an error occurs in getting the addresses
+     * @return cached records, or null if the cache is disabled or does not hold a positive answer
      */
-    private InetAddress[] getAddresses(SRVRecord srv) throws KubernetesMembershipSchemeException {
+    private Record[] getCachedRecords(Name name, int type) {
+        if (cache == null) {
+            return null;
+        }
+        SetResponse cached = cache.lookupRecords(name, type, Credibility.NORMAL);
+        if (!cached.isSuccessful()) {
+            return null;
+        }
+        List<Record> records = new ArrayList<>();
+        for (RRset rrset : cached.answers()) {
+            Iterator<?> iterator = rrset.rrs();
+            while (iterator.hasNext()) {
+                records.add((Record) iterator.next());
+            }
+        }
+        return records.toArray(new Record[records.size()]);
+    }
 
-        try {
-            return org.xbill.DNS.Address.getAllByName(srv.getTarget().canonicalize().toString(true));
-        } catch (UnknownHostException e) {
-            throw new KubernetesMembershipSchemeException("Parsing DNS records failed", e);
+    /**
+     * Caches the answer and additional records of a successful response. Negative responses are not cached.
+     */
+    private void cacheRecords(Message response) {
+        if (cache == null || response.getRcode() != Rcode.NOERROR) {
+            return;
+        }
+        for (int section : new int[]{Section.ANSWER, Section.ADDITIONAL}) {
+            for (RRset rrset : response.getSectionRRsets(section)) {
+                if (rrset.getType() != Type.OPT) {
+                    cache.addRRset(rrset, Credibility.NORMAL);
+                }
+            }
+        }
+    }
+
+    private static void addAddress(ConcurrentMap<Name, Set<String>> targetAddresses, Name target, Record record) {
+        String address;
+        if (record instanceof ARecord) {
+            address = ((ARecord) record).getAddress().getHostAddress();
+        } else if (record instanceof AAAARecord) {
+            address = ((AAAARecord) record).getAddress().getHostAddress();
+        } else {
+            return;
+        }
+        Set<String> addresses = targetAddresses.get(target);
+        if (addresses == null) {
+            addresses = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+            Set<String> existing = targetAddresses.putIfAbsent(target, addresses);
+            if (existing != null) {
+                addresses = existing;
+            }
         }
+        addresses.add(address);
     }
 
     public int getDnsLookupTimeout() {
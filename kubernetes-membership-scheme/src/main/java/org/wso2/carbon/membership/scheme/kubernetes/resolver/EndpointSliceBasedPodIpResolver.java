@@ -0,0 +1,79 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.EndpointSlice;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.EndpointSliceList;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class responsible for resolving pod ips based on the discovery.k8s.io/v1 EndpointSlices of the Kubernetes API.
+ *
+ * Unlike an Endpoints object, the endpoints of a service are not truncated at 1000 addresses. The slices of a
+ * service are listed with the kubernetes.io/service-name label and merged.
+ */
+public class EndpointSliceBasedPodIpResolver extends ApiBasedPodIpResolver {
+
+    private static final Log log = LogFactory.getLog(EndpointSliceBasedPodIpResolver.class);
+
+    public EndpointSliceBasedPodIpResolver(final Map<String, Parameter> parameters)
+            throws KubernetesMembershipSchemeException {
+        super(parameters);
+    }
+
+    @Override
+    protected Collection<PodAddress> resolvePodAddresses(String kubernetesService)
+            throws KubernetesMembershipSchemeException {
+        List<EndpointSlice> endpointSlices = new ArrayList<>();
+        String labelSelector = Constants.SERVICE_NAME_LABEL + "=" + kubernetesService;
+        String continueToken = null;
+        do {
+            EndpointSliceList sliceList = list(Constants.ENDPOINT_SLICES_API_CONTEXT, labelSelector, continueToken,
+                    EndpointSliceList.class);
+            if (sliceList.getItems() != null) {
+                endpointSlices.addAll(sliceList.getItems());
+            }
+            continueToken = sliceList.getMetadata() != null ? sliceList.getMetadata().getContinueToken() : null;
+        } while (continueToken != null && !continueToken.isEmpty());
+
+        if (endpointSlices.isEmpty()) {
+            throw new KubernetesMembershipSchemeException("No endpoint slices found for service "
+                    + kubernetesService);
+        }
+        Collection<PodAddress> podAddresses = EndpointsParser.getPodAddresses(endpointSlices);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Resolved %d addresses of service %s from %d endpoint slices",
+                    podAddresses.size(), kubernetesService, endpointSlices.size()));
+        }
+        return podAddresses;
+    }
+
+    @Override
+    protected Set<String> resolveAddresses(String kubernetesService) throws KubernetesMembershipSchemeException {
+        return PodAddress.getIps(resolvePodAddresses(kubernetesService));
+    }
+}
@@ -0,0 +1,276 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Address;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.EndpointConditions;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.EndpointSlice;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Endpoints;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.SliceEndpoint;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Subset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads pod IP addresses from Kubernetes Endpoints documents.
+ *
+ * The streaming path only looks at metadata.resourceVersion and the ip and nodeName of subsets[].addresses[] and
+ * subsets[].notReadyAddresses[], and skips every other subtree (targetRef, ports) without binding it.
+ */
+public final class EndpointsParser {
+
+    private static final Log log = LogFactory.getLog(EndpointsParser.class);
+
+    /**
+     * Shared, thread-safe mapper for the cases where the full object model is needed
+     */
+    static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = MAPPER.getFactory();
+
+    private static final String METADATA = "metadata";
+    private static final String RESOURCE_VERSION = "resourceVersion";
+    private static final String SUBSETS = "subsets";
+    private static final String ADDRESSES = "addresses";
+    private static final String NOT_READY_ADDRESSES = "notReadyAddresses";
+    private static final String IP = "ip";
+    private static final String NODE_NAME = "nodeName";
+
+    private EndpointsParser() {
+    }
+
+    /**
+     * Reads the IP addresses of both ready and not ready addresses from an Endpoints JSON document
+     *
+     * @param inputStream Endpoints JSON document
+     * @return {@link Set} of IP addresses, or null if the document is a JSON null
+     * @throws IOException if the document could not be read
+     */
+    public static Set<String> parseEndpointIps(InputStream inputStream) throws IOException {
+        EndpointsSnapshot snapshot = parseEndpoints(inputStream, null);
+        return snapshot != null ? snapshot.getEndpointIps() : null;
+    }
+
+    /**
+     * Reads the resource version and the IP addresses from an Endpoints JSON document. If the resource version is
+     * the known one, the rest of the document is not read and the snapshot carries no addresses.
+     *
+     * @param inputStream          Endpoints JSON document
+     * @param knownResourceVersion resource version of the addresses already known, may be null
+     * @return {@link EndpointsSnapshot}, or null if the document is a JSON null
+     * @throws IOException if the document could not be read
+     */
+    public static EndpointsSnapshot parseEndpoints(InputStream inputStream, String knownResourceVersion)
+            throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Endpoints document is not a JSON object");
+            }
+
+            String resourceVersion = null;
+            Map<String, PodAddress> podAddresses = new LinkedHashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                token = parser.nextToken();
+                if (METADATA.equals(fieldName) && token == JsonToken.START_OBJECT) {
+                    resourceVersion = readResourceVersion(parser);
+                    // the API server writes metadata before subsets
+                    if (resourceVersion != null && resourceVersion.equals(knownResourceVersion)) {
+                        return new EndpointsSnapshot(resourceVersion, null);
+                    }
+                } else if (SUBSETS.equals(fieldName) && token == JsonToken.START_ARRAY) {
+                    readSubsets(parser, podAddresses);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Read " + podAddresses.size() + " IP addresses from endpoints");
+            }
+            return new EndpointsSnapshot(resourceVersion, podAddresses.values());
+        }
+    }
+
+    private static String readResourceVersion(JsonParser parser) throws IOException {
+        String resourceVersion = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (RESOURCE_VERSION.equals(fieldName) && token == JsonToken.VALUE_STRING) {
+                resourceVersion = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return resourceVersion;
+    }
+
+    private static void readSubsets(JsonParser parser, Map<String, PodAddress> podAddresses) throws IOException {
+        JsonToken element;
+        while ((element = parser.nextToken()) != null && element != JsonToken.END_ARRAY) {
+            if (element != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ((ADDRESSES.equals(fieldName) || NOT_READY_ADDRESSES.equals(fieldName))
+                        && token == JsonToken.START_ARRAY) {
+                    readAddresses(parser, podAddresses, ADDRESSES.equals(fieldName));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static void readAddresses(JsonParser parser, Map<String, PodAddress> podAddresses, boolean ready)
+            throws IOException {
+        JsonToken element;
+        while ((element = parser.nextToken()) != null && element != JsonToken.END_ARRAY) {
+            if (element != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String ip = null;
+            String nodeName = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (IP.equals(fieldName) && token == JsonToken.VALUE_STRING) {
+                    ip = parser.getText();
+                } else if (NODE_NAME.equals(fieldName) && token == JsonToken.VALUE_STRING) {
+                    nodeName = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (ip != null) {
+                PodAddress.merge(podAddresses, new PodAddress(ip, ready, nodeName, null));
+            }
+        }
+    }
+
+    /**
+     * Reads the IP addresses of both ready and not ready addresses of the given {@link Endpoints}
+     *
+     * @param endpoints {@link Endpoints} instance
+     * @return {@link Set} of IP addresses
+     */
+    public static Set<String> getEndpointIps(Endpoints endpoints) {
+        return PodAddress.getIps(getPodAddresses(endpoints));
+    }
+
+    /**
+     * Reads both ready and not ready addresses of the given {@link Endpoints}
+     *
+     * @param endpoints {@link Endpoints} instance
+     * @return {@link Collection} of pod addresses
+     */
+    public static Collection<PodAddress> getPodAddresses(Endpoints endpoints) {
+        Map<String, PodAddress> podAddresses = new LinkedHashMap<>();
+        if (endpoints.getSubsets() != null && !endpoints.getSubsets().isEmpty()) {
+            // Reading IP addresses from two lists
+            for (Subset subset : endpoints.getSubsets()) {
+                if (subset.getAddresses() != null) {
+                    for (Address address : subset.getAddresses()) {
+                        PodAddress.merge(podAddresses,
+                                new PodAddress(address.getIp(), true, address.getNodeName(), null));
+                    }
+                }
+                if (subset.getNotReadyAddresses() != null) {
+                    for (Address address : subset.getNotReadyAddresses()) {
+                        PodAddress.merge(podAddresses,
+                                new PodAddress(address.getIp(), false, address.getNodeName(), null));
+                    }
+                }
+            }
+        }
+        return podAddresses.values();
+    }
+
+    /**
+     * Reads the IP addresses of the endpoints of the given endpoint slices which are not terminating
+     *
+     * @param endpointSlices {@link EndpointSlice} instances of a service
+     * @return {@link Set} of IP addresses
+     * @see #getPodAddresses(Collection)
+     */
+    public static Set<String> getEndpointIps(Collection<EndpointSlice> endpointSlices) {
+        return PodAddress.getIps(getPodAddresses(endpointSlices));
+    }
+
+    /**
+     * Reads the addresses of the endpoints of the given endpoint slices which are not terminating. Ready and not
+     * ready endpoints are both read, as with {@link #getPodAddresses(Endpoints)}, since members of a new cluster only
+     * become ready after they have joined.
+     *
+     * A dual-stack service has an IPv4 and an IPv6 slice for the same pods, so only the slices of one address type
+     * are read: the IPv4 slices, or the IPv6 slices if there are no IPv4 slices. Slices of FQDN addresses are skipped.
+     *
+     * @param endpointSlices {@link EndpointSlice} instances of a service
+     * @return {@link Collection} of pod addresses
+     */
+    public static Collection<PodAddress> getPodAddresses(Collection<EndpointSlice> endpointSlices) {
+        String addressType = EndpointSlice.ADDRESS_TYPE_IPV6;
+        for (EndpointSlice endpointSlice : endpointSlices) {
+            if (EndpointSlice.ADDRESS_TYPE_IPV4.equals(endpointSlice.getAddressType())) {
+                addressType = EndpointSlice.ADDRESS_TYPE_IPV4;
+                break;
+            }
+        }
+        Map<String, PodAddress> podAddresses = new LinkedHashMap<>();
+        for (EndpointSlice endpointSlice : endpointSlices) {
+            if (addressType.equals(endpointSlice.getAddressType())) {
+                readPodAddresses(endpointSlice, podAddresses);
+            }
+        }
+        return podAddresses.values();
+    }
+
+    private static void readPodAddresses(EndpointSlice endpointSlice, Map<String, PodAddress> podAddresses) {
+        if (endpointSlice.getEndpoints() == null) {
+            return;
+        }
+        for (SliceEndpoint endpoint : endpointSlice.getEndpoints()) {
+            EndpointConditions conditions = endpoint.getConditions();
+            if (endpoint.getAddresses() == null || (conditions != null && conditions.isTerminating())) {
+                continue;
+            }
+            // all addresses of an endpoint belong to the same pod, the first one is the one to join on
+            if (!endpoint.getAddresses().isEmpty()) {
+                PodAddress.merge(podAddresses, new PodAddress(endpoint.getAddresses().get(0),
+                        conditions == null || conditions.isReady(), endpoint.getNodeName(), endpoint.getZone()));
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads pod IP addresses from Kubernetes Endpoints objects in the protobuf encoding of the API server
+ * (application/vnd.kubernetes.protobuf).
+ *
+ * The response is the 4 byte magic number "k8s\0" followed by a runtime.Unknown message, whose raw field holds the
+ * v1.Endpoints message. As with {@link EndpointsParser}, only metadata.resourceVersion and the ip and nodeName of
+ * subsets[].addresses[] and subsets[].notReadyAddresses[] are read, and every other field is skipped.
+ */
+public final class EndpointsProtobufParser {
+
+    private static final Log log = LogFactory.getLog(EndpointsProtobufParser.class);
+
+    private static final byte[] MAGIC = "k8s\u0000".getBytes(StandardCharsets.US_ASCII);
+
+    // field numbers of the Kubernetes generated.proto messages
+    private static final int UNKNOWN_RAW = 2;
+    private static final int ENDPOINTS_METADATA = 1;
+    private static final int ENDPOINTS_SUBSETS = 2;
+    private static final int OBJECT_META_RESOURCE_VERSION = 6;
+    private static final int SUBSET_ADDRESSES = 1;
+    private static final int SUBSET_NOT_READY_ADDRESSES = 2;
+    private static final int ADDRESS_IP = 1;
+    private static final int ADDRESS_NODE_NAME = 4;
+
+    private EndpointsProtobufParser() {
+    }
+
+    /**
+     * Reads the resource version and the IP addresses from a protobuf encoded Endpoints object. If the resource
+     * version is the known one, the rest of the object is not read and the snapshot carries no addresses.
+     *
+     * @param inputStream          protobuf encoded Endpoints object
+     * @param knownResourceVersion resource version of the addresses already known, may be null
+     * @return {@link EndpointsSnapshot}
+     * @throws IOException if the object could not be read
+     */
+    public static EndpointsSnapshot parseEndpoints(InputStream inputStream, String knownResourceVersion)
+            throws IOException {
+        ProtobufReader reader = new ProtobufReader(inputStream);
+        if (!reader.readPrefix(MAGIC)) {
+            throw new IOException("Endpoints response is not a Kubernetes protobuf message");
+        }
+        int tag;
+        while ((tag = reader.readTag()) != 0) {
+            if (ProtobufReader.getFieldNumber(tag) == UNKNOWN_RAW
+                    && ProtobufReader.getWireType(tag) == ProtobufReader.WIRE_TYPE_LENGTH_DELIMITED) {
+                return readEndpoints(reader, knownResourceVersion);
+            }
+            reader.skipField(tag);
+        }
+        throw new IOException("Endpoints response holds no object");
+    }
+
+    private static EndpointsSnapshot readEndpoints(ProtobufReader reader, String knownResourceVersion)
+            throws IOException {
+        long previousLimit = reader.pushLimit(reader.readLength());
+        String resourceVersion = null;
+        Map<String, PodAddress> podAddresses = new LinkedHashMap<>();
+        int tag;
+        while ((tag = reader.readTag()) != 0) {
+            int fieldNumber = ProtobufReader.getFieldNumber(tag);
+            if (ProtobufReader.getWireType(tag) != ProtobufReader.WIRE_TYPE_LENGTH_DELIMITED) {
+                reader.skipField(tag);
+            } else if (fieldNumber == ENDPOINTS_METADATA) {
+                resourceVersion = readResourceVersion(reader);
+                // the API server writes metadata before subsets
+                if (resourceVersion != null && resourceVersion.equals(knownResourceVersion)) {
+                    return new EndpointsSnapshot(resourceVersion, null);
+                }
+            } else if (fieldNumber == ENDPOINTS_SUBSETS) {
+                readSubset(reader, podAddresses);
+            } else {
+                reader.skipField(tag);
+            }
+        }
+        reader.popLimit(previousLimit);
+        if (log.isDebugEnabled()) {
+            log.debug("Read " + podAddresses.size() + " IP addresses from protobuf endpoints");
+        }
+        return new EndpointsSnapshot(resourceVersion, podAddresses.values());
+    }
+
+    private static String readResourceVersion(ProtobufReader reader) throws IOException {
+        long previousLimit = reader.pushLimit(reader.readLength());
+        String resourceVersion = null;
+        int tag;
+        while ((tag = reader.readTag()) != 0) {
+            if (ProtobufReader.getFieldNumber(tag) == OBJECT_META_RESOURCE_VERSION
+                    && ProtobufReader.getWireType(tag) == ProtobufReader.WIRE_TYPE_LENGTH_DELIMITED) {
+                resourceVersion = reader.readString();
+            } else {
+                reader.skipField(tag);
+            }
+        }
+        reader.popLimit(previousLimit);
+        return resourceVersion;
+    }
+
+    private static void readSubset(ProtobufReader reader, Map<String, PodAddress> podAddresses) throws IOException {
+        long previousLimit = reader.pushLimit(reader.readLength());
+        int tag;
+        while ((tag = reader.readTag()) != 0) {
+            int fieldNumber = ProtobufReader.getFieldNumber(tag);
+            if ((fieldNumber == SUBSET_ADDRESSES || fieldNumber == SUBSET_NOT_READY_ADDRESSES)
+                    && ProtobufReader.getWireType(tag) == ProtobufReader.WIRE_TYPE_LENGTH_DELIMITED) {
+                readAddress(reader, podAddresses, fieldNumber == SUBSET_ADDRESSES);
+            } else {
+                reader.skipField(tag);
+            }
+        }
+        reader.popLimit(previousLimit);
+    }
+
+    private static void readAddress(ProtobufReader reader, Map<String, PodAddress> podAddresses, boolean ready)
+            throws IOException {
+        long previousLimit = reader.pushLimit(reader.readLength());
+        String ip = null;
+        String nodeName = null;
+        int tag;
+        while ((tag = reader.readTag()) != 0) {
+            int fieldNumber = ProtobufReader.getFieldNumber(tag);
+            if (fieldNumber == ADDRESS_IP
+                    && ProtobufReader.getWireType(tag) == ProtobufReader.WIRE_TYPE_LENGTH_DELIMITED) {
+                ip = reader.readString();
+            } else if (fieldNumber == ADDRESS_NODE_NAME
+                    && ProtobufReader.getWireType(tag) == ProtobufReader.WIRE_TYPE_LENGTH_DELIMITED) {
+                nodeName = reader.readString();
+            } else {
+                reader.skipField(tag);
+            }
+        }
+        reader.popLimit(previousLimit);
+        if (ip != null) {
+            PodAddress.merge(podAddresses, new PodAddress(ip, ready, nodeName, null));
+        }
+    }
+}
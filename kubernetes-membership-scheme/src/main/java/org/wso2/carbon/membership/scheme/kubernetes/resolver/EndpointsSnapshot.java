@@ -0,0 +1,54 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Pod IP addresses of an Endpoints object, with the version they were read from
+ */
+public final class EndpointsSnapshot {
+
+    private final String resourceVersion;
+    private final Collection<PodAddress> podAddresses;
+
+    public EndpointsSnapshot(String resourceVersion, Collection<PodAddress> podAddresses) {
+        this.resourceVersion = resourceVersion;
+        this.podAddresses = podAddresses;
+    }
+
+    /**
+     * @return resource version of the Endpoints object, or null if unknown
+     */
+    public String getResourceVersion() {
+        return resourceVersion;
+    }
+
+    /**
+     * @return IP addresses, or null if the addresses were not read since the version was already known
+     */
+    public Set<String> getEndpointIps() {
+        return podAddresses != null ? PodAddress.getIps(podAddresses) : null;
+    }
+
+    /**
+     * @return pod addresses, or null if the addresses were not read since the version was already known
+     */
+    public Collection<PodAddress> getPodAddresses() {
+        return podAddresses;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.EndpointSlice;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.EndpointSliceList;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Endpoints;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.EndpointsList;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Metadata;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Pod;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.PodList;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.PodStatus;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.utils.xml.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class responsible for resolving pod ips by listing the Endpoints, EndpointSlices or Pods of the namespace which
+ * match a label selector, instead of reading the endpoints of each service. All members are read with one paginated
+ * list, whatever the number of services they belong to.
+ */
+public class LabelSelectorPodIpResolver extends ApiBasedPodIpResolver {
+
+    private static final Log log = LogFactory.getLog(LabelSelectorPodIpResolver.class);
+    private String resource;
+
+    public LabelSelectorPodIpResolver(final Map<String, Parameter> parameters)
+            throws KubernetesMembershipSchemeException {
+        super(parameters);
+        initialize();
+    }
+
+    private void initialize() throws KubernetesMembershipSchemeException {
+        if (StringUtils.isEmpty(getKubernetesLabelSelector())) {
+            throw new KubernetesMembershipSchemeException(
+                    Constants.PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR + " parameter not found");
+        }
+        String defaultResource = Boolean.parseBoolean(getConfigValue(Constants.USE_ENDPOINT_SLICES, "false")) ?
+                Constants.RESOURCE_ENDPOINT_SLICES : Constants.RESOURCE_ENDPOINTS;
+        resource = getConfigValue(Constants.PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR_RESOURCE, defaultResource)
+                .trim().toLowerCase();
+        if (!Constants.RESOURCE_ENDPOINTS.equals(resource) && !Constants.RESOURCE_ENDPOINT_SLICES.equals(resource)
+                && !Constants.RESOURCE_PODS.equals(resource)) {
+            throw new KubernetesMembershipSchemeException(String.format("Unsupported %s value: %s",
+                    Constants.PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR_RESOURCE, resource));
+        }
+        log.info(String.format("Selecting Kubernetes %s with label selector: %s", resource,
+                getKubernetesLabelSelector()));
+    }
+
+    /**
+     * Lists the selected objects page by page and merges their addresses
+     */
+    @Override
+    protected Collection<PodAddress> lookupPodAddresses() throws KubernetesMembershipSchemeException {
+        Map<String, PodAddress> podAddresses = new LinkedHashMap<>();
+        List<EndpointSlice> endpointSlices = new ArrayList<>();
+        int objects = 0;
+        String continueToken = null;
+        do {
+            Metadata listMetadata;
+            if (Constants.RESOURCE_PODS.equals(resource)) {
+                PodList podList = list(Constants.PODS_API_CONTEXT, getKubernetesLabelSelector(), continueToken,
+                        PodList.class);
+                if (podList.getItems() != null) {
+                    for (Pod pod : podList.getItems()) {
+                        PodAddress podAddress = getPodAddress(pod);
+                        if (podAddress != null) {
+                            PodAddress.merge(podAddresses, podAddress);
+                        }
+                    }
+                    objects += podList.getItems().size();
+                }
+                listMetadata = podList.getMetadata();
+            } else if (Constants.RESOURCE_ENDPOINT_SLICES.equals(resource)) {
+                EndpointSliceList sliceList = list(Constants.ENDPOINT_SLICES_API_CONTEXT,
+                        getKubernetesLabelSelector(), continueToken, EndpointSliceList.class);
+                if (sliceList.getItems() != null) {
+                    endpointSlices.addAll(sliceList.getItems());
+                    objects += sliceList.getItems().size();
+                }
+                listMetadata = sliceList.getMetadata();
+            } else {
+                EndpointsList endpointsList = list(Constants.ENDPOINTS_LIST_API_CONTEXT,
+                        getKubernetesLabelSelector(), continueToken, EndpointsList.class);
+                if (endpointsList.getItems() != null) {
+                    for (Endpoints endpoints : endpointsList.getItems()) {
+                        for (PodAddress podAddress : EndpointsParser.getPodAddresses(endpoints)) {
+                            PodAddress.merge(podAddresses, podAddress);
+                        }
+                    }
+                    objects += endpointsList.getItems().size();
+                }
+                listMetadata = endpointsList.getMetadata();
+            }
+            continueToken = listMetadata != null ? listMetadata.getContinueToken() : null;
+        } while (!StringUtils.isEmpty(continueToken));
+        // the address type of the slices is chosen once all of them are listed
+        for (PodAddress podAddress : EndpointsParser.getPodAddresses(endpointSlices)) {
+            PodAddress.merge(podAddresses, podAddress);
+        }
+
+        if (objects == 0) {
+            throw new KubernetesMembershipSchemeException(String.format("No %s found with label selector: %s",
+                    resource, getKubernetesLabelSelector()));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Resolved %d addresses from %d %s", podAddresses.size(), objects, resource));
+        }
+        return podAddresses.values();
+    }
+
+    /**
+     * Returns the address of a pod which is running or starting, or null if the pod has no address, has terminated
+     * or is being deleted
+     */
+    static PodAddress getPodAddress(Pod pod) {
+        PodStatus status = pod.getStatus();
+        if (status == null || StringUtils.isEmpty(status.getPodIP())
+                || PodStatus.PHASE_SUCCEEDED.equals(status.getPhase())
+                || PodStatus.PHASE_FAILED.equals(status.getPhase())) {
+            return null;
+        }
+        if (pod.getMetadata() != null && pod.getMetadata().getDeletionTimestamp() != null) {
+            return null;
+        }
+        return new PodAddress(status.getPodIP(), status.isReady(),
+                pod.getSpec() != null ? pod.getSpec().getNodeName() : null, null);
+    }
+
+    /**
+     * @return kind of the objects listed, one of endpoints, endpointslices or pods
+     */
+    public String getResource() {
+        return resource;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pod addresses of a resolution in which some of the services could not be resolved. The pods of those services
+ * are missing, so the addresses are only added to the members, never used to remove members, and are not kept as the
+ * last known good pods or in the peer snapshot.
+ */
+public final class PartialPodAddresses extends AbstractCollection<PodAddress> {
+
+    private final Collection<PodAddress> podAddresses;
+    private final List<String> failedServices;
+
+    /**
+     * @param podAddresses   addresses of the resolved services
+     * @param failedServices services which could not be resolved
+     */
+    public PartialPodAddresses(Collection<PodAddress> podAddresses, List<String> failedServices) {
+        this.podAddresses = Collections.unmodifiableCollection(podAddresses);
+        this.failedServices = Collections.unmodifiableList(failedServices);
+    }
+
+    /**
+     * @param podAddresses resolved pod addresses, may be null
+     * @return true if the given addresses are the result of a partial resolution
+     */
+    public static boolean isPartial(Collection<PodAddress> podAddresses) {
+        return podAddresses instanceof PartialPodAddresses;
+    }
+
+    /**
+     * @return services which could not be resolved
+     */
+    public List<String> getFailedServices() {
+        return failedServices;
+    }
+
+    @Override
+    public Iterator<PodAddress> iterator() {
+        return podAddresses.iterator();
+    }
+
+    @Override
+    public int size() {
+        return podAddresses.size();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local file with the pods of the last successful resolution, so that a restarted member can join through them
+ * before the Kubernetes API or DNS server answered. The file is replaced atomically, so that a crash while writing
+ * leaves the previous pods. It holds a version line followed by a line per pod:
+ *
+ * <pre>
+ * v1
+ * 10.244.0.2 1 node-a us-east-1a
+ * 10.244.0.3 0 - -
+ * </pre>
+ *
+ * with the IP, 1 if the pod is ready, and its node and zone, or - if unknown. The modification time of the file is
+ * the time the pods were last resolved.
+ */
+public class PeerSnapshot {
+
+    private static final Log log = LogFactory.getLog(PeerSnapshot.class);
+    private static final String VERSION = "v1";
+    private static final String UNKNOWN = "-";
+
+    private final Path file;
+    private final long maxAgeMillis;
+    private List<PodAddress> lastWritten;
+
+    /**
+     * @param file         snapshot file, whose directory must exist
+     * @param maxAgeMillis maximum age of the pods read from the file
+     */
+    public PeerSnapshot(Path file, long maxAgeMillis) {
+        this.file = file;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Reads the pods from the file. A missing, outdated or unreadable file is logged and gives no pods.
+     *
+     * @return pods of the file, or null if there are none
+     */
+    public Collection<PodAddress> read() {
+        try {
+            long ageMillis = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
+            if (ageMillis > maxAgeMillis) {
+                log.info(String.format("Peer snapshot %s is %d s old, not using it", file,
+                        TimeUnit.MILLISECONDS.toSeconds(ageMillis)));
+                return null;
+            }
+            List<PodAddress> podAddresses = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                if (!VERSION.equals(reader.readLine())) {
+                    log.warn("Peer snapshot " + file + " has an unknown format, not using it");
+                    return null;
+                }
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    String[] fields = line.split(" ");
+                    if (fields.length != 4) {
+                        log.warn("Peer snapshot " + file + " is corrupt, not using it");
+                        return null;
+                    }
+                    podAddresses.add(new PodAddress(fields[0], "1".equals(fields[1]), fromField(fields[2]),
+                            fromField(fields[3])));
+                }
+            }
+            synchronized (this) {
+                lastWritten = podAddresses;
+            }
+            return podAddresses.isEmpty() ? null : podAddresses;
+        } catch (NoSuchFileException e) {
+            log.info("No peer snapshot found: " + file);
+            return null;
+        } catch (IOException e) {
+            log.warn("Could not read peer snapshot " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given pods to the file, replacing it atomically. If the pods did not change since they were last
+     * written, only the modification time of the file is updated. A failure is logged, since the snapshot is not
+     * needed for clustering.
+     *
+     * @param podAddresses resolved pods
+     */
+    public synchronized void write(Collection<PodAddress> podAddresses) {
+        if (podAddresses.isEmpty()) {
+            return;
+        }
+        List<PodAddress> snapshot = new ArrayList<>(podAddresses);
+        try {
+            if (snapshot.equals(lastWritten) && Files.exists(file)) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                return;
+            }
+            Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(),
+                    ".tmp");
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                    writer.write(VERSION);
+                    writer.newLine();
+                    for (PodAddress podAddress : snapshot) {
+                        writer.write(podAddress.getIp());
+                        writer.write(podAddress.isReady() ? " 1 " : " 0 ");
+                        writer.write(toField(podAddress.getNodeName()));
+                        writer.write(' ');
+                        writer.write(toField(podAddress.getZone()));
+                        writer.newLine();
+                    }
+                }
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            lastWritten = snapshot;
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Peer snapshot %s written with %d pods", file, snapshot.size()));
+            }
+        } catch (IOException e) {
+            log.warn("Could not write peer snapshot " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private static String toField(String value) {
+        return value == null || value.isEmpty() ? UNKNOWN : value;
+    }
+
+    private static String fromField(String field) {
+        return UNKNOWN.equals(field) ? null : field;
+    }
+}
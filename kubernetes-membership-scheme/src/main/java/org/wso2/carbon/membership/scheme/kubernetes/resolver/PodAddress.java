@@ -0,0 +1,143 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Address of a member pod with its readiness and, where known, its node and zone
+ */
+public final class PodAddress {
+
+    private final String ip;
+    private final boolean ready;
+    private final String nodeName;
+    private final String zone;
+
+    public PodAddress(String ip, boolean ready, String nodeName, String zone) {
+        this.ip = ip;
+        this.ready = ready;
+        this.nodeName = nodeName;
+        this.zone = zone;
+    }
+
+    /**
+     * @return IP address of the pod
+     */
+    public String getIp() {
+        return ip;
+    }
+
+    /**
+     * @return true if the pod is ready, or if its readiness is unknown
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return name of the node of the pod, or null if unknown
+     */
+    public String getNodeName() {
+        return nodeName;
+    }
+
+    /**
+     * @return zone of the pod, or null if unknown
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    /**
+     * Adds an address to the given addresses by IP. If the IP is already present, the address is kept ready if
+     * either of them is ready and the known node and zone are kept.
+     *
+     * @param podAddresses addresses by IP
+     * @param podAddress   address to add
+     */
+    static void merge(Map<String, PodAddress> podAddresses, PodAddress podAddress) {
+        PodAddress existing = podAddresses.get(podAddress.ip);
+        if (existing == null) {
+            podAddresses.put(podAddress.ip, podAddress);
+        } else if (!existing.equals(podAddress)) {
+            podAddresses.put(podAddress.ip, new PodAddress(podAddress.ip, existing.ready || podAddress.ready,
+                    existing.nodeName != null ? existing.nodeName : podAddress.nodeName,
+                    existing.zone != null ? existing.zone : podAddress.zone));
+        }
+    }
+
+    /**
+     * @param podAddresses pod addresses
+     * @return IP addresses of the given pod addresses
+     */
+    public static Set<String> getIps(Collection<PodAddress> podAddresses) {
+        Set<String> ips = new HashSet<>();
+        for (PodAddress podAddress : podAddresses) {
+            ips.add(podAddress.ip);
+        }
+        return ips;
+    }
+
+    /**
+     * @param podAddresses pod addresses
+     * @return the given pod addresses with the ready ones first, otherwise in their original order
+     */
+    public static List<PodAddress> readyFirst(Collection<PodAddress> podAddresses) {
+        List<PodAddress> ordered = new ArrayList<>(podAddresses.size());
+        for (PodAddress podAddress : podAddresses) {
+            if (podAddress.ready) {
+                ordered.add(podAddress);
+            }
+        }
+        for (PodAddress podAddress : podAddresses) {
+            if (!podAddress.ready) {
+                ordered.add(podAddress);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PodAddress)) {
+            return false;
+        }
+        PodAddress that = (PodAddress) o;
+        return ready == that.ready && ip.equals(that.ip)
+                && (nodeName != null ? nodeName.equals(that.nodeName) : that.nodeName == null)
+                && (zone != null ? zone.equals(that.zone) : that.zone == null);
+    }
+
+    @Override
+    public int hashCode() {
+        return ip.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return ip + (ready ? "" : " (not ready)");
+    }
+}
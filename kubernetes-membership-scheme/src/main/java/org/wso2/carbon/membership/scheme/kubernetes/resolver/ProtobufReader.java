@@ -0,0 +1,194 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal reader of the protocol buffers wire format, for reading a few fields of a message from a stream without
+ * the generated classes. Embedded messages are entered by limiting the reader to their length, and the fields which
+ * are not needed are skipped. The stream is buffered, as the fields are read a byte at a time.
+ */
+final class ProtobufReader {
+
+    static final int WIRE_TYPE_VARINT = 0;
+    static final int WIRE_TYPE_FIXED64 = 1;
+    static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+    static final int WIRE_TYPE_FIXED32 = 5;
+
+    private final InputStream inputStream;
+    private final byte[] skipBuffer = new byte[512];
+    private long position;
+    private long limit = Long.MAX_VALUE;
+
+    ProtobufReader(InputStream inputStream) {
+        this.inputStream = new BufferedInputStream(inputStream);
+    }
+
+    /**
+     * @return tag of the next field, or 0 at the end of the current message
+     */
+    int readTag() throws IOException {
+        if (position >= limit) {
+            return 0;
+        }
+        int firstByte = inputStream.read();
+        if (firstByte < 0) {
+            if (limit != Long.MAX_VALUE) {
+                throw new EOFException("Protobuf message ends within an embedded message");
+            }
+            return 0;
+        }
+        position++;
+        return (int) readVarint(firstByte);
+    }
+
+    static int getFieldNumber(int tag) {
+        return tag >>> 3;
+    }
+
+    static int getWireType(int tag) {
+        return tag & 7;
+    }
+
+    long readVarint() throws IOException {
+        return readVarint(readByte());
+    }
+
+    private long readVarint(int firstByte) throws IOException {
+        long value = firstByte & 0x7f;
+        int b = firstByte;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            if (shift > 63) {
+                throw new IOException("Malformed protobuf varint");
+            }
+            b = readByte();
+            value |= (long) (b & 0x7f) << shift;
+        }
+        return value;
+    }
+
+    /**
+     * @return length of a length delimited field, checked against the current message
+     */
+    int readLength() throws IOException {
+        long length = readVarint();
+        if (length < 0 || length > limit - position || length > Integer.MAX_VALUE) {
+            throw new IOException("Protobuf field length out of bounds: " + length);
+        }
+        return (int) length;
+    }
+
+    String readString() throws IOException {
+        byte[] bytes = new byte[readLength()];
+        readFully(bytes, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the given number of bytes, which are compared with the expected ones
+     *
+     * @return true if the bytes are the expected ones
+     */
+    boolean readPrefix(byte[] expected) throws IOException {
+        byte[] bytes = new byte[expected.length];
+        readFully(bytes, bytes.length);
+        for (int i = 0; i < expected.length; i++) {
+            if (bytes[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Limits the reader to an embedded message of the given length
+     *
+     * @return limit to restore with {@link #popLimit(long)} once the embedded message is read
+     */
+    long pushLimit(int length) {
+        long previousLimit = limit;
+        limit = position + length;
+        return previousLimit;
+    }
+
+    /**
+     * Skips what is left of the current embedded message and restores the previous limit
+     */
+    void popLimit(long previousLimit) throws IOException {
+        skipBytes(limit - position);
+        limit = previousLimit;
+    }
+
+    void skipField(int tag) throws IOException {
+        switch (getWireType(tag)) {
+            case WIRE_TYPE_VARINT:
+                readVarint();
+                break;
+            case WIRE_TYPE_FIXED64:
+                skipBytes(8);
+                break;
+            case WIRE_TYPE_LENGTH_DELIMITED:
+                skipBytes(readLength());
+                break;
+            case WIRE_TYPE_FIXED32:
+                skipBytes(4);
+                break;
+            default:
+                throw new IOException("Unsupported protobuf wire type: " + getWireType(tag));
+        }
+    }
+
+    private int readByte() throws IOException {
+        if (position >= limit) {
+            throw new EOFException("Protobuf field exceeds its message");
+        }
+        int b = inputStream.read();
+        if (b < 0) {
+            throw new EOFException("Protobuf message ends within a field");
+        }
+        position++;
+        return b;
+    }
+
+    private void readFully(byte[] bytes, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int count = inputStream.read(bytes, read, length - read);
+            if (count < 0) {
+                throw new EOFException("Protobuf message ends within a field");
+            }
+            read += count;
+        }
+        position += length;
+    }
+
+    private void skipBytes(long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            int count = inputStream.read(skipBuffer, 0, (int) Math.min(remaining, skipBuffer.length));
+            if (count < 0) {
+                throw new EOFException("Protobuf message ends within a field");
+            }
+            remaining -= count;
+        }
+        position += length;
+    }
+}
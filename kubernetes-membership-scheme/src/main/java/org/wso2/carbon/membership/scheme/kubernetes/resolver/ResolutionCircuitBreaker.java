@@ -0,0 +1,176 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.Backoff;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guards the pod resolutions of a resolver against a failing Kubernetes API or DNS server. After a number of
+ * consecutive failed resolutions the circuit opens, and resolutions are not attempted until a backoff delay passed.
+ * The delay grows with each further failure. Once it passed, a single trial resolution is let through, which closes
+ * the circuit if it succeeds.
+ *
+ * The pods of the last successful resolution are kept, to be served in place of a failed or skipped resolution while
+ * they are not older than the maximum age.
+ */
+public class ResolutionCircuitBreaker {
+
+    private static final Log log = LogFactory.getLog(ResolutionCircuitBreaker.class);
+
+    /**
+     * State of the circuit
+     */
+    public enum State {
+        /** resolutions are attempted */
+        CLOSED,
+        /** resolutions are skipped until the backoff delay passed */
+        OPEN,
+        /** a trial resolution is in progress */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Backoff backoff;
+    private final long lastKnownGoodMaxAgeMillis;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private Collection<PodAddress> lastKnownGood;
+    private long lastKnownGoodTime;
+
+    /**
+     * @param failureThreshold          consecutive failures opening the circuit, or 0 to never open it
+     * @param backoff                   delays the circuit stays open for
+     * @param lastKnownGoodMaxAgeMillis maximum age of the pods served in place of a failed resolution, or 0 to
+     *                                  never serve them
+     */
+    public ResolutionCircuitBreaker(int failureThreshold, Backoff backoff, long lastKnownGoodMaxAgeMillis) {
+        this.failureThreshold = failureThreshold;
+        this.backoff = backoff;
+        this.lastKnownGoodMaxAgeMillis = lastKnownGoodMaxAgeMillis;
+    }
+
+    /**
+     * @return true if a resolution may be attempted now. If the backoff delay of an open circuit passed, the caller
+     * makes the trial resolution and must report its outcome.
+     */
+    public synchronized boolean allowResolution() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openUntil < 0) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                // another trial resolution is in progress
+                return false;
+        }
+    }
+
+    /**
+     * Closes the circuit and keeps the resolved pods as the last known good pods
+     *
+     * @param podAddresses resolved pods
+     */
+    public synchronized void resolutionSucceeded(Collection<PodAddress> podAddresses) {
+        if (state != State.CLOSED) {
+            log.info(String.format("Pod resolution recovered after %d consecutive failures", consecutiveFailures));
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        lastKnownGood = Collections.unmodifiableList(new ArrayList<>(podAddresses));
+        lastKnownGoodTime = System.nanoTime();
+    }
+
+    /**
+     * Closes the circuit after a resolution which reached the Kubernetes API or DNS server, but resolved only some of
+     * the services. The last known good pods are kept, since the pods of the other services are missing.
+     */
+    public synchronized void resolutionPartial() {
+        if (state != State.CLOSED) {
+            log.info(String.format("Pod resolution recovered after %d consecutive failures", consecutiveFailures));
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Counts a failed resolution, and opens the circuit if the failure threshold is reached
+     *
+     * @return true if the circuit opened
+     */
+    public synchronized boolean resolutionFailed() {
+        consecutiveFailures++;
+        if (failureThreshold <= 0 || consecutiveFailures < failureThreshold) {
+            return false;
+        }
+        long delay = backoff.getDelay(consecutiveFailures - failureThreshold);
+        openUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        state = State.OPEN;
+        log.warn(String.format("Pod resolution failed %d consecutive times, pausing resolutions for %d ms",
+                consecutiveFailures, delay));
+        return true;
+    }
+
+    /**
+     * @return pods of the last successful resolution, or null if there are none or they are older than the maximum
+     * age
+     */
+    public synchronized Collection<PodAddress> getLastKnownGood() {
+        if (lastKnownGood == null || getLastKnownGoodAgeMillis() > lastKnownGoodMaxAgeMillis) {
+            return null;
+        }
+        return lastKnownGood;
+    }
+
+    /**
+     * @return milliseconds since the last successful resolution, or -1 if there was none
+     */
+    public synchronized long getLastKnownGoodAgeMillis() {
+        if (lastKnownGood == null) {
+            return -1;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastKnownGoodTime);
+    }
+
+    /**
+     * @return milliseconds until the next resolution is attempted, or 0 if resolutions are attempted
+     */
+    public synchronized long getRetryDelayMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(openUntil - System.nanoTime()));
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
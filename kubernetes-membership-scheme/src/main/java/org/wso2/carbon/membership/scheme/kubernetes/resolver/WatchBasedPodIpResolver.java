@@ -0,0 +1,292 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.membership.scheme.kubernetes.resolver;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.membership.scheme.kubernetes.Backoff;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.api.KubernetesApiEndpoint;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Endpoints;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.EndpointsList;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.WatchEvent;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class responsible for resolving pod ips by watching the Kubernetes Endpoints of the namespace.
+ *
+ * The Endpoints are listed once and then kept up to date by applying the events of a long-lived watch, which is
+ * resumed from the last seen resourceVersion. Addresses are answered from the in-memory view.
+ */
+public class WatchBasedPodIpResolver extends ApiBasedPodIpResolver {
+
+    private static final Log log = LogFactory.getLog(WatchBasedPodIpResolver.class);
+    private static final int HTTP_GONE = 410;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30000;
+
+    private final Set<String> kubernetesServiceNames = new HashSet<>();
+    // replaced as a whole by a relist, and updated in place by the watch events
+    private volatile Map<String, Collection<PodAddress>> serviceAddresses = new ConcurrentHashMap<>();
+    private volatile Collection<PodAddress> podAddresses = Collections.emptyList();
+    private volatile String resourceVersion;
+    private volatile boolean running;
+    private Thread watcherThread;
+
+    public WatchBasedPodIpResolver(Map<String, Parameter> parameters) throws KubernetesMembershipSchemeException {
+        super(parameters);
+        for (String kubernetesService : getKubernetesServicesArray()) {
+            kubernetesServiceNames.add(kubernetesService.trim());
+        }
+    }
+
+    @Override
+    protected Collection<PodAddress> lookupPodAddresses() throws KubernetesMembershipSchemeException {
+        if (!running) {
+            startWatch();
+        }
+        return podAddresses;
+    }
+
+    @Override
+    protected Collection<PodAddress> resolvePodAddresses(String kubernetesService)
+            throws KubernetesMembershipSchemeException {
+        if (!running) {
+            startWatch();
+        }
+        Collection<PodAddress> addresses = serviceAddresses.get(kubernetesService);
+        return addresses != null ? addresses : Collections.<PodAddress>emptyList();
+    }
+
+    @Override
+    protected Set<String> resolveAddresses(String kubernetesService) throws KubernetesMembershipSchemeException {
+        return PodAddress.getIps(resolvePodAddresses(kubernetesService));
+    }
+
+    /**
+     * @return last seen resource version of the Endpoints of the namespace, while the watch is running
+     */
+    @Override
+    public String getPodsVersion() {
+        return running ? resourceVersion : null;
+    }
+
+    /**
+     * Lists the endpoints and starts the watcher thread, if not started already
+     *
+     * @throws KubernetesMembershipSchemeException if the initial list fails
+     */
+    private synchronized void startWatch() throws KubernetesMembershipSchemeException {
+        if (running) {
+            return;
+        }
+        relist();
+        running = true;
+        watcherThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch();
+            }
+        }, "kubernetes-endpoints-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        log.info("Started watching Kubernetes endpoints from resource version: " + resourceVersion);
+    }
+
+    /**
+     * Stops the watcher thread
+     */
+    public synchronized void shutdown() {
+        running = false;
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+            watcherThread = null;
+        }
+    }
+
+    private void watch() {
+        Backoff reconnectBackoff = new Backoff(1000, MAX_RECONNECT_DELAY_MILLIS);
+        int failedAttempts = 0;
+        while (running) {
+            try {
+                if (resourceVersion == null) {
+                    relist();
+                }
+                readWatchStream();
+                failedAttempts = 0;
+            } catch (KubernetesMembershipSchemeException | IOException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                if (!(e instanceof KubernetesMembershipSchemeException)) {
+                    // failed API requests are recorded where they fail
+                    getMetrics().apiErrorRecorded();
+                }
+                long reconnectDelay = reconnectBackoff.getDelay(failedAttempts++);
+                log.warn("Kubernetes endpoints watch failed, reconnecting in " + reconnectDelay + " ms", e);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.info("Stopped watching Kubernetes endpoints");
+    }
+
+    /**
+     * Lists all endpoints of the namespace and replaces the in-memory view. The new view is built on the side, so that
+     * concurrent resolutions see either the previous or the new endpoints of a service.
+     *
+     * @throws KubernetesMembershipSchemeException if the endpoints could not be listed
+     */
+    private void relist() throws KubernetesMembershipSchemeException {
+        URL apiEndpointUrl = createUrl(getKubernetesApiServerUrl(),
+                String.format(Constants.ENDPOINTS_LIST_API_CONTEXT, getKubernetesNamespace()));
+        KubernetesApiEndpoint apiEndpoint = createAPIEndpoint(apiEndpointUrl);
+        EndpointsList endpointsList;
+        try {
+            connect(apiEndpoint);
+            endpointsList = EndpointsParser.MAPPER.readValue(apiEndpoint.read(), EndpointsList.class);
+        } catch (IOException e) {
+            getMetrics().apiErrorRecorded();
+            throw new KubernetesMembershipSchemeException("Could not list the Endpoints", e);
+        } finally {
+            apiEndpoint.disconnect();
+        }
+
+        Map<String, Collection<PodAddress>> listedAddresses = new ConcurrentHashMap<>();
+        if (endpointsList.getItems() != null) {
+            for (Endpoints endpoints : endpointsList.getItems()) {
+                apply(listedAddresses, WatchEvent.ADDED, endpoints);
+            }
+        }
+        serviceAddresses = listedAddresses;
+        for (String kubernetesService : kubernetesServiceNames) {
+            if (!listedAddresses.containsKey(kubernetesService)) {
+                log.warn("No endpoints found for service: " + kubernetesService);
+            }
+        }
+        refreshPodAddresses();
+        resourceVersion = endpointsList.getMetadata() != null ? endpointsList.getMetadata().getResourceVersion() : null;
+    }
+
+    /**
+     * Opens the watch from the last seen resource version and applies the events until the stream ends. Resets the
+     * resource version if the server reports it as expired, so that the next iteration relists.
+     */
+    private void readWatchStream() throws KubernetesMembershipSchemeException, IOException {
+        URL apiEndpointUrl = createUrl(getKubernetesApiServerUrl(),
+                String.format(Constants.ENDPOINTS_LIST_API_CONTEXT, getKubernetesNamespace())
+                        + String.format(Constants.WATCH_QUERY, resourceVersion, Constants.WATCH_TIMEOUT_SECONDS));
+        // the server ends a quiet watch after its timeout, the read timeout only catches a connection that is gone
+        KubernetesApiEndpoint apiEndpoint = createAPIEndpoint(apiEndpointUrl,
+                (int) TimeUnit.SECONDS.toMillis(Constants.WATCH_TIMEOUT_SECONDS + 30));
+        try {
+            connect(apiEndpoint);
+            int responseCode = apiEndpoint.getResponseCode();
+            if (responseCode == HTTP_GONE) {
+                log.info("Resource version " + resourceVersion + " is too old, relisting endpoints");
+                resourceVersion = null;
+                return;
+            } else if (responseCode != HttpURLConnection.HTTP_OK) {
+                getMetrics().apiErrorRecorded();
+                throw new KubernetesMembershipSchemeException("Kubernetes endpoints watch returned HTTP "
+                        + responseCode);
+            }
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(apiEndpoint.read(),
+                    StandardCharsets.UTF_8));
+            String line;
+            while (running && (line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                WatchEvent event = EndpointsParser.MAPPER.readValue(line, WatchEvent.class);
+                if (WatchEvent.ERROR.equals(event.getType())) {
+                    if (event.getObject() != null && event.getObject().path("code").asInt() == HTTP_GONE) {
+                        log.info("Resource version " + resourceVersion + " is too old, relisting endpoints");
+                        resourceVersion = null;
+                        return;
+                    }
+                    getMetrics().apiErrorRecorded();
+                    throw new KubernetesMembershipSchemeException("Kubernetes endpoints watch error: " + line);
+                }
+                Endpoints endpoints = EndpointsParser.MAPPER.treeToValue(event.getObject(), Endpoints.class);
+                if (apply(serviceAddresses, event.getType(), endpoints)) {
+                    refreshPodAddresses();
+                }
+                if (endpoints.getMetadata() != null && endpoints.getMetadata().getResourceVersion() != null) {
+                    resourceVersion = endpoints.getMetadata().getResourceVersion();
+                }
+            }
+        } finally {
+            // the watch is not read to the end when stopped or failed, so the connection is not reused
+            apiEndpoint.abort();
+        }
+    }
+
+    /**
+     * Applies an event of the given type to a view of the endpoints
+     *
+     * @param addresses pod addresses by service to update
+     * @return true if the endpoints belong to one of the configured services
+     */
+    private boolean apply(Map<String, Collection<PodAddress>> addresses, String eventType, Endpoints endpoints) {
+        if (endpoints.getMetadata() == null || !kubernetesServiceNames.contains(endpoints.getMetadata().getName())) {
+            return false;
+        }
+        String kubernetesService = endpoints.getMetadata().getName();
+        if (WatchEvent.ADDED.equals(eventType) || WatchEvent.MODIFIED.equals(eventType)) {
+            addresses.put(kubernetesService, EndpointsParser.getPodAddresses(endpoints));
+        } else if (WatchEvent.DELETED.equals(eventType)) {
+            addresses.remove(kubernetesService);
+        } else {
+            return false;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Applied %s event for service: %s", eventType, kubernetesService));
+        }
+        return true;
+    }
+
+    private void refreshPodAddresses() {
+        Map<String, PodAddress> addresses = new LinkedHashMap<>();
+        for (Collection<PodAddress> endpointAddresses : serviceAddresses.values()) {
+            for (PodAddress podAddress : endpointAddresses) {
+                PodAddress.merge(addresses, podAddress);
+            }
+        }
+        podAddresses = Collections.unmodifiableCollection(addresses.values());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP proxy in front of the mock API server, counting the connections opened by the clients
+ */
+public class ConnectionCountingProxy {
+
+    private static final Log log = LogFactory.getLog(ConnectionCountingProxy.class);
+
+    private final ServerSocket serverSocket;
+    private final int targetPort;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public ConnectionCountingProxy(int targetPort) throws IOException {
+        this.targetPort = targetPort;
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                accept();
+            }
+        });
+        log.info("Connection counting proxy started at port: " + serverSocket.getLocalPort());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public void resetConnections() {
+        connections.set(0);
+    }
+
+    public void stop() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket client = serverSocket.accept();
+                connections.incrementAndGet();
+                final Socket target = new Socket(InetAddress.getLoopbackAddress(), targetPort);
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        pipe(client, target);
+                    }
+                });
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        pipe(target, client);
+                    }
+                });
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.error("Connection counting proxy could not accept connection", e);
+                }
+            }
+        }
+    }
+
+    private static void pipe(Socket from, Socket to) {
+        byte[] buffer = new byte[8192];
+        try {
+            InputStream inputStream = from.getInputStream();
+            OutputStream outputStream = to.getOutputStream();
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+                outputStream.flush();
+            }
+        } catch (IOException ignored) {
+            // the other side closed the connection
+        } finally {
+            try {
+                from.close();
+                to.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
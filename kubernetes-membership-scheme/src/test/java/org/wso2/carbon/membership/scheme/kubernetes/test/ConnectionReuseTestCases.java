@@ -0,0 +1,143 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.Header;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.api.KubernetesApiEndpoint;
+import org.wso2.carbon.membership.scheme.kubernetes.api.KubernetesHttpApiEndpoint;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.ApiBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsParser;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.wso2.carbon.membership.scheme.kubernetes.test.KubernetesAPIMockServer.MOCK_SERVER_PORT;
+
+/**
+ * Tests reuse of the connections to the Kubernetes API server
+ */
+public class ConnectionReuseTestCases {
+    private static final Log log = LogFactory.getLog(ConnectionReuseTestCases.class);
+    private static final int REQUESTS = 50;
+    private String namespace = "connection-reuse-test";
+    private ConnectionCountingProxy proxy;
+
+    @BeforeClass
+    public void init() throws Exception {
+        ClientAndServer mockServer = KubernetesAPIMockServer.getMockServer();
+        String endpointJSON = IOUtils.toString(
+                this.getClass().getResourceAsStream("/ReadinessProbeEndpointTestCases/addressOnly.json"), "UTF-8");
+        mockServer.when(
+                request()
+                        .withPath(String.format(Constants.ENDPOINTS_API_CONTEXT, namespace) + "store")
+                        .withMethod("GET")
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeaders(
+                                new Header("Content-Type", "application/json; charset=utf-8")
+                        )
+                        .withBody(endpointJSON)
+        );
+        proxy = new ConnectionCountingProxy(MOCK_SERVER_PORT);
+    }
+
+    @AfterClass
+    public void stop() throws Exception {
+        proxy.stop();
+    }
+
+    @Test
+    public void testResolverReusesConnections() throws Exception {
+        log.info("Executing test case with repeated resolves");
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, namespace));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER, "http://localhost:" + proxy.getPort()));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, "store,missing"));
+        parameters.put(Constants.SERVICE_LOOKUP_THREADS, new Parameter(Constants.SERVICE_LOOKUP_THREADS, "1"));
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(parameters);
+
+        proxy.resetConnections();
+        for (int i = 0; i < 20; i++) {
+            // the missing service is skipped after an error response
+            resolver.resolveAddresses();
+        }
+        // a connection kept alive by another test may be reused as well
+        assertTrue(proxy.getConnections() <= 1, "Connection reused across resolves and error responses");
+    }
+
+    @Test
+    public void testUnsentRequestIsNotSentOnDisconnect() throws Exception {
+        log.info("Executing test case releasing a connection whose request was not sent");
+        String path = String.format(Constants.ENDPOINTS_API_CONTEXT, namespace) + "unsent";
+        KubernetesApiEndpoint endpoint = new KubernetesHttpApiEndpoint(
+                new URL("http://localhost:" + MOCK_SERVER_PORT + path));
+        endpoint.createConnection();
+        endpoint.disconnect();
+        assertEquals(KubernetesAPIMockServer.getMockServer().retrieveRecordedRequests(
+                request().withPath(path)).length, 0, "No request sent");
+    }
+
+    @Test
+    public void testConnectionsWithAndWithoutReuse() throws Exception {
+        log.info("Executing test case comparing connection reuse with a connection per request");
+        URL url = new URL("http://localhost:" + proxy.getPort()
+                + String.format(Constants.ENDPOINTS_API_CONTEXT, namespace) + "store");
+
+        proxy.resetConnections();
+        sendRequests(url, false, REQUESTS);
+        assertEquals(proxy.getConnections(), REQUESTS, "Connection per request");
+
+        proxy.resetConnections();
+        sendRequests(url, true, REQUESTS);
+        assertTrue(proxy.getConnections() <= 1, "Connection reused");
+    }
+
+    /**
+     * Reads the endpoints of the service, either releasing the connection for reuse or asking the server to close it
+     */
+    private static void sendRequests(URL url, boolean reuse, int requests) throws Exception {
+        for (int i = 0; i < requests; i++) {
+            KubernetesApiEndpoint endpoint = new KubernetesHttpApiEndpoint(url);
+            endpoint.createConnection();
+            if (!reuse) {
+                endpoint.setRequestProperty("Connection", "close");
+            }
+            try {
+                assertEquals(EndpointsParser.parseEndpointIps(endpoint.read()).size(), 2, "Addresses read");
+            } finally {
+                endpoint.disconnect();
+            }
+        }
+    }
+}
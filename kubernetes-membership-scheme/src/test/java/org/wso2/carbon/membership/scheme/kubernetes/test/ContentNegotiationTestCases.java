@@ -0,0 +1,154 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.BinaryBody;
+import org.mockserver.model.Header;
+import org.mockserver.model.HttpRequest;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Endpoints;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.ApiBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.wso2.carbon.membership.scheme.kubernetes.test.KubernetesAPIMockServer.MOCK_SERVER_PORT;
+
+/**
+ * Tests negotiating the protobuf encoding and gzip compression of the Kubernetes API responses
+ */
+public class ContentNegotiationTestCases {
+    private static final Log log = LogFactory.getLog(ContentNegotiationTestCases.class);
+    private static final String ENDPOINTS_JSON_PATH = "/ReadinessProbeEndpointTestCases/notReadyAddressAndAddress.json";
+    private ClientAndServer mockServer;
+    private String namespace = "content-negotiation-test";
+    private String endpointJSON;
+
+    @BeforeClass
+    public void init() throws Exception {
+        mockServer = KubernetesAPIMockServer.getMockServer();
+        endpointJSON = IOUtils.toString(this.getClass().getResourceAsStream(ENDPOINTS_JSON_PATH), "UTF-8");
+    }
+
+    @Test
+    public void testProtobufIsNegotiated() throws Exception {
+        log.info("Executing test case with a protobuf encoded response");
+        byte[] protobuf = EndpointsProtobufWriter.write(new ObjectMapper().readValue(endpointJSON, Endpoints.class));
+        mockServer.when(
+                servicePath("protobuf")
+                        .withHeader(Constants.ACCEPT_HEADER, Constants.CONTENT_TYPE_PROTOBUF + ".*")
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", Constants.CONTENT_TYPE_PROTOBUF))
+                        .withBody(new BinaryBody(protobuf))
+        );
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("protobuf", "true"));
+        assertEquals(new ArrayList<>(resolver.resolvePodAddresses()), expectedAddresses(),
+                "Addresses read from protobuf");
+    }
+
+    @Test
+    public void testCompressedJsonIsRead() throws Exception {
+        log.info("Executing test case with a gzip compressed JSON response");
+        mockServer.when(
+                servicePath("gzip")
+                        .withHeader(Constants.ACCEPT_ENCODING_HEADER, Constants.CONTENT_ENCODING_GZIP)
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json; charset=utf-8"))
+                        .withHeader(new Header("Content-Encoding", Constants.CONTENT_ENCODING_GZIP))
+                        .withBody(new BinaryBody(gzip(endpointJSON.getBytes("UTF-8"))))
+        );
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("gzip", "true"));
+        assertEquals(new ArrayList<>(resolver.resolvePodAddresses()), expectedAddresses(),
+                "Addresses read from compressed JSON");
+    }
+
+    @Test
+    public void testJsonWithoutProtobuf() throws Exception {
+        log.info("Executing test case with the protobuf encoding disabled");
+        mockServer.when(
+                servicePath("json")
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json; charset=utf-8"))
+                        .withBody(endpointJSON)
+        );
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("json", "false"));
+        assertEquals(new ArrayList<>(resolver.resolvePodAddresses()), expectedAddresses(), "Addresses read");
+        for (HttpRequest recordedRequest : mockServer.retrieveRecordedRequests(servicePath("json"))) {
+            for (Header header : recordedRequest.getHeaders()) {
+                if (header.getName().getValue().equalsIgnoreCase(Constants.ACCEPT_HEADER)) {
+                    assertFalse(header.getValues().toString().contains(Constants.CONTENT_TYPE_PROTOBUF),
+                            "Protobuf not requested");
+                }
+            }
+        }
+    }
+
+    private static ArrayList<PodAddress> expectedAddresses() {
+        return new ArrayList<>(Arrays.asList(new PodAddress("10.244.89.8", true, null, null),
+                new PodAddress("10.244.89.9", false, null, null)));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private HttpRequest servicePath(String service) {
+        return request()
+                .withPath(String.format(Constants.ENDPOINTS_API_CONTEXT, namespace) + service)
+                .withMethod("GET");
+    }
+
+    private Map<String, Parameter> createParameters(String services, String useProtobuf) {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, namespace));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                        "http://localhost:" + MOCK_SERVER_PORT));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, services));
+        parameters.put(Constants.USE_API_PROTOBUF, new Parameter(Constants.USE_API_PROTOBUF, useProtobuf));
+        return parameters;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.DNSBasedPodIpResolver;
+import org.xbill.DNS.Rcode;
+
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for the DNS based pod ip resolver against an in-process DNS server
+ */
+public class DNSBasedPodIpResolverTestCases {
+    private static final Log log = LogFactory.getLog(DNSBasedPodIpResolverTestCases.class);
+    private static final long ADDRESS_DELAY_MILLIS = 200;
+    private DNSStubServer dnsServer;
+
+    @BeforeClass
+    public void init() throws Exception {
+        dnsServer = new DNSStubServer();
+    }
+
+    @AfterClass
+    public void stop() {
+        dnsServer.stop();
+    }
+
+    @Test
+    public void testAdditionalRecordsAreUsed() throws Exception {
+        log.info("Executing test case with SRV additional records");
+        dnsServer.setPodCount(20);
+        dnsServer.setAdditionalRecords(true);
+        dnsServer.setAddressDelayMillis(ADDRESS_DELAY_MILLIS);
+        dnsServer.resetCounters();
+
+        assertEquals(createResolver().resolveAddresses().size(), 20, "Addresses from the additional section");
+        assertEquals(dnsServer.getAddressQueries(), 0, "No A/AAAA lookups for SRV targets");
+    }
+
+    @Test
+    public void testLookupsAreConcurrentAndBounded() throws Exception {
+        log.info("Executing test case with concurrent SRV target lookups");
+        dnsServer.setAdditionalRecords(false);
+        dnsServer.setAddressDelayMillis(ADDRESS_DELAY_MILLIS);
+
+        long fewPodsLatency = measure(4);
+        long manyPodsLatency = measure(40);
+        log.info(String.format("Resolve latency: [4 pods] %d ms, [40 pods] %d ms", fewPodsLatency, manyPodsLatency));
+
+        // sequential lookups would take at least 40 * ADDRESS_DELAY_MILLIS, and 8 lookup threads 5 times as long
+        assertTrue(fewPodsLatency < 3 * ADDRESS_DELAY_MILLIS, "SRV targets looked up concurrently");
+        assertTrue(manyPodsLatency < 10 * ADDRESS_DELAY_MILLIS, "SRV targets looked up concurrently");
+        assertTrue(manyPodsLatency >= 5 * ADDRESS_DELAY_MILLIS, "Concurrent lookups bounded by the lookup threads");
+    }
+
+    @Test
+    public void testAddressTypeInUseIsQueried() throws Exception {
+        log.info("Executing test case with IPv6 pods");
+        dnsServer.setPodCount(10);
+        dnsServer.setAdditionalRecords(false);
+        dnsServer.setAddressDelayMillis(0);
+        dnsServer.setIpv6(true);
+        try {
+            DNSBasedPodIpResolver resolver = createResolver();
+            dnsServer.resetCounters();
+            assertEquals(resolver.resolveAddresses().size(), 10, "IPv6 addresses of all SRV targets");
+            assertTrue(dnsServer.getAddressQueries() <= 20, "AAAA looked up after the A lookup found nothing");
+            dnsServer.resetCounters();
+            assertEquals(resolver.resolveAddresses().size(), 10, "IPv6 addresses resolved again");
+            assertEquals(dnsServer.getAddressQueries(), 10, "Only AAAA looked up once IPv6 is in use");
+        } finally {
+            dnsServer.setIpv6(false);
+        }
+    }
+
+    @Test
+    public void testPositiveAnswersAreCached() throws Exception {
+        log.info("Executing test case with the DNS cache enabled");
+        dnsServer.setPodCount(10);
+        dnsServer.setAdditionalRecords(false);
+        dnsServer.setAddressDelayMillis(0);
+        DNSBasedPodIpResolver resolver = createResolver("60");
+
+        // failures are not cached
+        dnsServer.setRcode(Rcode.SERVFAIL);
+        try {
+            resolver.resolveAddresses();
+            fail("Resolution fails while the DNS server is failing");
+        } catch (KubernetesMembershipSchemeException expected) {
+            log.info("Resolution failed as expected: " + expected.getMessage());
+        } finally {
+            dnsServer.setRcode(Rcode.NOERROR);
+        }
+        dnsServer.resetCounters();
+        assertEquals(resolver.resolveAddresses().size(), 10, "Addresses after the DNS server recovered");
+        assertEquals(dnsServer.getSrvQueries(), 1, "SRV failure not served from the cache");
+
+        dnsServer.resetCounters();
+        assertEquals(resolver.resolveAddresses().size(), 10, "Addresses served from the cache");
+        assertEquals(dnsServer.getSrvQueries(), 0, "SRV answer served from the cache");
+        assertEquals(dnsServer.getAddressQueries(), 0, "A answers served from the cache");
+    }
+
+    @Test
+    public void testCacheDisabledByDefault() throws Exception {
+        log.info("Executing test case with the DNS cache disabled");
+        dnsServer.setPodCount(3);
+        dnsServer.setAdditionalRecords(true);
+        DNSBasedPodIpResolver resolver = createResolver();
+        resolver.resolveAddresses();
+        dnsServer.resetCounters();
+        assertEquals(resolver.resolveAddresses().size(), 3, "Addresses resolved again");
+        assertEquals(dnsServer.getSrvQueries(), 1, "SRV looked up again");
+    }
+
+    @Test
+    public void testMissingNameIsNoPods() throws Exception {
+        log.info("Executing test case with a service name that does not exist");
+        dnsServer.setPodCount(3);
+        dnsServer.setRcode(Rcode.NXDOMAIN);
+        try {
+            assertEquals(createResolver().resolveAddresses().size(), 0, "No pods for a name that does not exist");
+        } finally {
+            dnsServer.setRcode(Rcode.NOERROR);
+        }
+    }
+
+    @Test(expectedExceptions = KubernetesMembershipSchemeException.class)
+    public void testUnansweredLookupFails() throws Exception {
+        log.info("Executing test case with a DNS server that does not answer");
+        DatagramSocket silentServer = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        try {
+            Map<String, Parameter> parameters = createParameters(silentServer.getLocalPort());
+            parameters.put(Constants.DNS_LOOKUP_TIMEOUT, new Parameter(Constants.DNS_LOOKUP_TIMEOUT, "1"));
+            new DNSBasedPodIpResolver(parameters).resolveAddresses();
+        } finally {
+            silentServer.close();
+        }
+    }
+
+    private long measure(int podCount) throws Exception {
+        dnsServer.setPodCount(podCount);
+        dnsServer.resetCounters();
+        DNSBasedPodIpResolver resolver = createResolver();
+        long start = System.currentTimeMillis();
+        assertEquals(resolver.resolveAddresses().size(), podCount, "Addresses of all SRV targets");
+        long latency = System.currentTimeMillis() - start;
+        assertEquals(dnsServer.getAddressQueries(), podCount, "Only A looked up for IPv4 SRV targets");
+        return latency;
+    }
+
+    private DNSBasedPodIpResolver createResolver() throws Exception {
+        return createResolver(null);
+    }
+
+    private DNSBasedPodIpResolver createResolver(String dnsCacheMaxTtl) throws Exception {
+        Map<String, Parameter> parameters = createParameters(dnsServer.getPort());
+        parameters.put(Constants.DNS_LOOKUP_TIMEOUT, new Parameter(Constants.DNS_LOOKUP_TIMEOUT, "2"));
+        parameters.put(Constants.DNS_LOOKUP_THREADS, new Parameter(Constants.DNS_LOOKUP_THREADS, "8"));
+        if (dnsCacheMaxTtl != null) {
+            parameters.put(Constants.DNS_CACHE_MAX_TTL, new Parameter(Constants.DNS_CACHE_MAX_TTL, dnsCacheMaxTtl));
+        }
+        return new DNSBasedPodIpResolver(parameters);
+    }
+
+    private Map<String, Parameter> createParameters(int dnsServerPort) {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, "dns-test"));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, "wso2is-default"));
+        parameters.put(Constants.DNS_SERVER, new Parameter(Constants.DNS_SERVER, "127.0.0.1:" + dnsServerPort));
+        return parameters;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.xbill.DNS.AAAARecord;
+import org.xbill.DNS.ARecord;
+import org.xbill.DNS.DClass;
+import org.xbill.DNS.Flags;
+import org.xbill.DNS.Message;
+import org.xbill.DNS.Name;
+import org.xbill.DNS.Rcode;
+import org.xbill.DNS.Record;
+import org.xbill.DNS.SRVRecord;
+import org.xbill.DNS.Section;
+import org.xbill.DNS.Type;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process UDP DNS server for the DNS resolver tests. Answers the SRV query of a headless service with the
+ * configured number of pods, and the A or AAAA queries of the pod names after a fixed delay.
+ */
+public class DNSStubServer {
+
+    private static final Log log = LogFactory.getLog(DNSStubServer.class);
+    private static final long TTL = 30;
+
+    private final DatagramSocket socket;
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(4);
+    private final AtomicInteger addressQueries = new AtomicInteger();
+    private final AtomicInteger srvQueries = new AtomicInteger();
+    private volatile int podCount;
+    private volatile boolean additionalRecords;
+    private volatile long addressDelayMillis;
+    private volatile int rcode = Rcode.NOERROR;
+    private volatile boolean ipv6;
+
+    public DNSStubServer() throws SocketException {
+        socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        Thread receiver = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                receive();
+            }
+        }, "dns-stub-server");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("DNS stub server started at port: " + socket.getLocalPort());
+    }
+
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    public void setPodCount(int podCount) {
+        this.podCount = podCount;
+    }
+
+    public void setAdditionalRecords(boolean additionalRecords) {
+        this.additionalRecords = additionalRecords;
+    }
+
+    public void setAddressDelayMillis(long addressDelayMillis) {
+        this.addressDelayMillis = addressDelayMillis;
+    }
+
+    /**
+     * @param rcode response code of the answers, {@link Rcode#NOERROR} to answer with the pods
+     */
+    public void setRcode(int rcode) {
+        this.rcode = rcode;
+    }
+
+    /**
+     * @param ipv6 true to give the pods IPv6 addresses only
+     */
+    public void setIpv6(boolean ipv6) {
+        this.ipv6 = ipv6;
+    }
+
+    public int getAddressQueries() {
+        return addressQueries.get();
+    }
+
+    public int getSrvQueries() {
+        return srvQueries.get();
+    }
+
+    public void resetCounters() {
+        addressQueries.set(0);
+        srvQueries.set(0);
+    }
+
+    public void stop() {
+        socket.close();
+        responder.shutdownNow();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[512];
+        while (!socket.isClosed()) {
+            try {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                socket.receive(packet);
+                final Message query = new Message(packet.getData());
+                final InetAddress clientAddress = packet.getAddress();
+                final int clientPort = packet.getPort();
+                Record question = query.getQuestion();
+                long delay = 0;
+                if (question.getType() == Type.SRV) {
+                    srvQueries.incrementAndGet();
+                } else {
+                    addressQueries.incrementAndGet();
+                    delay = addressDelayMillis;
+                }
+                responder.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        respond(query, clientAddress, clientPort);
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.error("DNS stub server could not read query", e);
+                }
+            }
+        }
+    }
+
+    private void respond(Message query, InetAddress clientAddress, int clientPort) {
+        try {
+            Record question = query.getQuestion();
+            Message response = new Message(query.getHeader().getID());
+            response.getHeader().setFlag(Flags.QR);
+            response.getHeader().setFlag(Flags.AA);
+            response.addRecord(question, Section.QUESTION);
+            Name name = question.getName();
+            if (rcode != Rcode.NOERROR) {
+                response.getHeader().setRcode(rcode);
+                byte[] wire = response.toWire();
+                socket.send(new DatagramPacket(wire, wire.length, clientAddress, clientPort));
+                return;
+            }
+            if (question.getType() == Type.SRV) {
+                for (int i = 0; i < podCount; i++) {
+                    Name target = new Name("pod-" + i, name);
+                    response.addRecord(new SRVRecord(name, DClass.IN, TTL, 0, 100, 4000, target), Section.ANSWER);
+                    if (additionalRecords) {
+                        response.addRecord(new ARecord(target, DClass.IN, TTL, podAddress(i)), Section.ADDITIONAL);
+                    }
+                }
+            } else if (name.getLabelString(0).startsWith("pod-")) {
+                int index = Integer.parseInt(name.getLabelString(0).substring("pod-".length()));
+                if (question.getType() == Type.A && !ipv6) {
+                    response.addRecord(new ARecord(name, DClass.IN, TTL, podAddress(index)), Section.ANSWER);
+                } else if (question.getType() == Type.AAAA && ipv6) {
+                    response.addRecord(new AAAARecord(name, DClass.IN, TTL, podIpv6Address(index)),
+                            Section.ANSWER);
+                }
+            }
+            response.getHeader().setRcode(Rcode.NOERROR);
+            byte[] wire = response.toWire();
+            socket.send(new DatagramPacket(wire, wire.length, clientAddress, clientPort));
+        } catch (IOException e) {
+            log.error("DNS stub server could not send response", e);
+        }
+    }
+
+    private static InetAddress podAddress(int index) throws IOException {
+        return InetAddress.getByAddress(new byte[]{10, (byte) 244, (byte) (index / 250), (byte) (index % 250 + 1)});
+    }
+
+    private static InetAddress podIpv6Address(int index) throws IOException {
+        byte[] address = new byte[16];
+        address[0] = (byte) 0xfd;
+        address[14] = (byte) (index / 250);
+        address[15] = (byte) (index % 250 + 1);
+        return InetAddress.getByAddress(address);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.Header;
+import org.mockserver.model.HttpRequest;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointSliceBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.testng.Assert.assertEquals;
+import static org.wso2.carbon.membership.scheme.kubernetes.test.KubernetesAPIMockServer.MOCK_SERVER_PORT;
+
+/**
+ * Tests resolving the pod IPs of a service from its EndpointSlices
+ */
+public class EndpointSliceTestCases {
+    private static final Log log = LogFactory.getLog(EndpointSliceTestCases.class);
+    private ClientAndServer mockServer;
+    private String namespace = "endpoint-slice-test";
+
+    @BeforeClass
+    public void init() throws Exception {
+        mockServer = KubernetesAPIMockServer.getMockServer();
+    }
+
+    @Test
+    public void testSlicesAreMerged() throws Exception {
+        log.info("Executing test case with paginated endpoint slices");
+        // the more specific second page expectation has to be registered first
+        registerAPI(slicesPath("merged").withQueryStringParameter("continue", "page-2"),
+                "/EndpointSliceTestCases/secondPage.json");
+        registerAPI(slicesPath("merged"), "/EndpointSliceTestCases/firstPage.json");
+        EndpointSliceBasedPodIpResolver resolver = new EndpointSliceBasedPodIpResolver(createParameters("merged"));
+
+        assertEquals(resolver.resolveAddresses(), new HashSet<>(Arrays.asList(
+                "10.244.1.10", "10.244.1.11", "10.244.2.20")), "Terminating and FQDN endpoints skipped");
+        for (PodAddress podAddress : resolver.resolvePodAddresses()) {
+            assertEquals(podAddress.isReady(), !"10.244.2.20".equals(podAddress.getIp()), podAddress.getIp());
+            assertEquals(podAddress.getZone(), "zone-a", podAddress.getIp());
+        }
+    }
+
+    @Test
+    public void testChangedSlicesAreRead() throws Exception {
+        log.info("Executing test case with a changed endpoint slice");
+        registerAPI(slicesPath("scaling").withQueryStringParameter("continue", "page-2"),
+                "/EndpointSliceTestCases/secondPage.json");
+        registerAPI(slicesPath("scaling"), "/EndpointSliceTestCases/firstPage.json");
+        EndpointSliceBasedPodIpResolver resolver = new EndpointSliceBasedPodIpResolver(createParameters("scaling"));
+        assertEquals(resolver.resolveAddresses().size(), 3, "Addresses before scaling");
+
+        mockServer.clear(slicesPath("scaling"));
+        registerAPI(slicesPath("scaling").withQueryStringParameter("continue", "page-2"),
+                "/EndpointSliceTestCases/secondPageScaled.json");
+        registerAPI(slicesPath("scaling"), "/EndpointSliceTestCases/firstPage.json");
+        assertEquals(resolver.resolveAddresses(), new HashSet<>(Arrays.asList(
+                "10.244.1.10", "10.244.1.11", "10.244.2.20", "10.244.2.22")), "Addresses after scaling");
+    }
+
+    @Test
+    public void testDualStackPodsAreReadOnce() throws Exception {
+        log.info("Executing test case with IPv4 and IPv6 endpoint slices");
+        registerAPI(slicesPath("dual-stack"), "/EndpointSliceTestCases/dualStack.json");
+        EndpointSliceBasedPodIpResolver resolver = new EndpointSliceBasedPodIpResolver(
+                createParameters("dual-stack"));
+        assertEquals(resolver.resolveAddresses(), new HashSet<>(Arrays.asList("10.244.1.10", "10.244.1.11")),
+                "Only the IPv4 slices read");
+    }
+
+    @Test(expectedExceptions = KubernetesMembershipSchemeException.class)
+    public void testServiceWithoutSlices() throws Exception {
+        log.info("Executing test case without endpoint slices");
+        mockServer.when(
+                slicesPath("missing")
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json; charset=utf-8"))
+                        .withBody("{\"kind\":\"EndpointSliceList\",\"metadata\":{\"resourceVersion\":\"1\"},"
+                                + "\"items\":[]}")
+        );
+        new EndpointSliceBasedPodIpResolver(createParameters("missing")).resolveAddresses();
+    }
+
+    private HttpRequest slicesPath(String service) {
+        return request()
+                .withPath(String.format(Constants.ENDPOINT_SLICES_API_CONTEXT, namespace))
+                .withQueryStringParameter("labelSelector", Constants.SERVICE_NAME_LABEL + "=" + service)
+                .withMethod("GET");
+    }
+
+    private void registerAPI(HttpRequest request, String sliceListJSONPath) throws IOException {
+        String sliceListJSON = IOUtils.toString(this.getClass().getResourceAsStream(sliceListJSONPath), "UTF-8");
+        mockServer.when(
+                request
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json; charset=utf-8"))
+                        .withBody(sliceListJSON)
+        );
+    }
+
+    private Map<String, Parameter> createParameters(String services) {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, namespace));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                        "http://localhost:" + MOCK_SERVER_PORT));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, services));
+        return parameters;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.Header;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.verify.VerificationTimes;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.ApiBasedPodIpResolver;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.testng.Assert.assertEquals;
+import static org.wso2.carbon.membership.scheme.kubernetes.test.KubernetesAPIMockServer.MOCK_SERVER_PORT;
+
+/**
+ * Tests the per service cache of the endpoints read from the Kubernetes API
+ */
+public class EndpointsCacheTestCases {
+    private static final Log log = LogFactory.getLog(EndpointsCacheTestCases.class);
+    private ClientAndServer mockServer;
+    private String namespace = "endpoints-cache-test";
+
+    @BeforeClass
+    public void init() throws Exception {
+        mockServer = KubernetesAPIMockServer.getMockServer();
+    }
+
+    @Test
+    public void testUnchangedVersionIsNotParsed() throws Exception {
+        log.info("Executing test case with unchanged endpoints");
+        registerAPI("unchanged", "/ReadinessProbeEndpointTestCases/addressOnly.json", null);
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("unchanged"));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(resolver.resolveAddresses().size(), 2, "Addresses resolved");
+        }
+        assertEquals(resolver.getEndpointsCacheMisses(), 1, "Endpoints parsed once");
+        assertEquals(resolver.getEndpointsCacheHits(), 4, "Unchanged endpoints served from the cache");
+        mockServer.verify(servicePath("unchanged").withQueryStringParameter("resourceVersion", "786"),
+                VerificationTimes.exactly(4));
+    }
+
+    @Test
+    public void testChangedVersionIsParsed() throws Exception {
+        log.info("Executing test case with changed endpoints");
+        registerAPI("scaling", "/ReadinessProbeEndpointTestCases/addressOnly.json", null);
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("scaling"));
+        assertEquals(resolver.resolveAddresses().size(), 2, "Addresses before scaling");
+
+        mockServer.clear(servicePath("scaling"));
+        registerAPI("scaling", "/EndpointsCacheTestCases/scaledUp.json", null);
+        assertEquals(resolver.resolveAddresses().size(), 3, "Addresses after scaling");
+        assertEquals(resolver.resolveAddresses().size(), 3, "Addresses after scaling");
+        assertEquals(resolver.getEndpointsCacheMisses(), 2, "Changed endpoints parsed");
+        assertEquals(resolver.getEndpointsCacheHits(), 1, "Unchanged endpoints served from the cache");
+    }
+
+    @Test
+    public void testNotModifiedResponse() throws Exception {
+        log.info("Executing test case with ETag validation");
+        mockServer.when(
+                servicePath("etag").withHeader(Constants.IF_NONE_MATCH_HEADER, "\"v786\"")
+        ).respond(
+                response().withStatusCode(304)
+        );
+        registerAPI("etag", "/ReadinessProbeEndpointTestCases/addressOnly.json", "\"v786\"");
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("etag"));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(resolver.resolveAddresses().size(), 2, "Addresses resolved");
+        }
+        assertEquals(resolver.getEndpointsCacheMisses(), 1, "Endpoints parsed once");
+        assertEquals(resolver.getEndpointsCacheHits(), 2, "Not modified responses served from the cache");
+    }
+
+    private HttpRequest servicePath(String service) {
+        return request()
+                .withPath(String.format(Constants.ENDPOINTS_API_CONTEXT, namespace) + service)
+                .withMethod("GET");
+    }
+
+    private void registerAPI(String service, String endpointJSONPath, String etag) throws IOException {
+        String endpointJSON = IOUtils.toString(this.getClass().getResourceAsStream(endpointJSONPath), "UTF-8");
+        Header[] headers = etag == null ?
+                new Header[]{new Header("Content-Type", "application/json; charset=utf-8")} :
+                new Header[]{new Header("Content-Type", "application/json; charset=utf-8"),
+                        new Header(Constants.ETAG_HEADER, etag)};
+        mockServer.when(
+                servicePath(service)
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeaders(headers)
+                        .withBody(endpointJSON)
+        );
+    }
+
+    private Map<String, Parameter> createParameters(String services) {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, namespace));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                        "http://localhost:" + MOCK_SERVER_PORT));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, services));
+        return parameters;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Endpoints;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsParser;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsProtobufParser;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.EndpointsSnapshot;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests the streaming and protobuf Endpoints parsers against the object model
+ */
+public class EndpointsParserTestCases {
+
+    @DataProvider(name = "endpointsFixtures")
+    public Object[][] endpointsFixtures() {
+        return new Object[][]{
+                {"/ReadinessProbeEndpointTestCases/addressOnly.json"},
+                {"/ReadinessProbeEndpointTestCases/notReadyAddressOnly.json"},
+                {"/ReadinessProbeEndpointTestCases/notReadyAddressAndAddress.json"}
+        };
+    }
+
+    @Test(dataProvider = "endpointsFixtures")
+    public void testStreamingParserMatchesObjectModel(String endpointJSONPath) throws Exception {
+        Endpoints endpoints;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(endpointJSONPath)) {
+            endpoints = new ObjectMapper().readValue(inputStream, Endpoints.class);
+        }
+        Set<String> streamedIps;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(endpointJSONPath)) {
+            streamedIps = EndpointsParser.parseEndpointIps(inputStream);
+        }
+        assertEquals(streamedIps, EndpointsParser.getEndpointIps(endpoints), endpointJSONPath);
+        assertEquals(streamedIps.size(), 2, endpointJSONPath);
+    }
+
+    @Test
+    public void testStreamingParserWithoutSubsets() throws Exception {
+        String endpointJSON = "{\"kind\":\"Endpoints\",\"metadata\":{\"name\":\"wso2is-default\"},"
+                + "\"subsets\":[{\"addresses\":null,\"ports\":[{\"port\":9443}]}]}";
+        assertEquals(EndpointsParser.parseEndpointIps(
+                new ByteArrayInputStream(endpointJSON.getBytes(StandardCharsets.UTF_8))).size(), 0);
+        assertNull(EndpointsParser.parseEndpointIps(
+                new ByteArrayInputStream("null".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test(dataProvider = "endpointsFixtures")
+    public void testStreamingParserReadsReadiness(String endpointJSONPath) throws Exception {
+        Endpoints endpoints;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(endpointJSONPath)) {
+            endpoints = new ObjectMapper().readValue(inputStream, Endpoints.class);
+        }
+        List<PodAddress> streamedAddresses;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(endpointJSONPath)) {
+            streamedAddresses = new ArrayList<>(EndpointsParser.parseEndpoints(inputStream, null).getPodAddresses());
+        }
+        assertEquals(streamedAddresses, new ArrayList<>(EndpointsParser.getPodAddresses(endpoints)),
+                endpointJSONPath);
+    }
+
+    @Test(dataProvider = "endpointsFixtures")
+    public void testProtobufParserMatchesObjectModel(String endpointJSONPath) throws Exception {
+        Endpoints endpoints;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(endpointJSONPath)) {
+            endpoints = new ObjectMapper().readValue(inputStream, Endpoints.class);
+        }
+        EndpointsSnapshot snapshot = EndpointsProtobufParser.parseEndpoints(
+                new ByteArrayInputStream(EndpointsProtobufWriter.write(endpoints)), null);
+        assertEquals(snapshot.getResourceVersion(), endpoints.getMetadata().getResourceVersion(), endpointJSONPath);
+        assertEquals(new ArrayList<>(snapshot.getPodAddresses()),
+                new ArrayList<>(EndpointsParser.getPodAddresses(endpoints)), endpointJSONPath);
+    }
+
+    @Test
+    public void testProtobufParserSkipsKnownVersion() throws Exception {
+        Endpoints endpoints;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(
+                "/ReadinessProbeEndpointTestCases/addressOnly.json")) {
+            endpoints = new ObjectMapper().readValue(inputStream, Endpoints.class);
+        }
+        EndpointsSnapshot snapshot = EndpointsProtobufParser.parseEndpoints(
+                new ByteArrayInputStream(EndpointsProtobufWriter.write(endpoints)), "786");
+        assertEquals(snapshot.getResourceVersion(), "786");
+        assertNull(snapshot.getPodAddresses(), "Addresses of a known version are not read");
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testProtobufParserRejectsJson() throws Exception {
+        try (InputStream inputStream = this.getClass().getResourceAsStream(
+                "/ReadinessProbeEndpointTestCases/addressOnly.json")) {
+            EndpointsProtobufParser.parseEndpoints(inputStream, null);
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testProtobufParserRejectsTruncatedMessage() throws Exception {
+        Endpoints endpoints;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(
+                "/ReadinessProbeEndpointTestCases/addressOnly.json")) {
+            endpoints = new ObjectMapper().readValue(inputStream, Endpoints.class);
+        }
+        byte[] message = EndpointsProtobufWriter.write(endpoints);
+        EndpointsProtobufParser.parseEndpoints(new ByteArrayInputStream(Arrays.copyOf(message, message.length - 20)),
+                null);
+    }
+
+    @Test
+    public void testReadyAddressesFirst() throws Exception {
+        List<PodAddress> podAddresses;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(
+                "/ReadinessProbeEndpointTestCases/notReadyAddressAndAddress.json")) {
+            podAddresses = PodAddress.readyFirst(EndpointsParser.parseEndpoints(inputStream, null).getPodAddresses());
+        }
+        assertEquals(podAddresses, Arrays.asList(new PodAddress("10.244.89.8", true, null, null),
+                new PodAddress("10.244.89.9", false, null, null)));
+
+        podAddresses = PodAddress.readyFirst(Arrays.asList(new PodAddress("10.0.0.1", false, "node-1", null),
+                new PodAddress("10.0.0.2", true, "node-2", null), new PodAddress("10.0.0.3", false, null, null),
+                new PodAddress("10.0.0.4", true, null, null)));
+        assertEquals(podAddresses.get(0).getIp(), "10.0.0.2");
+        assertEquals(podAddresses.get(1).getIp(), "10.0.0.4");
+        assertEquals(podAddresses.get(2).getIp(), "10.0.0.1");
+        assertEquals(podAddresses.get(3).getIp(), "10.0.0.3");
+    }
+}
@@ -0,0 +1,114 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Address;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Endpoints;
+import org.wso2.carbon.membership.scheme.kubernetes.domain.Subset;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes Endpoints objects the way the Kubernetes API server does for application/vnd.kubernetes.protobuf, with
+ * the fields the parser skips, such as the ports and the target references, included.
+ */
+final class EndpointsProtobufWriter {
+
+    private EndpointsProtobufWriter() {
+    }
+
+    static byte[] write(Endpoints endpoints) {
+        ByteArrayOutputStream typeMeta = new ByteArrayOutputStream();
+        writeString(typeMeta, 1, "v1");
+        writeString(typeMeta, 2, "Endpoints");
+
+        ByteArrayOutputStream metadata = new ByteArrayOutputStream();
+        if (endpoints.getMetadata() != null) {
+            writeString(metadata, 1, endpoints.getMetadata().getName());
+            writeString(metadata, 3, "default");
+            writeString(metadata, 6, endpoints.getMetadata().getResourceVersion());
+        }
+        ByteArrayOutputStream object = new ByteArrayOutputStream();
+        writeMessage(object, 1, metadata);
+        if (endpoints.getSubsets() != null) {
+            for (Subset subset : endpoints.getSubsets()) {
+                ByteArrayOutputStream subsetMessage = new ByteArrayOutputStream();
+                writeAddresses(subsetMessage, 1, subset.getAddresses());
+                writeAddresses(subsetMessage, 2, subset.getNotReadyAddresses());
+                ByteArrayOutputStream port = new ByteArrayOutputStream();
+                writeString(port, 1, "https");
+                writeVarint(port, 2 << 3);
+                writeVarint(port, 9443);
+                writeString(port, 3, "TCP");
+                writeMessage(subsetMessage, 3, port);
+                writeMessage(object, 2, subsetMessage);
+            }
+        }
+
+        ByteArrayOutputStream unknown = new ByteArrayOutputStream();
+        unknown.write('k');
+        unknown.write('8');
+        unknown.write('s');
+        unknown.write(0);
+        writeMessage(unknown, 1, typeMeta);
+        writeMessage(unknown, 2, object);
+        writeString(unknown, 3, "");
+        writeString(unknown, 4, "");
+        return unknown.toByteArray();
+    }
+
+    private static void writeAddresses(ByteArrayOutputStream out, int fieldNumber, List<Address> addresses) {
+        if (addresses == null) {
+            return;
+        }
+        for (Address address : addresses) {
+            ByteArrayOutputStream addressMessage = new ByteArrayOutputStream();
+            writeString(addressMessage, 1, address.getIp());
+            ByteArrayOutputStream targetRef = new ByteArrayOutputStream();
+            writeString(targetRef, 1, "Pod");
+            writeString(targetRef, 3, "wso2is-" + address.getIp());
+            writeMessage(addressMessage, 2, targetRef);
+            writeString(addressMessage, 4, address.getNodeName());
+            writeMessage(out, fieldNumber, addressMessage);
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, int fieldNumber, String value) {
+        if (value == null) {
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, fieldNumber << 3 | 2);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeMessage(ByteArrayOutputStream out, int fieldNumber, ByteArrayOutputStream message) {
+        writeVarint(out, fieldNumber << 3 | 2);
+        writeVarint(out, message.size());
+        out.write(message.toByteArray(), 0, message.size());
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.write((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
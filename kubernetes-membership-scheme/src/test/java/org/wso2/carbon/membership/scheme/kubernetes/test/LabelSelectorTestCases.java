@@ -0,0 +1,141 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.Header;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.verify.VerificationTimes;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.LabelSelectorPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.testng.Assert.assertEquals;
+import static org.wso2.carbon.membership.scheme.kubernetes.test.KubernetesAPIMockServer.MOCK_SERVER_PORT;
+
+/**
+ * Tests resolving the pod IPs of all members with one label selector list
+ */
+public class LabelSelectorTestCases {
+    private static final Log log = LogFactory.getLog(LabelSelectorTestCases.class);
+    private static final String LABEL_SELECTOR = "app.kubernetes.io/part-of=apim";
+    private ClientAndServer mockServer;
+    private String namespace = "label-selector-test";
+
+    @BeforeClass
+    public void init() throws Exception {
+        mockServer = KubernetesAPIMockServer.getMockServer();
+    }
+
+    @Test
+    public void testEndpointsAreListedOnce() throws Exception {
+        log.info("Executing test case with selected endpoints");
+        // the more specific second page expectation has to be registered first
+        registerAPI(listPath(Constants.ENDPOINTS_LIST_API_CONTEXT).withQueryStringParameter("continue", "page-2"),
+                "/LabelSelectorTestCases/endpointsSecondPage.json");
+        registerAPI(listPath(Constants.ENDPOINTS_LIST_API_CONTEXT),
+                "/LabelSelectorTestCases/endpointsFirstPage.json");
+        LabelSelectorPodIpResolver resolver = new LabelSelectorPodIpResolver(
+                createParameters(Constants.RESOURCE_ENDPOINTS));
+
+        assertEquals(resolver.resolveAddresses(), new HashSet<>(Arrays.asList(
+                "10.244.3.10", "10.244.3.11", "10.244.4.10")), "Addresses of all selected services");
+        mockServer.verify(listPath(Constants.ENDPOINTS_LIST_API_CONTEXT)
+                .withQueryStringParameter("limit", String.valueOf(Constants.LIST_PAGE_SIZE)),
+                VerificationTimes.exactly(2));
+    }
+
+    @Test
+    public void testPodsAreFiltered() throws Exception {
+        log.info("Executing test case with selected pods");
+        registerAPI(listPath(Constants.PODS_API_CONTEXT), "/LabelSelectorTestCases/pods.json");
+        LabelSelectorPodIpResolver resolver = new LabelSelectorPodIpResolver(
+                createParameters(Constants.RESOURCE_PODS));
+
+        assertEquals(resolver.resolveAddresses(), new HashSet<>(Arrays.asList("10.244.5.10", "10.244.5.11")),
+                "Terminated, deleted and unscheduled pods skipped");
+        for (PodAddress podAddress : resolver.resolvePodAddresses()) {
+            assertEquals(podAddress.isReady(), "10.244.5.10".equals(podAddress.getIp()), podAddress.getIp());
+            assertEquals(podAddress.getNodeName(), "node-1", podAddress.getIp());
+        }
+    }
+
+    @Test
+    public void testEndpointSlicesAreSelected() throws Exception {
+        log.info("Executing test case with selected endpoint slices");
+        registerAPI(listPath(Constants.ENDPOINT_SLICES_API_CONTEXT),
+                "/EndpointSliceTestCases/secondPageScaled.json");
+        LabelSelectorPodIpResolver resolver = new LabelSelectorPodIpResolver(
+                createParameters(Constants.RESOURCE_ENDPOINT_SLICES));
+
+        assertEquals(resolver.resolveAddresses(), new HashSet<>(Arrays.asList("10.244.2.20", "10.244.2.22")),
+                "Addresses of the selected slices");
+    }
+
+    @Test(expectedExceptions = KubernetesMembershipSchemeException.class)
+    public void testUnsupportedResource() throws Exception {
+        log.info("Executing test case with an unsupported resource");
+        new LabelSelectorPodIpResolver(createParameters("services"));
+    }
+
+    private HttpRequest listPath(String apiContext) {
+        return request()
+                .withPath(String.format(apiContext, namespace))
+                .withQueryStringParameter("labelSelector", LABEL_SELECTOR)
+                .withMethod("GET");
+    }
+
+    private void registerAPI(HttpRequest request, String listJSONPath) throws IOException {
+        String listJSON = IOUtils.toString(this.getClass().getResourceAsStream(listJSONPath), "UTF-8");
+        mockServer.when(
+                request
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json; charset=utf-8"))
+                        .withBody(listJSON)
+        );
+    }
+
+    private Map<String, Parameter> createParameters(String resource) {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, namespace));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                        "http://localhost:" + MOCK_SERVER_PORT));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR, LABEL_SELECTOR));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR_RESOURCE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_LABEL_SELECTOR_RESOURCE, resource));
+        return parameters;
+    }
+}
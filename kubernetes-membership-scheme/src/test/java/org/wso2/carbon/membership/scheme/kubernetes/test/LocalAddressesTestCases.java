@@ -0,0 +1,55 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.LocalAddresses;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the detection of the local member addresses
+ */
+public class LocalAddressesTestCases {
+
+    @Test
+    public void testInterfaceAddresses() throws Exception {
+        Set<String> localAddresses = LocalAddresses.detect();
+        for (NetworkInterface networkInterface : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+            for (InetAddress address : Collections.list(networkInterface.getInetAddresses())) {
+                String hostAddress = address.getHostAddress().split("%")[0];
+                assertTrue(localAddresses.contains(hostAddress), "Address of " + networkInterface.getName());
+            }
+        }
+        for (String localAddress : localAddresses) {
+            assertFalse(localAddress.contains("%"), "IPv6 scope removed: " + localAddress);
+        }
+    }
+
+    @Test
+    public void testConfiguredAddresses() {
+        Set<String> localAddresses = LocalAddresses.detect(" 10.244.7.7 ", "", null, "10.244.7.8");
+        assertTrue(localAddresses.contains("10.244.7.7"), "Pod IP");
+        assertTrue(localAddresses.contains("10.244.7.8"), "Local member host");
+        assertFalse(localAddresses.contains(""), "Empty values ignored");
+    }
+}
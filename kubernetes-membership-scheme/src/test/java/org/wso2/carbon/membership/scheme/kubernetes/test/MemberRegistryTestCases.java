@@ -0,0 +1,138 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import com.hazelcast.config.JoinConfig;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberRegistry;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberTcpIpConfig;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the member registry backing the TCP/IP join configuration
+ */
+public class MemberRegistryTestCases {
+
+    @Test
+    public void testAddAndRemove() {
+        MemberTcpIpConfig tcpIpConfig = new MemberTcpIpConfig();
+        MemberRegistry registry = new MemberRegistry(tcpIpConfig);
+        assertTrue(registry.add("10.0.0.1"), "New member added");
+        assertFalse(registry.add("10.0.0.1"), "Known member not added again");
+        assertTrue(registry.add("10.0.0.2"), "New member added");
+        assertTrue(registry.remove("10.0.0.1"), "Known member removed");
+        assertFalse(registry.remove("10.0.0.1"), "Unknown member not removed");
+        assertEquals(tcpIpConfig.getMembers(), Arrays.asList("10.0.0.2"), "TCP/IP join members");
+
+        assertTrue(registry.update(Arrays.asList("10.0.0.3", "10.0.0.4"), Arrays.asList("10.0.0.2")), "Updated");
+        assertFalse(registry.update(Arrays.asList("10.0.0.3"), Arrays.asList("10.0.0.2")), "Nothing to update");
+        assertEquals(new HashSet<>(tcpIpConfig.getMembers()), new HashSet<>(Arrays.asList("10.0.0.3", "10.0.0.4")),
+                "TCP/IP join members after update");
+    }
+
+    @Test
+    public void testConcurrentChangesAreNotLost() throws Exception {
+        MemberTcpIpConfig tcpIpConfig = new MemberTcpIpConfig();
+        final MemberRegistry registry = new MemberRegistry(tcpIpConfig);
+        final int members = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        final CountDownLatch done = new CountDownLatch(members);
+        for (int i = 0; i < members; i++) {
+            final String address = "10.1." + (i / 250) + "." + (i % 250 + 1);
+            final boolean leaves = i % 2 == 0;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    registry.add(address);
+                    registry.add(address);
+                    if (leaves) {
+                        registry.remove(address);
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS), "All membership events applied");
+        executor.shutdown();
+
+        assertEquals(registry.getMembers().size(), members / 2, "Registered members");
+        assertEquals(tcpIpConfig.getMembers().size(), members / 2, "TCP/IP join members");
+        assertEquals(new HashSet<>(tcpIpConfig.getMembers()), registry.getMembers(), "TCP/IP join members");
+    }
+
+    @Test
+    public void testReadersSeeCompleteMemberLists() throws Exception {
+        MemberTcpIpConfig tcpIpConfig = new MemberTcpIpConfig();
+        final MemberRegistry registry = new MemberRegistry(tcpIpConfig);
+        final int stableMembers = 100;
+        for (int i = 0; i < stableMembers; i++) {
+            registry.add("10.2.0." + (i + 1));
+        }
+        final AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; running.get(); i = (i + 1) % 200) {
+                    String address = "10.3." + (i / 100) + "." + (i % 100 + 1);
+                    if (!registry.add(address)) {
+                        registry.remove(address);
+                    }
+                }
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 20000; i++) {
+                List<String> members = tcpIpConfig.getMembers();
+                int stable = 0;
+                for (String member : members) {
+                    if (member.startsWith("10.2.0.")) {
+                        stable++;
+                    }
+                }
+                assertEquals(stable, stableMembers, "Stable members seen by a reader");
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        assertEquals(new HashSet<>(tcpIpConfig.getMembers()), registry.getMembers(), "TCP/IP join members");
+    }
+
+    @Test
+    public void testInstallKeepsSettings() {
+        JoinConfig joinConfig = new JoinConfig();
+        joinConfig.getTcpIpConfig().setEnabled(true).setConnectionTimeoutSeconds(7).addMember("10.4.0.1, 10.4.0.2");
+        MemberTcpIpConfig tcpIpConfig = MemberTcpIpConfig.install(joinConfig);
+        assertTrue(joinConfig.getTcpIpConfig() == tcpIpConfig, "Installed in the join configuration");
+        assertTrue(tcpIpConfig.isEnabled(), "Enabled");
+        assertEquals(tcpIpConfig.getConnectionTimeoutSeconds(), 7, "Connection timeout");
+        assertEquals(tcpIpConfig.getMembers(), Arrays.asList("10.4.0.1", "10.4.0.2"), "Configured members");
+        assertTrue(MemberTcpIpConfig.install(joinConfig) == tcpIpConfig, "Installed once");
+    }
+}
@@ -0,0 +1,125 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.PartitionGroupConfig;
+import com.hazelcast.spi.partitiongroup.PartitionGroupMetaData;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberTopology;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the zone aware member topology
+ */
+public class MemberTopologyTestCases {
+
+    private final List<PodAddress> podAddresses = Arrays.asList(
+            new PodAddress("10.0.1.10", true, "node-a1", "zone-a"),
+            new PodAddress("10.0.1.11", true, "node-a2", "zone-a"),
+            new PodAddress("10.0.2.10", true, "node-b1", "zone-b"),
+            new PodAddress("10.0.3.10", false, "node-c1", "zone-c"));
+
+    @Test
+    public void testTopologyOfLocalAddress() {
+        MemberTopology memberTopology = MemberTopology.resolve(podAddresses, Collections.singleton("10.0.1.10"),
+                "", "");
+        assertEquals(memberTopology.getZone(), "zone-a");
+        assertEquals(memberTopology.getNodeName(), "node-a1");
+
+        memberTopology = MemberTopology.resolve(podAddresses, Collections.singleton("10.0.1.10"), "zone-x", null);
+        assertEquals(memberTopology.getZone(), "zone-x", "Configured zone takes precedence");
+        assertEquals(memberTopology.getNodeName(), "node-a1");
+
+        memberTopology = MemberTopology.resolve(podAddresses, Collections.singleton("10.0.9.9"), "", "");
+        assertNull(memberTopology.getZone());
+        assertNull(memberTopology.getNodeName());
+        assertNull(memberTopology.getHost());
+    }
+
+    @Test
+    public void testHostFallsBackToPodIp() {
+        List<PodAddress> withoutNodes = Arrays.asList(new PodAddress("10.0.1.10", true, null, null),
+                new PodAddress("10.0.1.11", true, null, null));
+        MemberTopology memberTopology = MemberTopology.resolve(withoutNodes, Collections.singleton("10.0.1.10"),
+                "", "", "10.0.9.9");
+        assertNull(memberTopology.getNodeName());
+        assertEquals(memberTopology.getHost(), "10.0.1.10", "Resolved address of the local pod");
+
+        memberTopology = MemberTopology.resolve(Collections.<PodAddress>emptyList(), Collections.<String>emptySet(),
+                "", "", null, " ", "10.0.9.9");
+        assertEquals(memberTopology.getHost(), "10.0.9.9", "Configured pod IP");
+
+        memberTopology = MemberTopology.resolve(podAddresses, Collections.singleton("10.0.1.10"), "", "", "10.0.9.9");
+        assertEquals(memberTopology.getHost(), "node-a1", "Node takes precedence");
+    }
+
+    @Test
+    public void testPartitionGroupConfig() throws Exception {
+        Config config = new Config();
+        new MemberTopology("zone-a", "node-a1").apply(config);
+        assertTrue(config.getPartitionGroupConfig().isEnabled());
+        assertEquals(config.getPartitionGroupConfig().getGroupType(),
+                PartitionGroupConfig.MemberGroupType.ZONE_AWARE);
+        assertEquals(config.getMemberAttributeConfig().getStringAttribute(
+                PartitionGroupMetaData.PARTITION_GROUP_ZONE), "zone-a");
+        assertEquals(config.getMemberAttributeConfig().getStringAttribute(
+                PartitionGroupMetaData.PARTITION_GROUP_HOST), "node-a1");
+
+        config = new Config();
+        new MemberTopology(null, null, "10.0.1.10").apply(config);
+        assertTrue(config.getPartitionGroupConfig().isEnabled(), "Grouped without a zone");
+        assertEquals(config.getPartitionGroupConfig().getGroupType(),
+                PartitionGroupConfig.MemberGroupType.ZONE_AWARE);
+        assertNull(config.getMemberAttributeConfig().getStringAttribute(
+                PartitionGroupMetaData.PARTITION_GROUP_ZONE));
+        assertEquals(config.getMemberAttributeConfig().getStringAttribute(
+                PartitionGroupMetaData.PARTITION_GROUP_HOST), "10.0.1.10");
+    }
+
+    @Test(expectedExceptions = KubernetesMembershipSchemeException.class)
+    public void testUnknownHost() throws Exception {
+        new MemberTopology(null, null).apply(new Config());
+    }
+
+    @Test
+    public void testLocalZoneSeeds() {
+        List<PodAddress> peers = podAddresses.subList(1, podAddresses.size());
+        List<PodAddress> deferred = new ArrayList<>();
+        List<PodAddress> seeds = new MemberTopology("zone-a", null).selectSeeds(peers, deferred);
+        assertEquals(PodAddress.getIps(seeds), Collections.singleton("10.0.1.11"));
+        assertEquals(deferred.size(), 2, "Members of other zones deferred");
+
+        deferred.clear();
+        seeds = new MemberTopology("zone-c", null).selectSeeds(peers, deferred);
+        assertEquals(seeds.size(), 3, "No ready member in the local zone");
+        assertTrue(deferred.isEmpty());
+
+        seeds = new MemberTopology(null, "node-a1").selectSeeds(peers, deferred);
+        assertEquals(seeds.size(), 3, "Unknown zone");
+        assertTrue(deferred.isEmpty());
+    }
+}
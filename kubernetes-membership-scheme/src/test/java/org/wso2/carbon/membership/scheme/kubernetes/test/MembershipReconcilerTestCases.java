@@ -0,0 +1,245 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberRegistry;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberTcpIpConfig;
+import org.wso2.carbon.membership.scheme.kubernetes.MembershipReconciler;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.DNSBasedPodIpResolver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests coalescing of membership events into reconciles of the member registry
+ */
+public class MembershipReconcilerTestCases {
+    private static final Log log = LogFactory.getLog(MembershipReconcilerTestCases.class);
+    private static final long RECONCILE_WINDOW = 300;
+    private DNSStubServer dnsServer;
+    private ScheduledExecutorService executor;
+
+    @BeforeClass
+    public void init() throws Exception {
+        dnsServer = new DNSStubServer();
+        dnsServer.setAdditionalRecords(true);
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterClass
+    public void stop() {
+        dnsServer.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testEventsAreCoalesced() throws Exception {
+        log.info("Executing test case with a burst of membership events");
+        MemberRegistry registry = new MemberRegistry(new MemberTcpIpConfig());
+        for (int i = 1; i <= 20; i++) {
+            registry.add("10.244.0." + i);
+        }
+        MembershipReconciler reconciler = new MembershipReconciler(createResolver(), registry,
+                Collections.singleton("10.244.0.1"), executor, RECONCILE_WINDOW);
+
+        // 15 of the 20 pods are drained
+        dnsServer.setPodCount(5);
+        dnsServer.resetCounters();
+        for (int i = 0; i < 15; i++) {
+            reconciler.eventReceived();
+        }
+        waitForReconciles(reconciler, 1);
+
+        assertEquals(dnsServer.getSrvQueries(), 1, "Pods resolved once for the burst");
+        assertEquals(reconciler.getLastCoalescedEvents(), 15, "Events coalesced into the reconcile");
+        assertEquals(reconciler.getEventsReceived(), 15, "Events received");
+        assertEquals(registry.getMembers(), addresses(1, 5), "Members of the remaining pods");
+
+        // events after the window lead to another reconcile
+        dnsServer.setPodCount(3);
+        reconciler.eventReceived();
+        reconciler.eventReceived();
+        waitForReconciles(reconciler, 2);
+        assertEquals(dnsServer.getSrvQueries(), 2, "Pods resolved once for the second burst");
+        assertEquals(reconciler.getLastCoalescedEvents(), 2, "Events coalesced into the second reconcile");
+        assertEquals(registry.getMembers(), addresses(1, 3), "Members of the remaining pods");
+    }
+
+    @Test
+    public void testClusterMembersAreKept() throws Exception {
+        log.info("Executing test case with a member not yet listed as a pod");
+        MemberRegistry registry = new MemberRegistry(new MemberTcpIpConfig());
+        registry.add("10.244.0.2");
+        registry.add("10.244.0.9");
+        registry.add("10.244.0.10");
+        MembershipReconciler reconciler = new MembershipReconciler(createResolver(), registry,
+                Collections.<String>emptySet(), executor, RECONCILE_WINDOW) {
+            @Override
+            protected Set<String> getClusterMemberAddresses() {
+                return Collections.singleton("10.244.0.9");
+            }
+        };
+        dnsServer.setPodCount(3);
+        reconciler.eventReceived();
+        waitForReconciles(reconciler, 1);
+
+        Set<String> expected = addresses(1, 3);
+        expected.add("10.244.0.9");
+        assertEquals(registry.getMembers(), expected, "Pods added, live cluster member kept");
+    }
+
+    @Test
+    public void testPeriodicRefresh() throws Exception {
+        log.info("Executing test case with periodic refreshes");
+        MemberRegistry registry = new MemberRegistry(new MemberTcpIpConfig());
+        registry.add("10.244.0.1");
+        registry.add("10.244.7.7");
+        // refreshes run on their own executor, so that they stop with the test
+        ScheduledExecutorService refreshExecutor = Executors.newSingleThreadScheduledExecutor();
+        MembershipReconciler reconciler = new MembershipReconciler(createResolver(), registry,
+                Collections.<String>emptySet(), refreshExecutor, RECONCILE_WINDOW);
+        dnsServer.setPodCount(4);
+        dnsServer.resetCounters();
+        reconciler.startPeriodicRefresh(200, 20);
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (reconciler.getRefreshes() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(reconciler.getRefreshes() >= 4, "Refreshed periodically");
+        assertEquals(registry.getMembers(), addresses(1, 4), "Stale address removed, new pods added");
+        assertTrue(reconciler.getUnchangedRefreshes() >= reconciler.getRefreshes() - 2,
+                "Unchanged refreshes end early");
+
+        // a member added by an event is reconciled by the next refresh
+        registry.add("10.244.8.8");
+        long refreshes = reconciler.getRefreshes();
+        deadline = System.currentTimeMillis() + 10000;
+        while (reconciler.getRefreshes() < refreshes + 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        refreshExecutor.shutdownNow();
+        assertEquals(registry.getMembers(), addresses(1, 4), "Registry change reconciled");
+    }
+
+    @Test
+    public void testRefreshSkipsUnchangedPodsVersion() throws Exception {
+        log.info("Executing test case with periodic refreshes of a resolver reporting the pods version");
+        MemberRegistry registry = new MemberRegistry(new MemberTcpIpConfig());
+        final AtomicReference<String> podsVersion = new AtomicReference<>("1");
+        DNSBasedPodIpResolver resolver = new DNSBasedPodIpResolver(createParameters()) {
+            @Override
+            public String getPodsVersion() {
+                return podsVersion.get();
+            }
+        };
+        ScheduledExecutorService refreshExecutor = Executors.newSingleThreadScheduledExecutor();
+        MembershipReconciler reconciler = new MembershipReconciler(resolver, registry,
+                Collections.<String>emptySet(), refreshExecutor, RECONCILE_WINDOW);
+        dnsServer.setPodCount(4);
+        dnsServer.resetCounters();
+        reconciler.startPeriodicRefresh(100, 20);
+        try {
+            waitForRefreshes(reconciler, 4);
+            assertEquals(registry.getMembers(), addresses(1, 4), "Pods added by the first refresh");
+            assertEquals(dnsServer.getSrvQueries(), 1, "Pods resolved once for an unchanged version");
+            assertTrue(reconciler.getUnchangedRefreshes() >= 3, "Unchanged refreshes end before resolving");
+
+            // a new version is resolved and applied
+            dnsServer.setPodCount(2);
+            podsVersion.set("2");
+            waitForRefreshes(reconciler, reconciler.getRefreshes() + 2);
+            assertEquals(registry.getMembers(), addresses(1, 2), "Pods of the new version applied");
+            assertEquals(dnsServer.getSrvQueries(), 2, "Pods resolved once for the new version");
+        } finally {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRefreshDelayIsJittered() throws Exception {
+        ScheduledExecutorService refreshExecutor = Executors.newSingleThreadScheduledExecutor();
+        MembershipReconciler reconciler = new MembershipReconciler(createResolver(),
+                new MemberRegistry(new MemberTcpIpConfig()), Collections.<String>emptySet(), refreshExecutor,
+                RECONCILE_WINDOW);
+        reconciler.startPeriodicRefresh(60000, 20);
+        refreshExecutor.shutdownNow();
+        Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            long delay = reconciler.getNextRefreshDelay();
+            assertTrue(delay >= 48000 && delay <= 72000, "Delay within the jitter: " + delay);
+            delays.add(delay);
+        }
+        assertTrue(delays.size() > 50, "Delays spread over the jitter");
+    }
+
+    private static void waitForRefreshes(MembershipReconciler reconciler, long refreshes) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (reconciler.getRefreshes() < refreshes && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(reconciler.getRefreshes() >= refreshes, "Refreshed periodically");
+    }
+
+    private static void waitForReconciles(MembershipReconciler reconciler, int reconciles) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (reconciler.getReconciles() < reconciles && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(reconciler.getReconciles() >= reconciles, "Reconciled");
+        assertEquals(reconciler.getReconciles(), reconciles, "Reconciles");
+    }
+
+    private static Set<String> addresses(int first, int last) {
+        Set<String> addresses = new HashSet<>();
+        for (int i = first; i <= last; i++) {
+            addresses.add("10.244.0." + i);
+        }
+        return addresses;
+    }
+
+    private DNSBasedPodIpResolver createResolver() throws Exception {
+        return new DNSBasedPodIpResolver(createParameters());
+    }
+
+    private Map<String, Parameter> createParameters() {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, "reconcile-test"));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, "wso2is-default"));
+        parameters.put(Constants.DNS_SERVER,
+                new Parameter(Constants.DNS_SERVER, "127.0.0.1:" + dnsServer.getPort()));
+        parameters.put(Constants.DNS_LOOKUP_TIMEOUT, new Parameter(Constants.DNS_LOOKUP_TIMEOUT, "2"));
+        return parameters;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.metrics.LatencyHistogram;
+import org.wso2.carbon.membership.scheme.kubernetes.metrics.MembershipSchemeMetrics;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.DNSBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+import org.xbill.DNS.Rcode;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the membership scheme metrics and their MBean
+ */
+public class MembershipSchemeMetricsTestCases {
+    private static final Log log = LogFactory.getLog(MembershipSchemeMetricsTestCases.class);
+    private DNSStubServer dnsServer;
+
+    @BeforeClass
+    public void init() throws Exception {
+        dnsServer = new DNSStubServer();
+    }
+
+    @AfterClass
+    public void stop() {
+        dnsServer.stop();
+    }
+
+    @Test
+    public void testHistogram() {
+        log.info("Executing test case with a latency histogram");
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(histogram.getSnapshot().getCount(), 0, "Empty histogram");
+        assertEquals(histogram.getSnapshot().getP99Millis(), 0, "No percentiles of an empty histogram");
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(snapshot.getCount(), 100, "Recorded durations");
+        assertEquals(snapshot.getMeanMillis(), 50.5, 0.001, "Mean duration");
+        assertEquals(snapshot.getMaxMillis(), 100, "Maximum duration");
+        assertEquals(snapshot.getP50Millis(), 50, "Median at the bound of its bucket");
+        assertEquals(snapshot.getP90Millis(), 100, "90th percentile at the bound of its bucket");
+
+        histogram.record(120000);
+        assertEquals(histogram.getSnapshot().getP99Millis(), 100, "99th percentile");
+        assertEquals(histogram.getSnapshot().getMaxMillis(), 120000, "Duration beyond the last bucket");
+    }
+
+    @Test
+    public void testReadyToJoinTime() throws Exception {
+        log.info("Executing test case with pods joining after they are ready");
+        MembershipSchemeMetrics metrics = new MembershipSchemeMetrics();
+        metrics.podsResolved(Arrays.asList(new PodAddress("10.244.0.2", true, null, null)));
+        metrics.memberJoined("10.244.0.2");
+        assertEquals(metrics.getReadyToJoinTime().getCount(), 0, "Pods are not timed before the local member joined");
+
+        metrics.localMemberJoined(Collections.singleton("10.244.0.2"));
+        metrics.podsResolved(Arrays.asList(new PodAddress("10.244.0.2", true, null, null),
+                new PodAddress("10.244.0.3", true, null, null), new PodAddress("10.244.0.4", false, null, null)));
+        assertEquals(metrics.getDiscoveredMembers(), 3, "Discovered members");
+        Thread.sleep(50);
+        metrics.memberJoined("10.244.0.3");
+        metrics.memberJoined("10.244.0.4");
+
+        LatencyHistogram.Snapshot readyToJoinTime = metrics.getReadyToJoinTime();
+        assertEquals(readyToJoinTime.getCount(), 1, "Only the pod resolved as ready is timed");
+        assertTrue(readyToJoinTime.getMaxMillis() >= 50, "Time from ready to join");
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        log.info("Executing test case with the metrics read through JMX");
+        MembershipSchemeMetrics metrics = new MembershipSchemeMetrics() {
+            @Override
+            public int getHazelcastMembers() {
+                return 3;
+            }
+        };
+        metrics.register("metrics-test");
+        assertNotNull(metrics.getObjectName(), "Metrics registered");
+
+        DNSBasedPodIpResolver resolver = createResolver();
+        resolver.setMetrics(metrics);
+        dnsServer.setPodCount(4);
+        dnsServer.setAdditionalRecords(true);
+        dnsServer.setRcode(Rcode.NOERROR);
+        assertEquals(resolver.resolveAddresses().size(), 4, "Addresses resolved");
+        dnsServer.setRcode(Rcode.SERVFAIL);
+        try {
+            assertEquals(resolver.resolveAddresses().size(), 4, "Last known good addresses while the DNS server is "
+                    + "failing");
+        } finally {
+            dnsServer.setRcode(Rcode.NOERROR);
+        }
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(mBeanServer.getAttribute(metrics.getObjectName(), "DnsErrors"), 1L, "DNS errors");
+        assertEquals(mBeanServer.getAttribute(metrics.getObjectName(), "ApiErrors"), 0L, "API errors");
+        assertEquals(mBeanServer.getAttribute(metrics.getObjectName(), "HazelcastMembers"), 3, "Hazelcast members");
+        assertEquals(mBeanServer.getAttribute(metrics.getObjectName(), "DiscoveredMembers"), 4,
+                "Discovered members of the last successful resolution");
+        assertEquals(mBeanServer.getAttribute(metrics.getObjectName(), "LastKnownGoodResolutions"), 1L,
+                "Failed resolution answered with the last known good pods");
+
+        TabularData resolverLatency = (TabularData) mBeanServer.getAttribute(metrics.getObjectName(),
+                "ResolverLatency");
+        CompositeData dnsLatency = (CompositeData) resolverLatency.get(new Object[]{"DNSBasedPodIpResolver"})
+                .get("value");
+        assertEquals(dnsLatency.get("count"), 2L, "Resolutions of the resolver");
+        TabularData serviceLatency = (TabularData) mBeanServer.getAttribute(metrics.getObjectName(),
+                "ServiceLatency");
+        assertNotNull(serviceLatency.get(new Object[]{"wso2is-default"}), "Resolutions of the service");
+
+        // registering again under the same name replaces the metrics
+        new MembershipSchemeMetrics().register("metrics-test");
+        assertEquals(mBeanServer.getAttribute(metrics.getObjectName(), "HazelcastMembers"), -1, "Replaced metrics");
+    }
+
+    private DNSBasedPodIpResolver createResolver() throws Exception {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, "metrics-test"));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, "wso2is-default"));
+        parameters.put(Constants.DNS_SERVER,
+                new Parameter(Constants.DNS_SERVER, "127.0.0.1:" + dnsServer.getPort()));
+        parameters.put(Constants.DNS_LOOKUP_TIMEOUT, new Parameter(Constants.DNS_LOOKUP_TIMEOUT, "2"));
+        return new DNSBasedPodIpResolver(parameters);
+    }
+}
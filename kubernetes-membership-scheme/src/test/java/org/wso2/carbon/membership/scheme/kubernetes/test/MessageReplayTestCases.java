@@ -0,0 +1,169 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.clustering.ClusteringCommand;
+import org.apache.axis2.clustering.ClusteringMessage;
+import org.apache.axis2.context.ConfigurationContext;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.replay.ClusteringMessageBatch;
+import org.wso2.carbon.membership.scheme.kubernetes.replay.MessageReplayer;
+import org.wso2.carbon.membership.scheme.kubernetes.replay.SupersedableMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests batching of the cluster messages replayed to new members
+ */
+public class MessageReplayTestCases {
+
+    @Test
+    public void testSupersededMessagesAreDropped() throws Exception {
+        List<ClusteringMessage> messages = new ArrayList<>();
+        messages.add(new InvalidationMessage("a"));
+        messages.add(new InvalidationMessage("b"));
+        messages.add(new InvalidationMessage("a"));
+        messages.add(new InvalidationMessage("c"));
+        messages.add(new InvalidationMessage("b"));
+
+        MessageReplayer.ReplayPlan plan = new MessageReplayer(64 * 1024, false).createPlan(messages);
+        assertEquals(plan.getDropped(), 2, "Earlier duplicates dropped");
+        assertEquals(plan.getBatches(), 1, "Single batch");
+        assertEquals(execute(plan), Arrays.asList("a", "c", "b"), "Last occurrences kept in buffer order");
+    }
+
+    @Test
+    public void testOnlySupersedableMessagesAreDropped() throws Exception {
+        List<ClusteringMessage> messages = new ArrayList<>();
+        messages.add(new CommandMessage("a"));
+        messages.add(new InvalidationMessage("a"));
+        messages.add(new CommandMessage("a"));
+        messages.add(new InvalidationMessage(null));
+        messages.add(new InvalidationMessage(null));
+
+        MessageReplayer.ReplayPlan plan = new MessageReplayer(64 * 1024, false).createPlan(messages);
+        assertEquals(plan.getDropped(), 0, "Identical messages without a supersession key kept");
+        assertEquals(execute(plan), Arrays.asList("a", "a", "a", null, null), "All messages executed in order");
+    }
+
+    @Test
+    public void testBatchesAreSizeBounded() throws Exception {
+        List<ClusteringMessage> messages = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            messages.add(new InvalidationMessage("key-" + i));
+            keys.add("key-" + i);
+        }
+        int batchSize = 16 * 1024;
+        MessageReplayer.ReplayPlan plan = new MessageReplayer(batchSize, false).createPlan(messages);
+        assertTrue(plan.getBatches() > 1, "Messages split into batches");
+        for (ClusteringMessage message : plan.getMessages()) {
+            ClusteringMessageBatch batch = (ClusteringMessageBatch) message;
+            // the payload carries a length prefix per message
+            assertTrue(batch.getSize() <= batchSize + 4 * batch.getMessageCount(), "Batch within the size bound");
+        }
+        assertEquals(execute(plan), keys, "All messages executed in order");
+    }
+
+    @Test
+    public void testCompressedBatches() throws Exception {
+        List<ClusteringMessage> messages = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            messages.add(new InvalidationMessage("key-" + i));
+            keys.add("key-" + i);
+        }
+        MessageReplayer.ReplayPlan plain = new MessageReplayer(1024 * 1024, false).createPlan(messages);
+        MessageReplayer.ReplayPlan compressed = new MessageReplayer(1024 * 1024, true).createPlan(messages);
+        assertTrue(compressed.getBytes() < plain.getBytes() / 4, "Compressed batch smaller");
+        assertEquals(execute(compressed), keys, "All compressed messages executed in order");
+    }
+
+    @Test
+    public void testUnserializableMessageSentOnItsOwn() throws Exception {
+        List<ClusteringMessage> messages = new ArrayList<>();
+        messages.add(new InvalidationMessage("a"));
+        messages.add(new UnserializableMessage("b"));
+        messages.add(new InvalidationMessage("c"));
+
+        MessageReplayer.ReplayPlan plan = new MessageReplayer(64 * 1024, false).createPlan(messages);
+        assertEquals(plan.getMessages().size(), 3, "Batch, message, batch");
+        assertTrue(plan.getMessages().get(1) instanceof UnserializableMessage, "Message sent on its own");
+        assertEquals(execute(plan), Arrays.asList("a", "b", "c"), "Messages executed in order");
+    }
+
+    private static List<String> execute(MessageReplayer.ReplayPlan plan) throws Exception {
+        List<String> executed = new ArrayList<>();
+        for (ClusteringMessage message : plan.getMessages()) {
+            List<ClusteringMessage> received = message instanceof ClusteringMessageBatch ?
+                    ((ClusteringMessageBatch) message).getMessages() : Arrays.asList(message);
+            for (ClusteringMessage receivedMessage : received) {
+                executed.add(((CommandMessage) receivedMessage).key);
+            }
+        }
+        return executed;
+    }
+
+    private static class CommandMessage extends ClusteringMessage {
+
+        private static final long serialVersionUID = 1L;
+
+        final String key;
+
+        CommandMessage(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void execute(ConfigurationContext configurationContext) {
+        }
+
+        @Override
+        public ClusteringCommand getResponse() {
+            return null;
+        }
+    }
+
+    private static class InvalidationMessage extends CommandMessage implements SupersedableMessage {
+
+        private static final long serialVersionUID = 1L;
+
+        InvalidationMessage(String key) {
+            super(key);
+        }
+
+        @Override
+        public String getSupersessionKey() {
+            return key;
+        }
+    }
+
+    private static class UnserializableMessage extends InvalidationMessage {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Thread owner = Thread.currentThread();
+
+        UnserializableMessage(String key) {
+            super(key);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberRegistry;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberTcpIpConfig;
+import org.wso2.carbon.membership.scheme.kubernetes.MembershipReconciler;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.DNSBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PeerSnapshot;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests saving the resolved pods to the peer snapshot and seeding the members from it
+ */
+public class PeerSnapshotTestCases {
+    private static final Log log = LogFactory.getLog(PeerSnapshotTestCases.class);
+    private DNSStubServer dnsServer;
+    private Path directory;
+
+    @BeforeClass
+    public void init() throws Exception {
+        dnsServer = new DNSStubServer();
+        dnsServer.setAdditionalRecords(true);
+        directory = Files.createTempDirectory("peer-snapshot-test");
+    }
+
+    @AfterClass
+    public void stop() throws Exception {
+        dnsServer.stop();
+        for (File file : directory.toFile().listFiles()) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testSnapshotIsWrittenAndRead() throws Exception {
+        log.info("Executing test case with the pods written to and read from the peer snapshot");
+        Path file = directory.resolve("written.peers");
+        List<PodAddress> podAddresses = Arrays.asList(new PodAddress("10.244.0.2", true, "node-a", "us-east-1a"),
+                new PodAddress("10.244.0.3", false, null, null));
+        new PeerSnapshot(file, 60000).write(podAddresses);
+
+        assertEquals(new ArrayList<>(new PeerSnapshot(file, 60000).read()), podAddresses, "Pods read back");
+        for (String name : directory.toFile().list()) {
+            assertTrue(!name.endsWith(".tmp"), "No temporary files left behind: " + name);
+        }
+        assertEquals(Files.readAllLines(file, StandardCharsets.UTF_8),
+                Arrays.asList("v1", "10.244.0.2 1 node-a us-east-1a", "10.244.0.3 0 - -"), "Snapshot format");
+    }
+
+    @Test
+    public void testUnchangedSnapshotIsTouched() throws Exception {
+        log.info("Executing test case with unchanged pods written to the peer snapshot");
+        Path file = directory.resolve("unchanged.peers");
+        PeerSnapshot peerSnapshot = new PeerSnapshot(file, 60000);
+        List<PodAddress> podAddresses = Collections.singletonList(new PodAddress("10.244.0.2", true, null, null));
+        peerSnapshot.write(podAddresses);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 120000));
+        assertNull(peerSnapshot.read(), "Outdated snapshot not used");
+
+        peerSnapshot.write(podAddresses);
+        assertTrue(System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() < 60000,
+                "Resolution time updated");
+        assertEquals(peerSnapshot.read().size(), 1, "Snapshot used again");
+    }
+
+    @Test
+    public void testInvalidSnapshotIsNotUsed() throws Exception {
+        log.info("Executing test case with missing and invalid peer snapshots");
+        assertNull(new PeerSnapshot(directory.resolve("missing.peers"), 60000).read(), "Missing snapshot");
+
+        Path file = directory.resolve("invalid.peers");
+        Files.write(file, Arrays.asList("v2", "10.244.0.2 1 - -"), StandardCharsets.UTF_8);
+        assertNull(new PeerSnapshot(file, 60000).read(), "Unknown format");
+        Files.write(file, Arrays.asList("v1", "10.244.0.2"), StandardCharsets.UTF_8);
+        assertNull(new PeerSnapshot(file, 60000).read(), "Corrupt snapshot");
+        Files.write(file, Collections.singletonList("v1"), StandardCharsets.UTF_8);
+        assertNull(new PeerSnapshot(file, 60000).read(), "Snapshot without pods");
+    }
+
+    @Test
+    public void testSeededMembersAreCorrected() throws Exception {
+        log.info("Executing test case with members seeded from the peer snapshot and corrected by a resolution");
+        Path file = directory.resolve("resolved.peers");
+        dnsServer.setPodCount(3);
+        DNSBasedPodIpResolver resolver = createResolver(file);
+        resolver.resolvePodAddresses();
+        Collection<PodAddress> seeds = resolver.getPeerSnapshot().read();
+        assertEquals(PodAddress.getIps(seeds), addresses(1, 3), "Resolved pods saved");
+
+        // the next run seeds the members from the snapshot, while two pods left and one was added
+        MemberRegistry registry = new MemberRegistry(new MemberTcpIpConfig());
+        for (PodAddress seed : createResolver(file).getPeerSnapshot().read()) {
+            registry.add(seed.getIp());
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            MembershipReconciler reconciler = new MembershipReconciler(resolver, registry,
+                    Collections.<String>emptySet(), executor, 1000);
+            reconciler.applyResolved(Arrays.asList(new PodAddress("10.244.0.1", true, null, null),
+                    new PodAddress("10.244.0.4", true, null, null)), "test");
+            executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                }
+            }).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(registry.getMembers(), new HashSet<>(Arrays.asList("10.244.0.1", "10.244.0.4")),
+                "Seeded members corrected");
+    }
+
+    private static HashSet<String> addresses(int first, int last) {
+        HashSet<String> addresses = new HashSet<>();
+        for (int i = first; i <= last; i++) {
+            addresses.add("10.244.0." + i);
+        }
+        return addresses;
+    }
+
+    private DNSBasedPodIpResolver createResolver(Path peerSnapshotFile) throws Exception {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, "peer-snapshot-test"));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, "wso2is-default"));
+        parameters.put(Constants.DNS_SERVER,
+                new Parameter(Constants.DNS_SERVER, "127.0.0.1:" + dnsServer.getPort()));
+        parameters.put(Constants.DNS_LOOKUP_TIMEOUT, new Parameter(Constants.DNS_LOOKUP_TIMEOUT, "2"));
+        parameters.put(Constants.PEER_SNAPSHOT_FILE,
+                new Parameter(Constants.PEER_SNAPSHOT_FILE, peerSnapshotFile.toString()));
+        return new DNSBasedPodIpResolver(parameters);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.Header;
+import org.mockserver.model.HttpRequest;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Backoff;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.ApiBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.ResolutionCircuitBreaker;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import static org.wso2.carbon.membership.scheme.kubernetes.test.KubernetesAPIMockServer.MOCK_SERVER_PORT;
+
+/**
+ * Tests the circuit breaker, backoff and last known good pods of the resolvers
+ */
+public class ResolutionCircuitBreakerTestCases {
+    private static final Log log = LogFactory.getLog(ResolutionCircuitBreakerTestCases.class);
+    private ClientAndServer mockServer;
+    private String namespace = "circuit-breaker-test";
+
+    @BeforeClass
+    public void init() throws Exception {
+        mockServer = KubernetesAPIMockServer.getMockServer();
+    }
+
+    @Test
+    public void testBackoff() {
+        log.info("Executing test case with a jittered exponential backoff");
+        Backoff backoff = new Backoff(100, 1000);
+        for (int i = 0; i < 20; i++) {
+            long firstDelay = backoff.getDelay(0);
+            assertTrue(firstDelay >= 50 && firstDelay <= 100, "First delay within the base delay: " + firstDelay);
+            long thirdDelay = backoff.getDelay(2);
+            assertTrue(thirdDelay >= 200 && thirdDelay <= 400, "Delay doubled per attempt: " + thirdDelay);
+            long lateDelay = backoff.getDelay(100);
+            assertTrue(lateDelay >= 500 && lateDelay <= 1000, "Delay capped at the maximum: " + lateDelay);
+        }
+    }
+
+    @Test
+    public void testLastKnownGoodServedWhileFailing() throws Exception {
+        log.info("Executing test case with the last known good pods served while the API fails");
+        registerAPI("failing", 200, Times.exactly(1));
+        registerAPI("failing", 503, Times.unlimited());
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("failing", "60"));
+
+        assertEquals(resolver.resolveAddresses().size(), 2, "Addresses resolved");
+        assertEquals(resolver.resolveAddresses().size(), 2, "Last known good addresses after a failure");
+        assertEquals(resolver.getCircuitBreaker().getState(), ResolutionCircuitBreaker.State.CLOSED,
+                "Circuit closed below the failure threshold");
+        assertEquals(resolver.resolveAddresses().size(), 2, "Last known good addresses when the circuit opens");
+        assertEquals(resolver.getCircuitBreaker().getState(), ResolutionCircuitBreaker.State.OPEN,
+                "Circuit opened at the failure threshold");
+
+        mockServer.clear(servicePath("failing"));
+        assertEquals(resolver.resolveAddresses().size(), 2, "Last known good addresses while the circuit is open");
+        assertEquals(mockServer.retrieveRecordedRequests(servicePath("failing")).length, 0,
+                "No requests while the circuit is open");
+        assertEquals(resolver.getMetrics().getCircuitOpenings(), 1, "Circuit openings");
+        assertEquals(resolver.getMetrics().getLastKnownGoodResolutions(), 3, "Last known good resolutions");
+    }
+
+    @Test
+    public void testCircuitClosesAfterTrial() throws Exception {
+        log.info("Executing test case with the circuit closed by a trial resolution");
+        registerAPI("recovering", 503, Times.exactly(3));
+        registerAPI("recovering", 200, Times.unlimited());
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("recovering", "0"));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                resolver.resolveAddresses();
+                fail("Failure without last known good addresses");
+            } catch (KubernetesMembershipSchemeException expected) {
+                // expected
+            }
+        }
+        assertEquals(resolver.getCircuitBreaker().getState(), ResolutionCircuitBreaker.State.OPEN, "Circuit open");
+        try {
+            resolver.resolveAddresses();
+            fail("Resolution paused while the circuit is open");
+        } catch (KubernetesMembershipSchemeException e) {
+            assertTrue(e.getMessage().contains("paused"), "Paused resolution: " + e.getMessage());
+        }
+
+        // the failed trial opens the circuit again with a longer delay
+        Thread.sleep(250);
+        try {
+            resolver.resolveAddresses();
+            fail("Failed trial resolution");
+        } catch (KubernetesMembershipSchemeException expected) {
+            // expected
+        }
+        assertEquals(resolver.getCircuitBreaker().getState(), ResolutionCircuitBreaker.State.OPEN,
+                "Circuit open after a failed trial");
+
+        Thread.sleep(450);
+        assertEquals(resolver.resolveAddresses().size(), 2, "Addresses resolved by the trial");
+        assertEquals(resolver.getCircuitBreaker().getState(), ResolutionCircuitBreaker.State.CLOSED,
+                "Circuit closed after a successful trial");
+        assertEquals(resolver.getCircuitBreaker().getConsecutiveFailures(), 0, "Failures reset");
+    }
+
+    private HttpRequest servicePath(String service) {
+        return request()
+                .withPath(String.format(Constants.ENDPOINTS_API_CONTEXT, namespace) + service)
+                .withMethod("GET");
+    }
+
+    private void registerAPI(String service, int statusCode, Times times) throws IOException {
+        String endpointJSON = IOUtils.toString(this.getClass().getResourceAsStream(
+                "/ReadinessProbeEndpointTestCases/addressOnly.json"), "UTF-8");
+        mockServer.when(
+                servicePath(service), times
+        ).respond(
+                response()
+                        .withStatusCode(statusCode)
+                        .withHeader(new Header("Content-Type", "application/json; charset=utf-8"))
+                        .withBody(statusCode == 200 ? endpointJSON : "")
+        );
+    }
+
+    private Map<String, Parameter> createParameters(String services, String lastKnownGoodMaxAge) {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, namespace));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                        "http://localhost:" + MOCK_SERVER_PORT));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, services));
+        parameters.put(Constants.CIRCUIT_BREAKER_THRESHOLD,
+                new Parameter(Constants.CIRCUIT_BREAKER_THRESHOLD, "2"));
+        parameters.put(Constants.CIRCUIT_BREAKER_DELAY, new Parameter(Constants.CIRCUIT_BREAKER_DELAY, "200"));
+        parameters.put(Constants.CIRCUIT_BREAKER_MAX_DELAY,
+                new Parameter(Constants.CIRCUIT_BREAKER_MAX_DELAY, "400"));
+        parameters.put(Constants.LAST_KNOWN_GOOD_MAX_AGE,
+                new Parameter(Constants.LAST_KNOWN_GOOD_MAX_AGE, lastKnownGoodMaxAge));
+        return parameters;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.ApiBasedPodIpResolver;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the SSL context of the Kubernetes API server connections against an in-process HTTPS server
+ */
+public class SSLContextTestCases {
+    private static final Log log = LogFactory.getLog(SSLContextTestCases.class);
+    private static final String PASSWORD = "wso2carbon";
+    private HttpsServer httpsServer;
+    private SSLContext serverSSLContext;
+    private volatile String expectedToken;
+
+    @BeforeClass
+    public void init() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream inputStream = this.getClass().getResourceAsStream("/SSLContextTestCases/server.jks")) {
+            keyStore.load(inputStream, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, PASSWORD.toCharArray());
+        serverSSLContext = SSLContext.getInstance("TLS");
+        serverSSLContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        final byte[] endpointJSON = IOUtils.toByteArray(
+                this.getClass().getResourceAsStream("/ReadinessProbeEndpointTestCases/addressOnly.json"));
+        httpsServer = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        httpsServer.setHttpsConfigurator(new HttpsConfigurator(serverSSLContext));
+        httpsServer.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                if (expectedToken != null && !("Bearer " + expectedToken).equals(
+                        exchange.getRequestHeaders().getFirst(Constants.AUTHORIZATION_HEADER))) {
+                    exchange.sendResponseHeaders(401, -1);
+                    exchange.close();
+                    return;
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, endpointJSON.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(endpointJSON);
+                }
+            }
+        });
+        httpsServer.start();
+        log.info("HTTPS server started at port: " + httpsServer.getAddress().getPort());
+    }
+
+    @AfterClass
+    public void stop() {
+        httpsServer.stop(0);
+    }
+
+    @Test
+    public void testCACertificateIsTrusted() throws Exception {
+        log.info("Executing test case with the API server CA certificate");
+        SSLSocketFactory defaultSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+        HostnameVerifier defaultHostnameVerifier = HttpsURLConnection.getDefaultHostnameVerifier();
+
+        Map<String, Parameter> parameters = createParameters();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_CA_CERT,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_CA_CERT, getResourcePath("ca.crt")));
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(parameters);
+        int sessions = countSessions();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(resolver.resolveAddresses().size(), 2, "Addresses resolved over TLS");
+        }
+        assertTrue(countSessions() - sessions <= 1, "TLS handshake not repeated");
+
+        assertSame(HttpsURLConnection.getDefaultSSLSocketFactory(), defaultSocketFactory, "JVM defaults unchanged");
+        assertSame(HttpsURLConnection.getDefaultHostnameVerifier(), defaultHostnameVerifier,
+                "JVM defaults unchanged");
+    }
+
+    @Test
+    public void testTrustStoreIsTrusted() throws Exception {
+        log.info("Executing test case with a trust store");
+        Map<String, Parameter> parameters = createParameters();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE,
+                        getResourcePath("truststore.jks")));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE_PASSWORD,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE_PASSWORD, PASSWORD));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE_TYPE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TRUST_STORE_TYPE, "JKS"));
+        assertEquals(new ApiBasedPodIpResolver(parameters).resolveAddresses().size(), 2, "Addresses resolved");
+    }
+
+    @Test
+    public void testInsecureModeIsScoped() throws Exception {
+        log.info("Executing test case with SSL verification skipped");
+        SSLSocketFactory defaultSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+        Map<String, Parameter> parameters = createParameters();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_MASTER_SKIP_SSL_VERIFICATION,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_MASTER_SKIP_SSL_VERIFICATION, "true"));
+        assertEquals(new ApiBasedPodIpResolver(parameters).resolveAddresses().size(), 2, "Addresses resolved");
+        assertSame(HttpsURLConnection.getDefaultSSLSocketFactory(), defaultSocketFactory, "JVM defaults unchanged");
+
+        // other resolvers still verify the server certificate
+        try {
+            new ApiBasedPodIpResolver(createParameters()).resolveAddresses();
+            throw new AssertionError("Untrusted API server accepted");
+        } catch (KubernetesMembershipSchemeException expected) {
+            log.info("Untrusted API server rejected: " + expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testRotatedTokenIsReloaded() throws Exception {
+        log.info("Executing test case with a rotated service account token");
+        Path tokenFile = Files.createTempFile("token", null);
+        try {
+            Files.write(tokenFile, "first-token".getBytes(StandardCharsets.UTF_8));
+            Map<String, Parameter> parameters = createParameters();
+            parameters.remove(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TOKEN);
+            parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_CA_CERT,
+                    new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_CA_CERT, getResourcePath("ca.crt")));
+            parameters.put(Constants.PARAMETER_NAME_BEARER_TOKEN_FILE_LOCATION,
+                    new Parameter(Constants.PARAMETER_NAME_BEARER_TOKEN_FILE_LOCATION, tokenFile.toString()));
+            ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(parameters);
+
+            expectedToken = "first-token";
+            assertEquals(resolver.resolveAddresses().size(), 2, "Addresses resolved with the first token");
+
+            // the cached token is rejected after rotation, and the new token is read on the retry
+            Files.write(tokenFile, "second-token".getBytes(StandardCharsets.UTF_8));
+            expectedToken = "second-token";
+            assertEquals(resolver.resolveAddresses().size(), 2, "Addresses resolved with the rotated token");
+        } finally {
+            expectedToken = null;
+            Files.delete(tokenFile);
+        }
+    }
+
+    private int countSessions() {
+        return Collections.list(serverSSLContext.getServerSessionContext().getIds()).size();
+    }
+
+    private String getResourcePath(String name) throws Exception {
+        return new File(this.getClass().getResource("/SSLContextTestCases/" + name).toURI()).getAbsolutePath();
+    }
+
+    private Map<String, Parameter> createParameters() {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, "ssl-test"));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                        "https://localhost:" + httpsServer.getAddress().getPort()));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, "store"));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TOKEN,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_TOKEN, "token"));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_CA_CERT,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER_CA_CERT, "/nonexistent/ca.crt"));
+        return parameters;
+    }
+}
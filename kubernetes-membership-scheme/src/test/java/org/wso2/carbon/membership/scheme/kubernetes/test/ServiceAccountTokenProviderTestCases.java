@@ -0,0 +1,103 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.api.ServiceAccountTokenProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests caching and reloading of the service account token
+ */
+public class ServiceAccountTokenProviderTestCases {
+    private Path tokenFile;
+
+    @BeforeMethod
+    public void createTokenFile() throws Exception {
+        tokenFile = Files.createTempFile("token", null);
+    }
+
+    @AfterMethod
+    public void deleteTokenFile() throws Exception {
+        Files.delete(tokenFile);
+    }
+
+    @Test
+    public void testTokenIsCached() throws Exception {
+        writeToken("first-token", 1000);
+        ServiceAccountTokenProvider tokenProvider = new ServiceAccountTokenProvider(tokenFile, 0);
+        assertEquals(tokenProvider.getToken(), "first-token", "Token read");
+
+        // the file is read again only if its modification time changes
+        writeToken("second-token", 1000);
+        assertEquals(tokenProvider.getToken(), "first-token", "Cached token");
+        writeToken("second-token", 2000);
+        assertEquals(tokenProvider.getToken(), "second-token", "Rotated token");
+    }
+
+    @Test
+    public void testTokenIsCheckedPerInterval() throws Exception {
+        writeToken("first-token", 1000);
+        ServiceAccountTokenProvider tokenProvider = new ServiceAccountTokenProvider(tokenFile, 60000);
+        assertEquals(tokenProvider.getToken(), "first-token", "Token read");
+        writeToken("second-token", 2000);
+        assertEquals(tokenProvider.getToken(), "first-token", "Token not checked within the interval");
+        tokenProvider.invalidate();
+        assertEquals(tokenProvider.getToken(), "second-token", "Token read after invalidation");
+    }
+
+    @Test
+    public void testExpiringTokenIsReloaded() throws Exception {
+        long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        String expiring = jwt(now + 30);
+        String valid = jwt(now + 3600);
+        writeToken(expiring, 1000);
+        ServiceAccountTokenProvider tokenProvider = new ServiceAccountTokenProvider(tokenFile, 60000);
+        assertEquals(tokenProvider.getToken(), expiring, "Token read");
+        assertEquals(tokenProvider.getExpiresAt(), 0, "Expiring token not reloaded on every call");
+
+        writeToken(valid, 1000);
+        tokenProvider.invalidate();
+        assertEquals(tokenProvider.getToken(), valid, "Valid token read");
+        assertEquals(tokenProvider.getExpiresAt(), TimeUnit.SECONDS.toMillis(now + 3600), "Expiry of the token");
+    }
+
+    private void writeToken(String token, long modified) throws Exception {
+        Files.write(tokenFile, token.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(tokenFile, FileTime.fromMillis(modified));
+    }
+
+    private static String jwt(long exp) {
+        String header = base64Url("{\"alg\":\"RS256\",\"kid\":\"test\"}");
+        String claims = base64Url("{\"aud\":[\"https://kubernetes.default.svc\"],\"exp\":" + exp
+                + ",\"sub\":\"system:serviceaccount:default:wso2\"}");
+        return header + "." + claims + ".signature";
+    }
+
+    private static String base64Url(String value) {
+        return javax.xml.bind.DatatypeConverter.printBase64Binary(value.getBytes(StandardCharsets.UTF_8))
+                .replace('+', '-').replace('/', '_').replace("=", "");
+    }
+}
@@ -0,0 +1,172 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.Delay;
+import org.mockserver.model.Header;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberRegistry;
+import org.wso2.carbon.membership.scheme.kubernetes.MemberTcpIpConfig;
+import org.wso2.carbon.membership.scheme.kubernetes.MembershipReconciler;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.ApiBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PartialPodAddresses;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.wso2.carbon.membership.scheme.kubernetes.test.KubernetesAPIMockServer.MOCK_SERVER_PORT;
+
+/**
+ * Tests for resolving multiple Kubernetes services concurrently
+ */
+public class ServiceLookupTestCases {
+    private static final Log log = LogFactory.getLog(ServiceLookupTestCases.class);
+    private ClientAndServer mockServer;
+    private String namespace = "service-lookup-test";
+
+    @BeforeTest
+    public void init() throws Exception {
+        mockServer = KubernetesAPIMockServer.getMockServer();
+    }
+
+    @Test
+    public void testFailedServiceIsSkipped() throws Exception {
+        log.info("Executing test case with a failing service");
+        registerAPI("store", "/ReadinessProbeEndpointTestCases/addressOnly.json", 0);
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("store,missing", "10"));
+        assertEquals(resolver.resolveAddresses().size(), 2, "Addresses of the available service");
+    }
+
+    @Test
+    public void testFailedServiceIsSkippedSequentially() throws Exception {
+        log.info("Executing test case with a failing service and no lookup threads");
+        registerAPI("store", "/ReadinessProbeEndpointTestCases/addressOnly.json", 0);
+        Map<String, Parameter> parameters = createParameters("missing,store", "10");
+        parameters.put(Constants.SERVICE_LOOKUP_THREADS, new Parameter(Constants.SERVICE_LOOKUP_THREADS, "1"));
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(parameters);
+        assertEquals(resolver.resolveAddresses().size(), 2, "Addresses of the available service");
+    }
+
+    @Test
+    public void testPartialResolutionOnlyAddsMembers() throws Exception {
+        log.info("Executing test case with a partial resolution");
+        registerAPI("store", "/ReadinessProbeEndpointTestCases/addressOnly.json", 0);
+        Path snapshotFile = Files.createTempDirectory("service-lookup").resolve("partial.peers");
+        Map<String, Parameter> parameters = createParameters("store,missing", "10");
+        parameters.put(Constants.PEER_SNAPSHOT_FILE,
+                new Parameter(Constants.PEER_SNAPSHOT_FILE, snapshotFile.toString()));
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(parameters);
+
+        Collection<PodAddress> podAddresses = resolver.resolvePodAddresses();
+        assertTrue(PartialPodAddresses.isPartial(podAddresses), "Resolution marked as partial");
+        assertEquals(((PartialPodAddresses) podAddresses).getFailedServices(), Collections.singletonList("missing"));
+        assertEquals(podAddresses.size(), 2, "Addresses of the available service");
+        assertNull(resolver.getCircuitBreaker().getLastKnownGood(), "Partial pods not kept as last known good");
+        assertFalse(Files.exists(snapshotFile), "Partial pods not saved to the peer snapshot");
+
+        // the member of the failed service is kept
+        MemberRegistry registry = new MemberRegistry(new MemberTcpIpConfig());
+        registry.add("10.244.7.7");
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            new MembershipReconciler(resolver, registry, Collections.<String>emptySet(), executor, 1000)
+                    .applyResolved(podAddresses, "test");
+            executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                }
+            }).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(registry.getMembers(), new HashSet<>(Arrays.asList("10.244.7.7", "10.244.89.8",
+                "10.244.89.9")), "Members only added");
+    }
+
+    @Test
+    public void testSlowServiceIsSkipped() throws Exception {
+        log.info("Executing test case with a service exceeding the lookup timeout");
+        registerAPI("publisher", "/ReadinessProbeEndpointTestCases/notReadyAddressOnly.json", 0);
+        registerAPI("slow", "/ReadinessProbeEndpointTestCases/addressOnly.json", 5);
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("publisher,slow", "2"));
+        long start = System.currentTimeMillis();
+        assertEquals(resolver.resolveAddresses().size(), 2, "Addresses of the service within the timeout");
+        assertTrue(System.currentTimeMillis() - start < 4000, "Lookup completed within the timeout");
+    }
+
+    @Test(expectedExceptions = KubernetesMembershipSchemeException.class)
+    public void testAllServicesFailed() throws Exception {
+        log.info("Executing test case with all services failing");
+        ApiBasedPodIpResolver resolver = new ApiBasedPodIpResolver(createParameters("missing,absent", "10"));
+        resolver.resolveAddresses();
+    }
+
+    private void registerAPI(String service, String endpointJSONPath, int delaySeconds) throws IOException {
+        String endpointJSON = IOUtils.toString(this.getClass().getResourceAsStream(endpointJSONPath), "UTF-8");
+        mockServer.when(
+                request()
+                        .withPath(String.format(Constants.ENDPOINTS_API_CONTEXT, namespace) + service)
+                        .withMethod("GET")
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeaders(
+                                new Header("Content-Type", "application/json; charset=utf-8")
+                        )
+                        .withBody(endpointJSON)
+                        .withDelay(new Delay(TimeUnit.SECONDS, delaySeconds))
+        );
+    }
+
+    private Map<String, Parameter> createParameters(String services, String lookupTimeout) {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, namespace));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                        "http://localhost:" + MOCK_SERVER_PORT));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, services));
+        parameters.put(Constants.SERVICE_LOOKUP_TIMEOUT,
+                new Parameter(Constants.SERVICE_LOOKUP_TIMEOUT, lookupTimeout));
+        return parameters;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.Delay;
+import org.mockserver.model.Header;
+import org.mockserver.model.HttpRequest;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.StartupResolution;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.ApiBasedPodIpResolver;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.wso2.carbon.membership.scheme.kubernetes.test.KubernetesAPIMockServer.MOCK_SERVER_PORT;
+
+/**
+ * Tests resolving the pods in the background at startup
+ */
+public class StartupResolutionTestCases {
+    private static final Log log = LogFactory.getLog(StartupResolutionTestCases.class);
+    private ClientAndServer mockServer;
+    private String namespace = "startup-resolution-test";
+
+    @BeforeClass
+    public void init() throws Exception {
+        mockServer = KubernetesAPIMockServer.getMockServer();
+    }
+
+    @Test
+    public void testResolvedWithinBudget() throws Exception {
+        log.info("Executing test case with pods resolved within the budget");
+        registerAPI("fast", 0, Times.unlimited());
+        StartupResolution startupResolution = new StartupResolution(
+                new ApiBasedPodIpResolver(createParameters("fast")), 100);
+        startupResolution.start();
+        Collection<PodAddress> podAddresses = startupResolution.await(5000, null);
+        assertNotNull(podAddresses, "Pods resolved within the budget");
+        assertEquals(podAddresses.size(), 2, "Addresses resolved");
+        assertTrue(startupResolution.getResolveTimeMillis() >= 0);
+    }
+
+    @Test
+    public void testResolvedAfterBudget() throws Exception {
+        log.info("Executing test case with pods resolved after the budget");
+        registerAPI("slow", 1500, Times.unlimited());
+        final BlockingQueue<Collection<PodAddress>> lateAddresses = new ArrayBlockingQueue<>(1);
+        StartupResolution startupResolution = new StartupResolution(
+                new ApiBasedPodIpResolver(createParameters("slow")), 100);
+        startupResolution.start();
+        assertNull(startupResolution.await(200, new StartupResolution.Listener() {
+            @Override
+            public void resolved(Collection<PodAddress> podAddresses) {
+                lateAddresses.add(podAddresses);
+            }
+        }), "Startup does not wait beyond the budget");
+
+        Collection<PodAddress> podAddresses = lateAddresses.poll(10, TimeUnit.SECONDS);
+        assertNotNull(podAddresses, "Late pods handed to the listener");
+        assertEquals(podAddresses.size(), 2, "Addresses resolved");
+    }
+
+    @Test
+    public void testFailedResolutionIsRetried() throws Exception {
+        log.info("Executing test case with a failed resolution");
+        mockServer.when(
+                servicePath("flaky"), Times.exactly(1)
+        ).respond(
+                response().withStatusCode(503)
+        );
+        registerAPI("flaky", 0, Times.unlimited());
+        StartupResolution startupResolution = new StartupResolution(
+                new ApiBasedPodIpResolver(createParameters("flaky")), 100);
+        startupResolution.start();
+        Collection<PodAddress> podAddresses = startupResolution.await(5000, null);
+        assertNotNull(podAddresses, "Pods resolved after a retry");
+        assertEquals(podAddresses.size(), 2, "Addresses resolved");
+        assertEquals(startupResolution.getAttempts(), 2, "Failed resolution retried");
+    }
+
+    private HttpRequest servicePath(String service) {
+        return request()
+                .withPath(String.format(Constants.ENDPOINTS_API_CONTEXT, namespace) + service)
+                .withMethod("GET");
+    }
+
+    private void registerAPI(String service, long delayMillis, Times times) throws IOException {
+        String endpointJSON = IOUtils.toString(this.getClass().getResourceAsStream(
+                "/ReadinessProbeEndpointTestCases/addressOnly.json"), "UTF-8");
+        mockServer.when(
+                servicePath(service), times
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(new Header("Content-Type", "application/json; charset=utf-8"))
+                        .withBody(endpointJSON)
+                        .withDelay(new Delay(TimeUnit.MILLISECONDS, delayMillis))
+        );
+    }
+
+    private Map<String, Parameter> createParameters(String services) {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, namespace));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                        "http://localhost:" + MOCK_SERVER_PORT));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, services));
+        return parameters;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+* Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.membership.scheme.kubernetes.test;
+
+import org.apache.axis2.description.Parameter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.Delay;
+import org.mockserver.model.Header;
+import org.mockserver.verify.VerificationTimes;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+import org.wso2.carbon.membership.scheme.kubernetes.Constants;
+import org.wso2.carbon.membership.scheme.kubernetes.exceptions.KubernetesMembershipSchemeException;
+import org.wso2.carbon.membership.scheme.kubernetes.metrics.MembershipSchemeMetrics;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.PodAddress;
+import org.wso2.carbon.membership.scheme.kubernetes.resolver.WatchBasedPodIpResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.wso2.carbon.membership.scheme.kubernetes.test.KubernetesAPIMockServer.MOCK_SERVER_PORT;
+
+/**
+ * Tests for the watch based pod ip resolver
+ */
+public class WatchBasedPodIpResolverTestCases {
+    private static final Log log = LogFactory.getLog(WatchBasedPodIpResolverTestCases.class);
+    private ClientAndServer mockServer;
+    private String services = "wso2is-default";
+
+    @BeforeTest
+    public void init() throws Exception {
+        mockServer = KubernetesAPIMockServer.getMockServer();
+    }
+
+    @Test
+    public void testWatchEventsAreApplied() throws Exception {
+        log.info("Executing test case with watch events");
+        String namespace = "watch-test";
+        registerWatch(namespace, 200, "/WatchBasedPodIpResolverTestCases/watchEvents.json");
+        registerList(namespace);
+
+        WatchBasedPodIpResolver resolver = new WatchBasedPodIpResolver(createParameters(namespace));
+        try {
+            Set<String> containerIPs = resolver.resolveAddresses();
+            assertTrue(containerIPs.size() == 2 || containerIPs.size() == 3, "Endpoints listed before watching");
+            assertEquals(waitForSize(resolver, 3).size(), 3, "Watch event applied");
+            assertTrue(resolver.resolveAddresses().contains("10.244.89.10"), "Watch event applied");
+        } finally {
+            resolver.shutdown();
+        }
+    }
+
+    @Test
+    public void testRelistOnGone() throws Exception {
+        log.info("Executing test case with an expired resource version");
+        String namespace = "watch-gone-test";
+        registerWatch(namespace, 410, null);
+        registerList(namespace);
+
+        WatchBasedPodIpResolver resolver = new WatchBasedPodIpResolver(createParameters(namespace));
+        try {
+            assertEquals(resolver.resolveAddresses().size(), 2, "Endpoints listed before watching");
+            Thread.sleep(500);
+            mockServer.verify(request().withPath(String.format(Constants.ENDPOINTS_LIST_API_CONTEXT, namespace)),
+                    VerificationTimes.atLeast(3));
+            assertEquals(resolver.resolveAddresses().size(), 2, "Endpoints relisted");
+        } finally {
+            resolver.shutdown();
+        }
+    }
+
+    @Test
+    public void testResolveDuringRelist() throws Exception {
+        log.info("Executing test case with resolutions concurrent to relists");
+        String namespace = "watch-relist-test";
+        // each expired watch relists the endpoints right away, a large service takes a while to apply
+        registerWatch(namespace, 410, null);
+        registerList(namespace, createEndpointsList(2000));
+
+        final ServiceResolver resolver = new ServiceResolver(createParameters(namespace));
+        final AtomicBoolean resolving = new AtomicBoolean(true);
+        final AtomicInteger resolutions = new AtomicInteger();
+        final AtomicInteger emptyResolutions = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertEquals(resolver.resolveAddresses().size(), 2000, "Endpoints listed before watching");
+            for (int i = 0; i < 4; i++) {
+                executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        while (resolving.get()) {
+                            if (resolver.resolveService(services).isEmpty()) {
+                                emptyResolutions.incrementAndGet();
+                            }
+                            resolutions.incrementAndGet();
+                        }
+                        return null;
+                    }
+                });
+            }
+            Thread.sleep(2000);
+            resolving.set(false);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Resolutions stopped");
+            mockServer.verify(request().withPath(String.format(Constants.ENDPOINTS_LIST_API_CONTEXT, namespace)),
+                    VerificationTimes.atLeast(10));
+            assertTrue(resolutions.get() > 0, "Resolved during the relists");
+            assertEquals(emptyResolutions.get(), 0, "Service never resolved to no pods while relisting");
+        } finally {
+            resolving.set(false);
+            executor.shutdownNow();
+            resolver.shutdown();
+        }
+    }
+
+    @Test
+    public void testQuietWatchOutlastsReadTimeout() throws Exception {
+        log.info("Executing test case with a watch quiet for longer than the API read timeout");
+        String namespace = "watch-quiet-test";
+        registerWatch(namespace, 200, "/WatchBasedPodIpResolverTestCases/watchEvents.json", 5);
+        registerList(namespace);
+        Path tokenFile = Files.createTempFile("token", null);
+        Files.write(tokenFile, "watch-token".getBytes(StandardCharsets.UTF_8));
+
+        // the HTTPS endpoint sends the request when connected, to retry a rejected service account token
+        Map<String, Parameter> parameters = createParameters(namespace, "https://localhost:" + MOCK_SERVER_PORT);
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_MASTER_SKIP_SSL_VERIFICATION,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_MASTER_SKIP_SSL_VERIFICATION, "true"));
+        parameters.put(Constants.PARAMETER_NAME_BEARER_TOKEN_FILE_LOCATION,
+                new Parameter(Constants.PARAMETER_NAME_BEARER_TOKEN_FILE_LOCATION, tokenFile.toString()));
+        // long enough for the first TLS handshake, which the mock server answers with a freshly made certificate
+        parameters.put(Constants.API_READ_TIMEOUT, new Parameter(Constants.API_READ_TIMEOUT, "3"));
+        WatchBasedPodIpResolver resolver = new WatchBasedPodIpResolver(parameters);
+        MembershipSchemeMetrics metrics = new MembershipSchemeMetrics();
+        resolver.setMetrics(metrics);
+        try {
+            assertEquals(resolver.resolveAddresses().size(), 2, "Endpoints listed before watching");
+            assertEquals(waitForSize(resolver, 3, 150).size(), 3, "Watch event applied after the quiet period");
+            assertEquals(metrics.getApiErrors(), 0, "Watch not dropped by the API read timeout");
+        } finally {
+            resolver.shutdown();
+            Files.delete(tokenFile);
+        }
+    }
+
+    /**
+     * Resolver exposing the lookup of a single service
+     */
+    private static class ServiceResolver extends WatchBasedPodIpResolver {
+
+        ServiceResolver(Map<String, Parameter> parameters) throws KubernetesMembershipSchemeException {
+            super(parameters);
+        }
+
+        Collection<PodAddress> resolveService(String kubernetesService) throws KubernetesMembershipSchemeException {
+            return resolvePodAddresses(kubernetesService);
+        }
+    }
+
+    private Set<String> waitForSize(WatchBasedPodIpResolver resolver, int size) throws Exception {
+        return waitForSize(resolver, size, 100);
+    }
+
+    private Set<String> waitForSize(WatchBasedPodIpResolver resolver, int size, int attempts) throws Exception {
+        Set<String> containerIPs = resolver.resolveAddresses();
+        for (int i = 0; i < attempts && containerIPs.size() != size; i++) {
+            Thread.sleep(100);
+            containerIPs = resolver.resolveAddresses();
+        }
+        return containerIPs;
+    }
+
+    private void registerWatch(String namespace, int statusCode, String eventsPath) throws IOException {
+        registerWatch(namespace, statusCode, eventsPath, 0);
+    }
+
+    private void registerWatch(String namespace, int statusCode, String eventsPath, long delaySeconds)
+            throws IOException {
+        String events = eventsPath == null ? "" : IOUtils.toString(this.getClass().getResourceAsStream(eventsPath),
+                "UTF-8");
+        mockServer.when(
+                request()
+                        .withPath(String.format(Constants.ENDPOINTS_LIST_API_CONTEXT, namespace))
+                        .withQueryStringParameter("watch", "true")
+                        .withMethod("GET")
+        ).respond(
+                response()
+                        .withStatusCode(statusCode)
+                        .withHeaders(
+                                new Header("Content-Type", "application/json; charset=utf-8")
+                        )
+                        .withBody(events)
+                        .withDelay(new Delay(TimeUnit.SECONDS, delaySeconds))
+        );
+    }
+
+    private void registerList(String namespace) throws IOException {
+        registerList(namespace, IOUtils.toString(
+                this.getClass().getResourceAsStream("/WatchBasedPodIpResolverTestCases/endpointsList.json"), "UTF-8"));
+    }
+
+    private void registerList(String namespace, String endpointsList) {
+        mockServer.when(
+                request()
+                        .withPath(String.format(Constants.ENDPOINTS_LIST_API_CONTEXT, namespace))
+                        .withMethod("GET")
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeaders(
+                                new Header("Content-Type", "application/json; charset=utf-8")
+                        )
+                        .withBody(endpointsList)
+        );
+    }
+
+    private String createEndpointsList(int pods) {
+        StringBuilder addresses = new StringBuilder();
+        for (int i = 0; i < pods; i++) {
+            if (i > 0) {
+                addresses.append(',');
+            }
+            addresses.append(String.format("{\"ip\":\"10.244.%d.%d\"}", i / 250, i % 250 + 1));
+        }
+        return "{\"kind\":\"EndpointsList\",\"apiVersion\":\"v1\",\"metadata\":{\"resourceVersion\":\"900\"},"
+                + "\"items\":[{\"metadata\":{\"name\":\"" + services + "\",\"resourceVersion\":\"900\"},"
+                + "\"subsets\":[{\"addresses\":[" + addresses + "]}]}]}";
+    }
+
+    private Map<String, Parameter> createParameters(String namespace) {
+        return createParameters(namespace, "http://localhost:" + MOCK_SERVER_PORT);
+    }
+
+    private Map<String, Parameter> createParameters(String namespace, String apiServer) {
+        Map<String, Parameter> parameters = new HashMap<>();
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_NAMESPACE, namespace));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_API_SERVER, apiServer));
+        parameters.put(Constants.PARAMETER_NAME_KUBERNETES_SERVICES,
+                new Parameter(Constants.PARAMETER_NAME_KUBERNETES_SERVICES, services));
+        return parameters;
+    }
+}